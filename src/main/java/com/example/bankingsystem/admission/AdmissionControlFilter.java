@@ -0,0 +1,224 @@
+package com.example.bankingsystem.admission;
+
+import com.example.bankingsystem.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns requests away early instead of letting them queue in Tomcat or on row locks.
+ * A client over its rate gets {@code 429}; a request over the adaptive concurrency limit of
+ * its {@link EndpointClass} gets {@code 503}. Both carry {@code Retry-After}.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String REJECTED = "banking.admission.rejected";
+
+    private static final String ACTUATOR_PATH = "/actuator";
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<EndpointClass, GradientConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final ClientRateLimiter clientRateLimiter;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        limits.put(EndpointClass.TRANSFER, limitOf(properties.getTransfers()));
+        limits.put(EndpointClass.WRITE, limitOf(properties.getWrites()));
+        limits.put(EndpointClass.READ, limitOf(properties.getReads()));
+        this.clientRateLimiter = properties.getClientRate() > 0
+                ? new ClientRateLimiter(properties.getClientRate(), properties.getClientBurst(), properties.getMaxClients())
+                : null;
+        this.clientHeader = StringUtils.hasText(properties.getClientHeader()) ? properties.getClientHeader() : null;
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        limits.forEach((endpointClass, limit) -> {
+            String tag = tagOf(endpointClass);
+            Gauge.builder("banking.admission.limit", limit, GradientConcurrencyLimit::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("banking.admission.in.flight", limit, GradientConcurrencyLimit::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    private static GradientConcurrencyLimit limitOf(AdmissionControlProperties.Limit limit) {
+        return new GradientConcurrencyLimit(limit.getInitial(), limit.getMin(), limit.getMax());
+    }
+
+    GradientConcurrencyLimit limitFor(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+
+        if (clientRateLimiter != null) {
+            long wait = clientRateLimiter.tryAcquire(clientOf(request), System.nanoTime());
+            if (wait > 0) {
+                long retryAfterSeconds = (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+                reject(request, response, endpointClass, HttpStatus.TOO_MANY_REQUESTS, "client-rate",
+                        retryAfterSeconds, "Request rate limit exceeded");
+                return;
+            }
+        }
+
+        GradientConcurrencyLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            reject(request, response, endpointClass, HttpStatus.SERVICE_UNAVAILABLE, "concurrency",
+                    OVERLOAD_RETRY_AFTER_SECONDS, "Too many concurrent requests, try again shortly");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // The async dispatch is not filtered, so hold the slot until the response completes
+                request.getAsyncContext().addListener(new AsyncRelease(limit, start, response));
+            } else {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    /**
+     * The client header is only believed when configured and, if trusted proxies are listed,
+     * sent by one of them; otherwise a caller could get a fresh bucket for every value it makes up
+     */
+    private String clientOf(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (clientHeader == null || (!trustedProxies.isEmpty() && !trustedProxies.contains(remoteAddress))) {
+            return remoteAddress;
+        }
+        String client = request.getHeader(clientHeader);
+        return StringUtils.hasText(client) ? client : remoteAddress;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointClass endpointClass, HttpStatus status, String reason,
+                        long retryAfterSeconds, String message) throws IOException {
+        log.debug("Rejected {} request: {}", tagOf(endpointClass), reason);
+        Counter.builder(REJECTED)
+                .tag("class", tagOf(endpointClass))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String tagOf(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase();
+    }
+
+    /**
+     * Releases an async request's slot once, when it completes, fails or times out. Event
+     * streams stay open for as long as the client listens, so their time is not sampled; they
+     * are told apart once complete, as their headers are only written with the first event.
+     */
+    private static final class AsyncRelease implements AsyncListener {
+
+        private final GradientConcurrencyLimit limit;
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private AsyncRelease(GradientConcurrencyLimit limit, long start, HttpServletResponse response) {
+            this.limit = limit;
+            this.start = start;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Started again on the same request, so the listener is only kept if re-added
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (isEventStream(response)) {
+                limit.release();
+            } else {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Just inside the HTTP server metrics filter, so rejected requests are still measured
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.bankingsystem.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for admission control, bound from {@code app.admission}
+ */
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Request header naming the client for rate limiting, for use behind a proxy that sets it.
+     * Unset by default, so clients are told apart by remote address and cannot pick their own bucket.
+     */
+    private String clientHeader;
+
+    /**
+     * Remote addresses whose {@code clientHeader} is trusted; empty trusts it from any address
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * Requests per second each client may sustain; 0 turns per-client rate limiting off
+     */
+    private double clientRate = 200;
+
+    /**
+     * Requests a client may send at once after being idle
+     */
+    private int clientBurst = 400;
+
+    /**
+     * Most clients whose rate is tracked at a time
+     */
+    private long maxClients = 100_000;
+
+    private Limit transfers = new Limit(20, 2, 200);
+
+    private Limit writes = new Limit(20, 2, 200);
+
+    private Limit reads = new Limit(100, 10, 1000);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+    }
+}
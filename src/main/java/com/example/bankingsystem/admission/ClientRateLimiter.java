@@ -0,0 +1,65 @@
+package com.example.bankingsystem.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket per client, so one caller sending more than its share is turned away
+ * before it takes up concurrency that other callers need. Buckets of clients that stop
+ * calling are dropped once full again.
+ */
+public class ClientRateLimiter {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * @param ratePerSecond requests per second each client may sustain
+     * @param burst requests a client may send at once after being idle
+     * @param maxClients the most clients tracked at a time
+     */
+    public ClientRateLimiter(double ratePerSecond, int burst, long maxClients) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        long refillNanos = (long) (burst / tokensPerNano);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+    }
+
+    /**
+     * Take a token from the client's bucket
+     * @param client the client
+     * @param now the current {@link System#nanoTime()}
+     * @return zero if the request may proceed, otherwise nanoseconds until the next token
+     */
+    public long tryAcquire(String client, long now) {
+        return buckets.get(client, key -> new Bucket(burst, now)).tryTake(now);
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private synchronized long tryTake(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bankingsystem.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classes of requests admitted against separate concurrency limits, so a convoy of transfers
+ * waiting on row locks cannot use up the capacity left for reads
+ */
+public enum EndpointClass {
+
+    TRANSFER,
+    WRITE,
+    READ;
+
+    private static final String TRANSFER_PATH = "/accounts/transfer";
+    // Posted only because the keys to read do not fit in a URL
+    private static final String LOOKUP_PATH = "/accounts/lookup";
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return READ;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(LOOKUP_PATH)) {
+            return READ;
+        }
+        return path.startsWith(TRANSFER_PATH) ? TRANSFER : WRITE;
+    }
+}
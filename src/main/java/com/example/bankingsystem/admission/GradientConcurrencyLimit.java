@@ -0,0 +1,94 @@
+package com.example.bankingsystem.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adapts to observed latency, after the gradient algorithm of
+ * Netflix's concurrency-limits. A long-term average of the request time stands for the
+ * latency without queueing; when recent requests take longer than that by more than the
+ * tolerance, requests are queueing somewhere, such as on a lock or for a connection, and
+ * the limit shrinks in proportion. Otherwise it grows by a small queue allowance, so it
+ * keeps probing for capacity. It does not grow while less than half of it is used.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double longRtt;
+    private long samples;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admit a request if fewer than the limit are in flight
+     * @return whether the request was admitted; admitted requests must be released
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and adjust the limit to how long it took
+     * @param rttNanos the time from admission to completion
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    /**
+     * Release an admitted request without taking its time as a sample, for requests such as
+     * event streams whose duration says nothing about queueing
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        double rtt = Math.max(rttNanos, 1);
+        samples++;
+        // Warm up with a plain mean, then average over roughly the last LONG_WINDOW samples
+        longRtt += (rtt - longRtt) / Math.min(samples, LONG_WINDOW);
+        // After a long spell of slow requests, let the baseline recover faster
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
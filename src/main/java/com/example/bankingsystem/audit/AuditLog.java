@@ -0,0 +1,203 @@
+package com.example.bankingsystem.audit;
+
+import com.example.bankingsystem.entity.BalanceHistoryEntry;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Structured, one JSON object per line, logging of banking operations, written by a single
+ * background thread so request threads only queue an entry. Two channels:
+ * <ul>
+ *     <li>{@code banking.audit}: every committed balance change. Never dropped; when the
+ *     queue is full the entry is written by the caller instead.</li>
+ *     <li>{@code banking.diagnostic}: operational detail such as rejected transfers, sampled
+ *     one in {@code app.audit.diagnostic-sample}, capped at {@code app.audit.diagnostic-rate}
+ *     lines a second, and dropped when the queue is full.</li>
+ * </ul>
+ */
+@Component
+public class AuditLog implements DisposableBean {
+
+    public static final String DROPPED = "banking.audit.dropped";
+    public static final String OVERFLOW = "banking.audit.overflow";
+
+    private static final Logger audit = LoggerFactory.getLogger("banking.audit");
+    private static final Logger diagnostics = LoggerFactory.getLogger("banking.diagnostic");
+
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<Entry> queue;
+    private final int diagnosticSample;
+    private final int diagnosticRate;
+    private final AtomicLong rateWindow = new AtomicLong();
+    private final AtomicInteger rateCount = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter overflow;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(MeterRegistry meterRegistry,
+                    @Value("${app.audit.queue-capacity:8192}") int queueCapacity,
+                    @Value("${app.audit.diagnostic-sample:100}") int diagnosticSample,
+                    @Value("${app.audit.diagnostic-rate:50}") int diagnosticRate) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.diagnosticSample = diagnosticSample;
+        this.diagnosticRate = diagnosticRate;
+        this.dropped = Counter.builder(DROPPED).register(meterRegistry);
+        this.overflow = Counter.builder(OVERFLOW).register(meterRegistry);
+        Gauge.builder("banking.audit.queued", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::run, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Audit each balance change once it has committed, off the transfer's thread and after
+     * its locks are released
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!BalanceHistoryEntry.records(event)) {
+            return;
+        }
+        BigDecimal previousBalance = event.getPreviousBalance() != null ? event.getPreviousBalance() : BigDecimal.ZERO;
+        Entry entry = new Entry(true, event.getType().name(), event.getOccurredAt(), event.getAccountNumber(),
+                null, event.getCurrency(), event.getBalance().subtract(previousBalance), event.getBalance(), null);
+        if (!queue.offer(entry)) {
+            overflow.increment();
+            write(entry, new StringBuilder());
+        }
+    }
+
+    /**
+     * Log a diagnostic line, if it is sampled and within the rate. Arguments may be null.
+     * @param event what happened, such as {@code transfer.rejected}
+     * @param accountNumber the account concerned
+     * @param counterparty the other account, for transfers
+     * @param amount the amount concerned
+     * @param detail a description
+     */
+    public void diagnostic(String event, String accountNumber, String counterparty, BigDecimal amount, String detail) {
+        if (!diagnostics.isInfoEnabled() || !sampled() || !withinRate()) {
+            return;
+        }
+        if (!queue.offer(new Entry(false, event, LocalDateTime.now(), accountNumber, counterparty, null, amount,
+                null, detail))) {
+            dropped.increment();
+        }
+    }
+
+    private boolean sampled() {
+        return diagnosticSample <= 1 || ThreadLocalRandom.current().nextInt(diagnosticSample) == 0;
+    }
+
+    private boolean withinRate() {
+        long second = System.nanoTime() / TimeUnit.SECONDS.toNanos(1);
+        long window = rateWindow.get();
+        if (window != second && rateWindow.compareAndSet(window, second)) {
+            rateCount.set(0);
+        }
+        return rateCount.incrementAndGet() <= diagnosticRate;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder line = new StringBuilder(256);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Entry entry : batch) {
+                    write(entry, line);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(AuditLog.class).warn("Failed to write audit log entries", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static void write(Entry entry, StringBuilder line) {
+        line.setLength(0);
+        line.append('{');
+        field(line, "time", entry.time(), true);
+        field(line, "event", entry.event(), true);
+        field(line, "account", entry.accountNumber(), true);
+        field(line, "counterparty", entry.counterparty(), true);
+        field(line, "currency", entry.currency(), true);
+        field(line, "amount", entry.amount(), false);
+        field(line, "balance", entry.balance(), false);
+        field(line, "detail", entry.detail(), true);
+        line.append('}');
+        (entry.audit() ? audit : diagnostics).info(line.toString());
+    }
+
+    private static void field(StringBuilder line, String name, Object value, boolean quoted) {
+        if (value == null) {
+            return;
+        }
+        if (line.length() > 1) {
+            line.append(',');
+        }
+        line.append('"').append(name).append("\":");
+        if (!quoted) {
+            line.append(value instanceof BigDecimal decimal ? decimal.toPlainString() : value);
+            return;
+        }
+        line.append('"');
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < ' ') {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Stop once everything queued has been written
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private record Entry(boolean audit, String event, LocalDateTime time, String accountNumber, String counterparty,
+                         String currency, BigDecimal amount, BigDecimal balance, String detail) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bankingsystem.cache;
+
+import com.example.bankingsystem.event.AccountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Drops an account from the {@code accounts} and {@code account-details} caches, under both
+ * its account number and its ID, once a change to it commits. Transfers, whether local,
+ * cross-shard or applied from the journal, change the balance and {@code updatedAt} without
+ * going through a {@code @CacheEvict} method, so without this the cached response, and the
+ * ETag taken from it, would outlive the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountCacheEvictor {
+
+    private static final List<String> CACHES = List.of("accounts", "account-details");
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        for (String name : CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            if (event.getAccountNumber() != null) {
+                cache.evict(event.getAccountNumber());
+            }
+            if (event.getAccountId() != null) {
+                cache.evict(event.getAccountId());
+            }
+        }
+    }
+}
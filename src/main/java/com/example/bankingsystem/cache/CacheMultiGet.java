@@ -0,0 +1,94 @@
+package com.example.bankingsystem.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads many entries of a Spring {@link Cache} at once, which the cache abstraction itself
+ * cannot: one {@code getAllPresent} on Caffeine and one {@code MGET} round trip on Redis.
+ * Other caches are read one key at a time.
+ */
+@Component
+public class CacheMultiGet {
+
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+
+    public CacheMultiGet(ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    /**
+     * @return the cached values of the keys that have one; missing keys are absent from the map
+     */
+    public <T> Map<String, T> getAll(Cache cache, Collection<String> keys, Class<T> type) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            return typed(caffeineCache.getNativeCache().getAllPresent(keys), type);
+        }
+        RedisConnectionFactory connectionFactory = redisConnectionFactory.getIfAvailable();
+        if (cache instanceof RedisCache redisCache && connectionFactory != null) {
+            return getAll(redisCache, connectionFactory, keys, type);
+        }
+
+        Map<String, T> values = new HashMap<>();
+        for (String key : keys) {
+            T value = cache.get(key, type);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    private <T> Map<String, T> getAll(RedisCache cache, RedisConnectionFactory connectionFactory,
+                                      Collection<String> keys, Class<T> type) {
+        // Keys and values encoded the way RedisCache encodes them for single reads and writes
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        String prefix = configuration.usePrefix() ? configuration.getKeyPrefixFor(cache.getName()) : "";
+        List<String> orderedKeys = new ArrayList<>(keys);
+        byte[][] redisKeys = new byte[orderedKeys.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = ByteUtils.getBytes(configuration.getKeySerializationPair().write(prefix + orderedKeys.get(i)));
+        }
+
+        List<byte[]> encoded;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            encoded = connection.stringCommands().mGet(redisKeys);
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; encoded != null && i < encoded.size(); i++) {
+            if (encoded.get(i) != null) {
+                values.put(orderedKeys.get(i), configuration.getValueSerializationPair().read(ByteBuffer.wrap(encoded.get(i))));
+            }
+        }
+        return typed(values, type);
+    }
+
+    private static <T> Map<String, T> typed(Map<?, ?> values, Class<T> type) {
+        Map<String, T> typed = new HashMap<>(values.size());
+        values.forEach((key, value) -> {
+            if (type.isInstance(value) && !(value instanceof NullValue)) {
+                typed.put((String) key, type.cast(value));
+            }
+        });
+        return typed;
+    }
+}
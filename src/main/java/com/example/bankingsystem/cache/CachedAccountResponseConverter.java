@@ -0,0 +1,141 @@
+package com.example.bankingsystem.cache;
+
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes single-account responses from {@link EncodedAccountCache}, ahead of the Jackson
+ * converters it stands in for. Each representation is encoded with the same mapper as its
+ * Jackson converter, so the bytes are identical. Where {@code server.compression} would
+ * compress a response, the gzipped bytes are cached too and written with
+ * {@code Content-Encoding: gzip}, which the server then leaves alone.
+ */
+public class CachedAccountResponseConverter extends AbstractHttpMessageConverter<BankAccountResponse> {
+
+    private static final String GZIP = "gzip";
+
+    private final EncodedAccountCache cache;
+    private final List<MediaType> mediaTypes;
+    private final boolean[] compressible;
+    private final long minCompressedSize;
+    // Two per media type: as encoded, then gzipped
+    private final List<Function<BankAccountResponse, byte[]>> encoders = new ArrayList<>();
+
+    /**
+     * @param mappers the mapper for each media type, the first being the default
+     * @param cacheSize the most accounts whose encodings are kept
+     */
+    public CachedAccountResponseConverter(LinkedHashMap<MediaType, ObjectMapper> mappers, Compression compression,
+                                          long cacheSize, MeterRegistry meterRegistry) {
+        super(mappers.keySet().toArray(MediaType[]::new));
+        this.mediaTypes = List.copyOf(mappers.keySet());
+        this.cache = new EncodedAccountCache(cacheSize, mediaTypes.size() * 2, meterRegistry);
+        this.compressible = new boolean[mediaTypes.size()];
+        this.minCompressedSize = compression.getMinResponseSize().toBytes();
+
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            MediaType mediaType = mediaTypes.get(i);
+            ObjectMapper mapper = mappers.get(mediaType);
+            int encoded = i * 2;
+            encoders.add(account -> encode(mapper, account));
+            encoders.add(account -> gzip(cache.get(account, encoded, encoders.get(encoded))));
+            compressible[i] = Boolean.TRUE.equals(compression.getEnabled()) && Arrays.stream(compression.getMimeTypes())
+                    .anyMatch(type -> MediaType.parseMediaType(type).includes(mediaType));
+        }
+    }
+
+    /**
+     * @return the cache, which has to be a bean of its own to hear of account changes
+     */
+    public EncodedAccountCache getCache() {
+        return cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BankAccountResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BankAccountResponse readInternal(Class<? extends BankAccountResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Account responses are only written", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(BankAccountResponse account, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        int type = indexOf(headers.getContentType());
+        int representation = type * 2;
+        byte[] body = cache.get(account, representation, encoders.get(representation));
+
+        if (compressible[type]) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (body.length >= minCompressedSize && acceptsGzip()) {
+                body = cache.get(account, representation + 1, encoders.get(representation + 1));
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+        }
+        headers.setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    private int indexOf(MediaType contentType) {
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            if (contentType == null || mediaTypes.get(i).isCompatibleWith(contentType)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        String acceptEncoding = attributes.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains(GZIP);
+    }
+
+    private static byte[] encode(ObjectMapper mapper, BankAccountResponse account) {
+        try {
+            return mapper.writeValueAsBytes(account);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bankingsystem.cache;
+
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Account responses as encoded bytes, per account and representation, so reading an account
+ * that is already cached does not serialize it again. The bytes are kept with the response
+ * they were encoded from and only used while the service returns an equal one, so they are
+ * never staler than the {@code accounts} cache; they are also dropped as soon as a change to
+ * the account commits.
+ */
+public class EncodedAccountCache {
+
+    public static final String REQUESTS = "banking.response.cache.requests";
+
+    private final Cache<String, Encodings> cache;
+    private final int representations;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param representations the number of representations kept per account
+     */
+    public EncodedAccountCache(long maximumSize, int representations, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.representations = representations;
+        this.hits = Counter.builder(REQUESTS).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS).tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Get an account's encoding in one representation, encoding it if it is not cached
+     * @param representation the index of the representation
+     * @param encoder encodes the account in that representation
+     */
+    public byte[] get(BankAccountResponse account, int representation, Function<BankAccountResponse, byte[]> encoder) {
+        Encodings encodings = cache.getIfPresent(account.getAccountNumber());
+        if (encodings == null || !encodings.source.equals(account)) {
+            encodings = new Encodings(account, representations);
+            cache.put(account.getAccountNumber(), encodings);
+        }
+
+        byte[] bytes = encodings.bytes.get(representation);
+        if (bytes != null) {
+            hits.increment();
+            return bytes;
+        }
+        misses.increment();
+        // Concurrent misses may each encode; the results are the same
+        bytes = encoder.apply(account);
+        encodings.bytes.set(representation, bytes);
+        return bytes;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        cache.invalidate(event.getAccountNumber());
+    }
+
+    private static final class Encodings {
+
+        private final BankAccountResponse source;
+        private final AtomicReferenceArray<byte[]> bytes;
+
+        private Encodings(BankAccountResponse source, int representations) {
+            this.source = source;
+            this.bytes = new AtomicReferenceArray<>(representations);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.entity.AccountIdGenerator;
+import com.example.bankingsystem.entity.RandomAccountIdGenerator;
+import com.example.bankingsystem.entity.TimeOrderedAccountIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+@Slf4j
+public class AccountIdGeneratorConfig {
+
+    @Bean
+    public AccountIdGenerator accountIdGenerator(
+            @Value("${app.account-id.strategy:time-ordered}") String strategy,
+            @Value("${app.account-id.node-id:-1}") long nodeId) {
+        if ("random".equalsIgnoreCase(strategy)) {
+            log.info("Using random account ID generation");
+            return new RandomAccountIdGenerator();
+        }
+        if (!"time-ordered".equalsIgnoreCase(strategy)) {
+            throw new IllegalStateException("Unknown app.account-id.strategy: " + strategy);
+        }
+
+        long node = nodeId >= 0 ? nodeId : deriveNodeId();
+        log.info("Using time-ordered account ID generation with node ID {}", node);
+        return new TimeOrderedAccountIdGenerator(node);
+    }
+
+    /**
+     * Derive a node ID from host name and process ID when none is configured.
+     * Set app.account-id.node-id explicitly when running several instances.
+     */
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & 0x7fffffff) % 1024;
+    }
+}
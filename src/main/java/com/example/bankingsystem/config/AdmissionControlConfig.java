@@ -0,0 +1,25 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.admission.AdmissionControlFilter;
+import com.example.bankingsystem.admission.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Admission control in front of every endpoint, unless {@code app.admission.enabled} is false
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties,
+                                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+    }
+}
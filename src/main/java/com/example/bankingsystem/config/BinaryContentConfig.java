@@ -0,0 +1,38 @@
+package com.example.bankingsystem.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON for service-to-service callers, chosen by {@code Accept} for
+ * responses and {@code Content-Type} for request bodies. Both carry the same fields as the
+ * JSON, mapped with the same Jackson configuration, but encode decimals and numbers in binary:
+ * <ul>
+ *   <li>{@code application/cbor}: CBOR, decimals as exact decimal fractions</li>
+ *   <li>{@code application/x-jackson-smile}: Smile, which also writes each repeated field name
+ *   and short string value once per document and back-references it afterwards, so pages of
+ *   accounts shrink the most</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryContentConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.datasource.DataSourceRoutingProperties;
+import com.example.bankingsystem.datasource.ReadWriteRoutingDataSource;
+import com.example.bankingsystem.datasource.ReadYourWritesFilter;
+import com.example.bankingsystem.datasource.ReadYourWritesTracker;
+import com.example.bankingsystem.datasource.ReplicaLagMonitor;
+import com.example.bankingsystem.metrics.PoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions
+ * to replicas when {@code app.datasource.routing.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickiness());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker,
+                                                     DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(tracker, properties.getClientHeader());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceRoutingProperties properties,
+                                               DataSourceProperties primaryProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSourceRoutingProperties.Replica> replicas = properties.getReplicas();
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("app.datasource.routing.enabled requires at least one replica");
+        }
+
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            PoolMetrics.instrument(pool, meterRegistry);
+            pools.put(pool.getPoolName(), pool);
+        }
+        log.info("Routing read-only transactions to {} replicas, max lag {}", pools.size(), properties.getMaxLag());
+        return new ReplicaLagMonitor(pools, properties.getLagQuery(), properties.getMaxLag());
+    }
+
+    /**
+     * The primary pool is built here rather than auto-configured, so the
+     * {@code spring.datasource.hikari.*} settings are bound onto it explicitly
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties primaryProperties,
+                                                        Environment environment,
+                                                        ReplicaLagMonitor replicaLagMonitor,
+                                                        ReadYourWritesTracker readYourWritesTracker,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        // Routing looks the pool up by this name, whatever pool-name is configured
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        PoolMetrics.instrument(primary, meterRegistry);
+        return new ReadWriteRoutingDataSource(primary, replicaLagMonitor, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.cache.CachedAccountResponseConverter;
+import com.example.bankingsystem.cache.EncodedAccountCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Single-account responses written from cached bytes in JSON, CBOR and Smile, unless
+ * {@code app.response-cache.enabled} is false. Being a converter bean, Spring Boot puts it
+ * in front of the Jackson converters. Contexts without a servlet web server have no
+ * responses to write and skip it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public CachedAccountResponseConverter cachedAccountResponseConverter(
+            ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+            MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter,
+            ServerProperties serverProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.response-cache.max-entries:10000}") long maxEntries) {
+        LinkedHashMap<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, cborHttpMessageConverter.getObjectMapper());
+        mappers.put(MediaType.parseMediaType("application/x-jackson-smile"), smileHttpMessageConverter.getObjectMapper());
+        return new CachedAccountResponseConverter(mappers, serverProperties.getCompression(), maxEntries, meterRegistry);
+    }
+
+    @Bean
+    public EncodedAccountCache encodedAccountCache(CachedAccountResponseConverter cachedAccountResponseConverter) {
+        return cachedAccountResponseConverter.getCache();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.metrics.PoolMetrics;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.example.bankingsystem.sharding.ShardRoutingDataSource;
+import com.example.bankingsystem.sharding.ShardSchemaIntegrator;
+import com.example.bankingsystem.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    public AccountShards accountShards(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        if (!properties.isEnabled()) {
+            return AccountShards.unsharded();
+        }
+        log.info("Partitioning accounts over {} shards", properties.getShards().size());
+        return new AccountShards(properties.getShards().size(), transactionManager, properties.getScatterThreads());
+    }
+
+    /**
+     * Replaces the auto-configured DataSource with one routing to the shard bound to the
+     * current thread when {@code app.sharding.enabled} is set.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    static class ShardDataSourceConfiguration {
+
+        /**
+         * Each shard pool takes the {@code spring.datasource.hikari.*} settings, with its own
+         * pool name and size on top
+         */
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(
+                ShardingProperties properties, DataSourceProperties primaryProperties, Environment environment,
+                @Value("${app.datasource.routing.enabled:false}") boolean readReplicas,
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            if (readReplicas) {
+                throw new IllegalStateException("app.sharding and app.datasource.routing cannot be enabled together");
+            }
+            if (properties.getShards().size() < 2) {
+                throw new IllegalStateException("app.sharding.enabled requires at least two shards");
+            }
+
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (int i = 0; i < properties.getShards().size(); i++) {
+                ShardingProperties.Shard shard = properties.getShards().get(i);
+                HikariDataSource pool = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .driverClassName(primaryProperties.determineDriverClassName())
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build();
+                Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+                pool.setPoolName("shard-" + i);
+                pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+                PoolMetrics.instrument(pool, meterRegistry);
+                shards.add(pool);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer shardSchemaCustomizer(ShardingProperties properties) {
+            ShardSchemaIntegrator integrator = new ShardSchemaIntegrator(properties.getShards().size());
+            return hibernateProperties -> hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(integrator));
+        }
+    }
+}
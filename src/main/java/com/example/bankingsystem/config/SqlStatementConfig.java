@@ -0,0 +1,35 @@
+package com.example.bankingsystem.config;
+
+import com.example.bankingsystem.metrics.StatementCountingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource, whichever configuration provides it, so every statement
+ * run through it is counted against the current request and service call.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlStatementConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+            @Value("${app.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource, slowQueryThreshold);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bankingsystem.controller;
+
+import com.example.bankingsystem.dto.BankAccountDetailedResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong ETags for account resources, derived from the account's {@code updatedAt}, which
+ * changes with every write. They are computed from the response as cached, so a matching
+ * {@code If-None-Match} is answered with 304 before the response is serialized.
+ */
+final class AccountETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private AccountETags() {
+    }
+
+    static String of(BankAccountResponse account) {
+        return quote(account.getUpdatedAt().toString());
+    }
+
+    /**
+     * The details also change with the passing of time, through the computed age and activity
+     */
+    static String of(BankAccountDetailedResponse details) {
+        return quote(details.getUpdatedAt() + "-" + details.getAccountAgeInDays() + "-" + details.getLastActivityStatus());
+    }
+
+    /**
+     * The versions named by an {@code If-Match} header. Weak and malformed tags never match
+     * under the strong comparison {@code If-Match} requires, so they are left out.
+     * @return the versions, or null for {@code *}, which matches any version
+     */
+    static List<LocalDateTime> versionsOf(String ifMatch) {
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<LocalDateTime> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(WEAK_PREFIX) || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(LocalDateTime.parse(tag.substring(1, tag.length() - 1)));
+            } catch (DateTimeParseException e) {
+                // Not one of ours, so it matches no version
+            }
+        }
+        return versions;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bankingsystem.controller;
+
+import com.example.bankingsystem.dto.AccountFileFormat;
+import com.example.bankingsystem.dto.ImportJobResponse;
+import com.example.bankingsystem.service.AccountImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class AccountImportController {
+
+    private final AccountImportService accountImportService;
+
+    @PostMapping(value = "/accounts/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> submitImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "CSV") AccountFileFormat format) {
+        log.info("Submitting account import of {} ({} bytes) as {}", file.getOriginalFilename(), file.getSize(), format);
+        ImportJobResponse response = accountImportService.submit(file, format);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/accounts/imports/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImport(@PathVariable String jobId) {
+        log.debug("Fetching import job: {}", jobId);
+        return ResponseEntity.ok(accountImportService.getJob(jobId));
+    }
+
+    @PostMapping("/accounts/imports/{jobId}/resume")
+    public ResponseEntity<ImportJobResponse> resumeImport(@PathVariable String jobId) {
+        log.info("Resuming import job: {}", jobId);
+        ImportJobResponse response = accountImportService.resume(jobId);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/accounts/imports/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        log.debug("Fetching error report for import job: {}", jobId);
+        Path report = accountImportService.getErrorReport(jobId);
+        if (!Files.exists(report)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(new FileSystemResource(report));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bankingsystem.controller;
+
+import com.example.bankingsystem.dto.BankAccountPagedResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.service.AsyncAccountReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The account reads of {@link BankAccountController} under {@code /async}, answered without
+ * a request thread waiting on the database. Cache hits are written on the request thread as
+ * usual; other reads release it and are written once {@link AsyncAccountReadService} has
+ * them, so the number of reads in progress is bounded by its pool and queue rather than by
+ * the servlet container's threads.
+ */
+@RestController
+@RequestMapping("/async")
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncAccountReadController {
+
+    private final AsyncAccountReadService asyncAccountReadService;
+
+    /**
+     * @return the response, or a future of it for Spring MVC to complete asynchronously
+     */
+    @GetMapping("/accounts/number/{accountNumber}")
+    public Object getAccountByAccountNumber(@PathVariable String accountNumber) {
+        log.debug("Fetching account by account number: {}", accountNumber);
+        return respond(asyncAccountReadService.getAccountByAccountNumber(accountNumber));
+    }
+
+    /**
+     * @return the response, or a future of it for Spring MVC to complete asynchronously
+     */
+    @GetMapping("/accounts/{id}")
+    public Object getAccountById(@PathVariable String id) {
+        log.debug("Fetching account by ID: {}", id);
+        return respond(asyncAccountReadService.getAccountById(id));
+    }
+
+    @GetMapping("/accounts/search")
+    public CompletableFuture<ResponseEntity<BankAccountPagedResponse>> searchAccounts(
+            @RequestParam(required = false) String accountHolderName,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) BankAccount.AccountStatus status,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) BigDecimal minBalance,
+            @RequestParam(required = false) BigDecimal maxBalance,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.debug("Searching accounts with complex criteria - name: {}, accountNumber: {}, status: {}, currency: {}, minBalance: {}, maxBalance: {}, page: {}, size: {}, sortBy: {}, sortDir: {}",
+                accountHolderName, accountNumber, status, currency, minBalance, maxBalance, page, size, sortBy, sortDir);
+
+        BankAccountSearchRequest searchRequest = BankAccountSearchRequest.builder()
+                .accountHolderName(accountHolderName)
+                .accountNumber(accountNumber)
+                .status(status)
+                .currency(currency)
+                .minBalance(minBalance)
+                .maxBalance(maxBalance)
+                .page(page)
+                .size(size)
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .build();
+
+        return asyncAccountReadService.searchAccounts(searchRequest).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Completed reads are answered directly, sparing them the asynchronous dispatch
+     */
+    private static Object respond(CompletableFuture<BankAccountResponse> account) {
+        if (account.isDone() && !account.isCompletedExceptionally()) {
+            return ok(account.join());
+        }
+        return account.thenApply(AsyncAccountReadController::ok);
+    }
+
+    private static ResponseEntity<BankAccountResponse> ok(BankAccountResponse account) {
+        return ResponseEntity.ok().eTag(AccountETags.of(account)).body(account);
+    }
+}
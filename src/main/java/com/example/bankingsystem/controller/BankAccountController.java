@@ -2,20 +2,36 @@ package com.example.bankingsystem.controller;
 
 import com.example.bankingsystem.dto.*;
 import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.BankAccountException;
+import com.example.bankingsystem.service.AccountAnalyticsService;
+import com.example.bankingsystem.service.AccountLookupService;
+import com.example.bankingsystem.service.AccountStatementService;
+import com.example.bankingsystem.service.AccountStatusService;
 import com.example.bankingsystem.service.BankAccountService;
+import com.example.bankingsystem.stream.AccountChangeBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.view.RedirectView;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,6 +39,11 @@ import java.util.Map;
 public class BankAccountController {
 
     private final BankAccountService bankAccountService;
+    private final AccountAnalyticsService accountAnalyticsService;
+    private final AccountStatusService accountStatusService;
+    private final AccountStatementService accountStatementService;
+    private final AccountLookupService accountLookupService;
+    private final AccountChangeBroadcaster accountChangeBroadcaster;
 
     @PostMapping("/accounts")
     public ResponseEntity<BankAccountResponse> createAccount(@Valid @RequestBody BankAccountRequest request) {
@@ -31,35 +52,101 @@ public class BankAccountController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/accounts/bulk")
+    public ResponseEntity<BulkAccountResponse> createAccounts(@Valid @RequestBody BulkAccountRequest request) {
+        log.info("Creating {} accounts in bulk", request.getAccounts().size());
+        BulkAccountResponse response = bankAccountService.createAccounts(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
 
     @GetMapping("/accounts/number/{accountNumber}")
     public ResponseEntity<BankAccountResponse> getAccountByAccountNumber(@PathVariable String accountNumber) {
         log.debug("Fetching account by account number: {}", accountNumber);
         BankAccountResponse response = bankAccountService.getAccountByAccountNumber(accountNumber);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(AccountETags.of(response)).body(response);
     }
 
     @GetMapping("/accounts/{id}")
     public ResponseEntity<BankAccountResponse> getAccountById(@PathVariable String id) {
         log.debug("Fetching account by ID: {}", id);
         BankAccountResponse response = bankAccountService.getAccountById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(AccountETags.of(response)).body(response);
+    }
+
+    @PostMapping("/accounts/lookup")
+    public ResponseEntity<AccountLookupResponse> lookupAccounts(@Valid @RequestBody AccountLookupRequest request) {
+        log.debug("Looking up {} account numbers and {} IDs", request.getAccountNumbers().size(), request.getIds().size());
+        return ResponseEntity.ok(accountLookupService.lookup(request));
     }
 
     @GetMapping("/accounts/number/{accountNumber}/details")
     public ResponseEntity<BankAccountDetailedResponse> getAccountDetails(@PathVariable String accountNumber) {
         log.debug("Fetching detailed account information for account number: {}", accountNumber);
         BankAccountDetailedResponse response = bankAccountService.getAccountDetails(accountNumber);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(AccountETags.of(response)).body(response);
+    }
+
+    @GetMapping("/accounts/number/{accountNumber}/statement")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Fetching statement for account number: {} - from: {}, to: {}, cursor: {}, limit: {}",
+                accountNumber, from, to, cursor, limit);
+        AccountStatementService.Statement statement =
+                accountStatementService.getStatement(accountNumber, from, to, cursor, limit);
+        StreamingResponseBody body = statement::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/accounts/number/{accountNumber}/balance")
+    public ResponseEntity<AccountBalanceResponse> getBalanceAsOf(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        log.debug("Fetching balance of account number: {} as of {}", accountNumber, asOf);
+        return ResponseEntity.ok(accountStatementService.getBalanceAsOf(accountNumber, asOf));
+    }
+
+    @GetMapping("/accounts/number/{accountNumber}/events")
+    public ResponseEntity<SseEmitter> streamAccountChanges(@PathVariable String accountNumber) {
+        log.debug("Streaming changes to account number: {}", accountNumber);
+        // Unknown accounts are reported as such rather than streaming nothing
+        bankAccountService.getAccountByAccountNumber(accountNumber);
+        return stream(event -> accountNumber.equals(event.getAccountNumber()));
+    }
+
+    @GetMapping("/accounts/events")
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false) Set<AccountChangedEvent.Type> types,
+            @RequestParam(required = false) String currency) {
+        log.debug("Streaming account changes - types: {}, currency: {}", types, currency);
+        return stream(event -> (types == null || types.contains(event.getType()))
+                && (currency == null || currency.equalsIgnoreCase(event.getCurrency())));
+    }
+
+    private ResponseEntity<SseEmitter> stream(Predicate<AccountChangedEvent> filter) {
+        return accountChangeBroadcaster.subscribe(filter)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
     }
 
     @PutMapping("/accounts/number/{accountNumber}")
     public ResponseEntity<BankAccountResponse> updateAccountByAccountNumber(
             @PathVariable String accountNumber,
-            @Valid @RequestBody BankAccountUpdateRequest request) {
+            @Valid @RequestBody BankAccountUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating account with account number: {}", accountNumber);
-        BankAccountResponse response = bankAccountService.updateAccountByAccountNumber(accountNumber, request);
-        return ResponseEntity.ok(response);
+        List<LocalDateTime> versions = ifMatch != null ? AccountETags.versionsOf(ifMatch) : null;
+        BankAccountResponse response = versions != null
+                ? bankAccountService.updateAccountByAccountNumber(accountNumber, request, versions)
+                : bankAccountService.updateAccountByAccountNumber(accountNumber, request);
+        return ResponseEntity.ok().eTag(AccountETags.of(response)).body(response);
     }
 
     @DeleteMapping("/accounts/{id}")
@@ -70,19 +157,28 @@ public class BankAccountController {
     }
 
 
-    @PostMapping("/accounts/transfer")
-    public ResponseEntity<Map<String, String>> transferFunds(@Valid @RequestBody FundTransferRequest request) {
-        log.info("Processing fund transfer from {} to {} for amount: {}",
-                request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+    @PostMapping("/accounts/status/bulk")
+    public ResponseEntity<BulkStatusChangeResponse> changeStatus(@Valid @RequestBody BulkStatusChangeRequest request) {
+        log.info("Changing status of accounts to {} in bulk", request.getStatus());
+        BulkStatusChangeResponse response = accountStatusService.changeStatus(request);
+        return ResponseEntity.ok(response);
+    }
 
-        boolean success = bankAccountService.transferFunds(request);
+    @PostMapping("/accounts/transfer")
+    public ResponseEntity<?> transferFunds(@Valid @RequestBody FundTransferRequest request) {
+        // Rejections are common under contention, so they are answered here rather than thrown
+        TransferResult result = bankAccountService.tryTransferFunds(request);
+        if (!result.isCompleted()) {
+            BankAccountException rejection = result.getRejection();
+            return rejection.getErrorTemplate().respond(rejection.getMessage());
+        }
 
         Map<String, String> response = Map.of(
                 "message", "Fund transfer completed successfully",
                 "fromAccount", request.getFromAccountNumber(),
                 "toAccount", request.getToAccountNumber(),
                 "amount", request.getAmount().toString(),
-                "success", String.valueOf(success)
+                "success", "true"
         );
 
         return ResponseEntity.ok(response);
@@ -143,6 +239,46 @@ public class BankAccountController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/accounts/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(
+            @RequestParam(required = false) String accountHolderName,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) BankAccount.AccountStatus status,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) BigDecimal minBalance,
+            @RequestParam(required = false) BigDecimal maxBalance,
+            @RequestParam(defaultValue = "NDJSON") AccountFileFormat format,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.info("Exporting accounts as {} - name: {}, accountNumber: {}, status: {}, currency: {}, minBalance: {}, maxBalance: {}",
+                format, accountHolderName, accountNumber, status, currency, minBalance, maxBalance);
+
+        BankAccountSearchRequest searchRequest = BankAccountSearchRequest.builder()
+                .accountHolderName(accountHolderName)
+                .accountNumber(accountNumber)
+                .status(status)
+                .currency(currency)
+                .minBalance(minBalance)
+                .maxBalance(maxBalance)
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .build();
+
+        StreamingResponseBody body = outputStream ->
+                bankAccountService.exportAccounts(searchRequest, format, outputStream);
 
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"accounts." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/accounts/analytics")
+    public ResponseEntity<BalanceAnalyticsResponse> getBalanceAnalytics() {
+        log.debug("Fetching balance analytics");
+        return ResponseEntity.ok(accountAnalyticsService.getBalanceAnalytics());
+    }
 
 }
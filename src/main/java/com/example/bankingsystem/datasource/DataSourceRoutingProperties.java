@@ -0,0 +1,50 @@
+package com.example.bankingsystem.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for routing read-only transactions to replicas, bound from {@code app.datasource.routing}.
+ * The primary is configured through the regular {@code spring.datasource} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Query run on each replica returning its replication lag in seconds.
+     * When blank replicas are only checked for connectivity.
+     */
+    private String lagQuery;
+
+    /**
+     * Replicas lagging more than this are skipped until they catch up
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How long a client's reads stay on the primary after it committed a write
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /**
+     * Request header identifying a client for read-your-writes; the remote address is used when absent
+     */
+    private String clientHeader = "X-Client-Id";
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
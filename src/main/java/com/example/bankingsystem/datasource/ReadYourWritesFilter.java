@@ -0,0 +1,37 @@
+package com.example.bankingsystem.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client to the request thread so its reads can be routed to replicas
+ * and kept on the primary right after it writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+    private final String clientHeader;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker, String clientHeader) {
+        this.tracker = tracker;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        tracker.bind(StringUtils.hasText(client) ? client : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.clear();
+        }
+    }
+}
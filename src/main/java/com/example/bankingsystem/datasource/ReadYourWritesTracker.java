@@ -0,0 +1,66 @@
+package com.example.bankingsystem.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients recently committed a write so their reads can be kept on the
+ * primary until replicas have caught up. The client of the current thread is bound for
+ * the duration of an HTTP request; work without a bound client never reads from replicas.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void bind(String client) {
+        CURRENT_CLIENT.set(client);
+    }
+
+    public void clear() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * @return the client bound to the current thread, or null; bound again on threads that work on its behalf
+     */
+    public String currentClient() {
+        return CURRENT_CLIENT.get();
+    }
+
+    /**
+     * Check whether reads of the current thread may be served by a replica
+     */
+    public boolean mayReadFromReplica() {
+        String client = CURRENT_CLIENT.get();
+        return client != null && recentWriters.getIfPresent(client) == null;
+    }
+
+    /**
+     * Make the current client sticky to the primary once the current write transaction commits
+     */
+    public void recordWriteOnCommit() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bankingsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Owns the replica pools and periodically checks each replica's lag. Replicas that lag
+ * more than the configured maximum, or cannot be reached, are left out of read routing
+ * until a later check succeeds. Replicas start out unchecked and therefore unused.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, HikariDataSource> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Lookup keys of the replicas currently eligible for reads
+     */
+    public List<String> healthyReplicas() {
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:1000}")
+    public void checkReplicas() {
+        List<String> available = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            if (isWithinLag(replica.getKey(), replica.getValue())) {
+                available.add(replica.getKey());
+            }
+        }
+
+        List<String> previous = healthy;
+        healthy = List.copyOf(available);
+        if (!previous.equals(healthy)) {
+            log.info("Replicas eligible for reads changed from {} to {}", previous, healthy);
+        }
+    }
+
+    private boolean isWithinLag(String name, HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                return connection.isValid(CHECK_TIMEOUT_SECONDS);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    if (!result.next()) {
+                        log.warn("Lag query returned no row on replica {}", name);
+                        return false;
+                    }
+                    double lagSeconds = result.getDouble(1);
+                    boolean withinLag = !result.wasNull() && lagSeconds * 1000 <= maxLag.toMillis();
+                    if (!withinLag) {
+                        log.debug("Replica {} lags {}s, more than the allowed {}", name, lagSeconds, maxLag);
+                    }
+                    return withinLag;
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Replica {} failed its lag check: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceResponse {
+
+    private String accountNumber;
+    private String currency;
+    // Balance before any change at or after this time
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+}
@@ -0,0 +1,40 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountChangeResponse {
+
+    private AccountChangedEvent.Type type;
+    private String accountNumber;
+    private String currency;
+    private BankAccount.AccountStatus previousStatus;
+    private BankAccount.AccountStatus status;
+    private BigDecimal previousBalance;
+    private BigDecimal balance;
+    private LocalDateTime occurredAt;
+
+    public static AccountChangeResponse fromEvent(AccountChangedEvent event) {
+        return AccountChangeResponse.builder()
+                .type(event.getType())
+                .accountNumber(event.getAccountNumber())
+                .currency(event.getCurrency())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getStatus())
+                .previousBalance(event.getPreviousBalance())
+                .balance(event.getBalance())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.bankingsystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountLookupRequest {
+
+    @Builder.Default
+    private List<@NotBlank(message = "Account numbers cannot be blank") String> accountNumbers = new ArrayList<>();
+
+    @Builder.Default
+    private List<@NotBlank(message = "Account IDs cannot be blank") String> ids = new ArrayList<>();
+}
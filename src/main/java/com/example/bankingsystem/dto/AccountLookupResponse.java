@@ -0,0 +1,19 @@
+package com.example.bankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountLookupResponse {
+
+    // Accounts found, in the order requested: by account number first, then by ID
+    private List<BankAccountResponse> accounts;
+    private List<String> notFound;
+}
@@ -0,0 +1,41 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.BankAccount;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAnalyticsResponse {
+
+    private List<BucketSummary> buckets;
+    private LocalDateTime generatedAt;
+    private LocalDateTime lastReconciledAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BucketSummary {
+
+        private String currency;
+        private BankAccount.AccountStatus status;
+        private long accountCount;
+        private BigDecimal totalBalance;
+        private BigDecimal minBalance;
+        private BigDecimal maxBalance;
+        private BigDecimal averageBalance;
+
+        // Account counts per balance tier (PREMIUM, STANDARD, BASIC, ENTRY)
+        private Map<String, Long> tiers;
+    }
+}
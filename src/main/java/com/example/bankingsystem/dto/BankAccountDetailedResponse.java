@@ -63,7 +63,7 @@ public class BankAccountDetailedResponse {
                 .build();
     }
 
-    private static String determineAccountType(BigDecimal balance) {
+    public static String determineAccountType(BigDecimal balance) {
         if (balance.compareTo(BigDecimal.valueOf(10000)) >= 0) {
             return "PREMIUM";
         } else if (balance.compareTo(BigDecimal.valueOf(1000)) >= 0) {
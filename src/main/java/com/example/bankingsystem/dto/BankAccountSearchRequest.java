@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @Builder
@@ -15,6 +16,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class BankAccountSearchRequest {
 
+    /**
+     * Fields that may be used for sorting; each is backed by an index on bank_accounts
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "accountNumber", "balance", "createdAt", "updatedAt");
+
     // Text search
     private String accountHolderName;
     private String accountNumber;
@@ -60,6 +66,13 @@ public class BankAccountSearchRequest {
                updatedTo != null;
     }
 
+    /**
+     * Check if the requested sort field is backed by an index
+     */
+    public boolean hasSortableField() {
+        return sortBy != null && SORTABLE_FIELDS.contains(sortBy);
+    }
+
     /**
      * Check if only pagination parameters are provided (equivalent to getAllAccounts)
      */
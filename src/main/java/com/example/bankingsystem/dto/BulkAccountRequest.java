@@ -0,0 +1,22 @@
+package com.example.bankingsystem.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountRequest {
+
+    @NotEmpty(message = "At least one account is required")
+    @Size(max = 10000, message = "At most 10000 accounts can be created per request")
+    private List<@Valid BankAccountRequest> accounts;
+}
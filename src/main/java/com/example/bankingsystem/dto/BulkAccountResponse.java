@@ -0,0 +1,21 @@
+package com.example.bankingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountResponse {
+
+    private int requested;
+    private int created;
+
+    // Account numbers skipped because they already exist or repeat within the request
+    private List<String> duplicateAccountNumbers;
+}
@@ -0,0 +1,27 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.BankAccount;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeRequest {
+
+    @NotNull(message = "Target status is required")
+    private BankAccount.AccountStatus status;
+
+    // Exactly one of accountIds or criteria selects the accounts to change
+    @Size(max = 10000, message = "At most 10000 account IDs can be given per request")
+    private List<String> accountIds;
+
+    private BankAccountSearchRequest criteria;
+}
@@ -0,0 +1,19 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.BankAccount;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeResponse {
+
+    private BankAccount.AccountStatus status;
+
+    // Accounts moved to the target status; accounts already in it or not eligible are not counted
+    private long updated;
+}
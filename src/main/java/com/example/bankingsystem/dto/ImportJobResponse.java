@@ -0,0 +1,46 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.AccountImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private String id;
+    private String fileName;
+    private AccountFileFormat format;
+    private AccountImportJob.Status status;
+    private long committedRecords;
+    private long importedRecords;
+    private long rejectedRecords;
+    private long duplicateRecords;
+    private String failureMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public static ImportJobResponse fromEntity(AccountImportJob job) {
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .committedRecords(job.getCommittedRecords())
+                .importedRecords(job.getImportedRecords())
+                .rejectedRecords(job.getRejectedRecords())
+                .duplicateRecords(job.getDuplicateRecords())
+                .failureMessage(job.getFailureMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
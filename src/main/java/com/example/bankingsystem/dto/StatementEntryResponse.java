@@ -0,0 +1,33 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.entity.BalanceHistoryEntry;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementEntryResponse {
+
+    private LocalDateTime occurredAt;
+    private AccountChangedEvent.Type type;
+    private BigDecimal amount;
+    // Balance after this entry
+    private BigDecimal balance;
+
+    public static StatementEntryResponse fromEntity(BalanceHistoryEntry entry) {
+        return StatementEntryResponse.builder()
+                .occurredAt(entry.getOccurredAt())
+                .type(entry.getType())
+                .amount(entry.getDelta())
+                .balance(entry.getBalance())
+                .build();
+    }
+}
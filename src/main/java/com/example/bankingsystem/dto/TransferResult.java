@@ -0,0 +1,44 @@
+package com.example.bankingsystem.dto;
+
+import com.example.bankingsystem.exception.BankAccountException;
+
+/**
+ * The outcome of a transfer: completed, or rejected for an expected business reason such as
+ * insufficient funds. A rejection carries the exception that describes it, unthrown, so the
+ * caller decides whether it is worth throwing.
+ */
+public final class TransferResult {
+
+    private static final TransferResult COMPLETED = new TransferResult(null);
+
+    private final BankAccountException rejection;
+
+    private TransferResult(BankAccountException rejection) {
+        this.rejection = rejection;
+    }
+
+    public static TransferResult completed() {
+        return COMPLETED;
+    }
+
+    public static TransferResult rejected(BankAccountException rejection) {
+        return new TransferResult(rejection);
+    }
+
+    public boolean isCompleted() {
+        return rejection == null;
+    }
+
+    /**
+     * @return why the transfer was rejected, or null if it completed
+     */
+    public BankAccountException getRejection() {
+        return rejection;
+    }
+
+    public void throwIfRejected() {
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bankingsystem.entity;
+
+import com.example.bankingsystem.event.AccountChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One change to an account, appended in the same transaction as the change itself and
+ * never updated. Each event carries the account's status and balance after the change,
+ * so replaying an account's events in sequence order yields its current state.
+ */
+@Entity
+@Table(name = "account_events", indexes = {
+    @Index(name = "idx_account_events_recorded_at", columnList = "recordedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEvent {
+
+    // Allocated one at a time while the account's row lock is held, so an account's
+    // events are numbered in the order they happened, whichever instance wrote them
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_event_sequence")
+    @SequenceGenerator(name = "account_event_sequence", sequenceName = "account_event_sequence", allocationSize = 1)
+    private Long sequence;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private AccountChangedEvent.Type type;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false, length = 20)
+    private String accountNumber;
+
+    @Column(length = 100)
+    private String accountHolderName;
+
+    @Column(length = 255)
+    private String email;
+
+    @Column(length = 20)
+    private String phoneNumber;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(length = 20)
+    @Enumerated(EnumType.STRING)
+    private BankAccount.AccountStatus status;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // When the event was written, just before its transaction commits
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    public static AccountEvent from(AccountChangedEvent event) {
+        return AccountEvent.builder()
+                .type(event.getType())
+                .accountId(event.getAccountId())
+                .accountNumber(event.getAccountNumber())
+                .accountHolderName(event.getAccountHolderName())
+                .email(event.getEmail())
+                .phoneNumber(event.getPhoneNumber())
+                .currency(event.getCurrency())
+                .status(event.getStatus())
+                .balance(event.getBalance())
+                .occurredAt(event.getOccurredAt())
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+}
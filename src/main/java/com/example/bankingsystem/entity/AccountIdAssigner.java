@@ -0,0 +1,23 @@
+package com.example.bankingsystem.entity;
+
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that assigns IDs to new accounts using the configured
+ * {@link AccountIdGenerator}. Hibernate obtains it from the Spring context.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountIdAssigner {
+
+    private final AccountIdGenerator accountIdGenerator;
+
+    @PrePersist
+    public void assignId(BankAccount account) {
+        if (account.getId() == null) {
+            account.setId(accountIdGenerator.nextId());
+        }
+    }
+}
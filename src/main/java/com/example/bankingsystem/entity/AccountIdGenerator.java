@@ -0,0 +1,16 @@
+package com.example.bankingsystem.entity;
+
+/**
+ * Strategy for assigning primary keys to new {@link BankAccount}s.
+ * Implementations must be thread-safe and must never return the same ID twice.
+ */
+public interface AccountIdGenerator {
+
+    String PREFIX = "ACC";
+
+    /**
+     * Generate a new account ID
+     * @return a unique, hard to guess ID starting with {@link #PREFIX}
+     */
+    String nextId();
+}
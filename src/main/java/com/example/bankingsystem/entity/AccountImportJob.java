@@ -0,0 +1,84 @@
+package com.example.bankingsystem.entity;
+
+import com.example.bankingsystem.dto.AccountFileFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a file import. {@code committedRecords} is updated in the same
+ * transaction as each chunk of inserts, so it is always a safe resume point.
+ */
+@Entity
+@Table(name = "account_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportJob {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private AccountFileFormat format;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    // Data records (excluding any header) whose outcome has been committed
+    @Builder.Default
+    private long committedRecords = 0;
+
+    @Builder.Default
+    private long importedRecords = 0;
+
+    @Builder.Default
+    private long rejectedRecords = 0;
+
+    @Builder.Default
+    private long duplicateRecords = 0;
+
+    @Column(length = 1000)
+    private String failureMessage;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (id == null) {
+            id = "IMP" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+        }
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bankingsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The state of every account as of a point in the event stream, encoded as one binary
+ * value so it loads in a single read. It covers all events up to {@code lastSequence}
+ * recorded before {@code cutoff}; replay continues with every later event and every
+ * event recorded from the cutoff on, which catches transactions still in flight when
+ * the snapshot was taken.
+ */
+@Entity
+@Table(name = "account_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private long lastSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(nullable = false)
+    private int accountCount;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] state;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bankingsystem.entity;
+
+import com.example.bankingsystem.eventstore.AccountState;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed or long-inactive account moved out of {@code bank_accounts}. Only the keys it is
+ * looked up by and its status are columns; everything else is one compact binary value.
+ */
+@Entity
+@Table(name = "archived_accounts", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "accountNumber")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAccount implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false, length = 20)
+    private String accountNumber;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private BankAccount.AccountStatus status;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] state;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Archived rows are only ever inserted, so save() need not look for an existing one first
+    @Transient
+    @Builder.Default
+    private boolean newRow = true;
+
+    public static ArchivedAccount of(BankAccount account) {
+        return ArchivedAccount.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .status(account.getStatus())
+                .state(AccountState.of(account).toBytes())
+                .archivedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public BankAccount toAccount() {
+        return AccountState.fromBytes(state).toAccount();
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markStored() {
+        newRow = false;
+    }
+}
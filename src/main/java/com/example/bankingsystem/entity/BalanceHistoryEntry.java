@@ -0,0 +1,72 @@
+package com.example.bankingsystem.entity;
+
+import com.example.bankingsystem.event.AccountChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One change to an account's balance, written in the same transaction as the change.
+ * Each entry carries the balance after the change, so the balance at any point in time is
+ * that of the last entry before it, found with a single index seek.
+ */
+@Entity
+@Table(name = "balance_history", indexes = {
+    // Covers statement and as-of queries, so they read the index only
+    @Index(name = "idx_balance_history_account_time",
+           columnList = "accountNumber, occurredAt, id, type, delta, balance")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_history_sequence")
+    @SequenceGenerator(name = "balance_history_sequence", sequenceName = "balance_history_sequence", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private AccountChangedEvent.Type type;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal delta;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * Whether the event changes a balance: account creation with its opening balance, and
+     * both halves of a transfer
+     */
+    public static boolean records(AccountChangedEvent event) {
+        return switch (event.getType()) {
+            case CREATED, DEBITED, CREDITED -> true;
+            default -> false;
+        };
+    }
+
+    public static BalanceHistoryEntry from(AccountChangedEvent event) {
+        BigDecimal previousBalance = event.getPreviousBalance() != null ? event.getPreviousBalance() : BigDecimal.ZERO;
+        return BalanceHistoryEntry.builder()
+                .accountNumber(event.getAccountNumber())
+                .occurredAt(event.getOccurredAt())
+                .type(event.getType())
+                .delta(event.getBalance().subtract(previousBalance))
+                .balance(event.getBalance())
+                .build();
+    }
+}
@@ -8,13 +8,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "bank_accounts", uniqueConstraints = {
     @UniqueConstraint(columnNames = "accountNumber")
+}, indexes = {
+    @Index(name = "idx_bank_accounts_balance", columnList = "balance"),
+    @Index(name = "idx_bank_accounts_created_at", columnList = "createdAt"),
+    @Index(name = "idx_bank_accounts_updated_at", columnList = "updatedAt")
 })
+@EntityListeners(AccountIdAssigner.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -65,37 +70,27 @@ public class BankAccount {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // The ID itself is assigned by AccountIdAssigner before this callback runs.
+    // Accounts restored from the archive keep their original creation time.
     @PrePersist
     protected void onCreate() {
-        if (id == null) {
-            id = generateAccountId();
+        if (createdAt == null) {
+            createdAt = now();
         }
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
-    }
-
-    /**
-     * Generates a unique account ID that's hard to guess
-     * Format: ACC + 12-character random alphanumeric string
-     * Example: ACCA1B2C3D4E5
-     */
-    private static String generateAccountId() {
-        String prefix = "ACC";
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        SecureRandom random = new SecureRandom();
-        StringBuilder sb = new StringBuilder(prefix);
-
-        for (int i = 0; i < 12; i++) {
-            int randomIndex = random.nextInt(characters.length());
-            sb.append(characters.charAt(randomIndex));
-        }
-
-        return sb.toString();
+        updatedAt = now();
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+    }
+
+    /**
+     * The current time at the precision the columns store, so an account's updatedAt is the
+     * same before and after a round trip to the database. It serves as the account's version.
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public enum AccountStatus {
@@ -0,0 +1,68 @@
+package com.example.bankingsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Coordinator log of a transfer between accounts on different shards, kept on the home shard.
+ * A row exists once both shards have prepared their half, and is the decision to commit:
+ * after a crash, prepared transactions with a row are committed and all others rolled back.
+ */
+@Entity
+@Table(name = "cross_shard_transfers")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrossShardTransfer {
+
+    // Also the name of the prepared transaction on both shards
+    @Id
+    @Column(length = 40)
+    private String id;
+
+    @Column(nullable = false, length = 20)
+    private String fromAccountNumber;
+
+    @Column(nullable = false, length = 20)
+    private String toAccountNumber;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    private int fromShard;
+
+    private int toShard;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        COMMITTING,
+        COMPLETED
+    }
+}
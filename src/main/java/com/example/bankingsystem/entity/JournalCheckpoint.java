@@ -0,0 +1,39 @@
+package com.example.bankingsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a journal has been applied to this database. Updated in the same transaction as
+ * the balances it covers, so after a crash exactly the records past it are applied again.
+ * When sharded, each shard keeps its own checkpoint for the halves of transfers it owns.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalCheckpoint {
+
+    @Id
+    @Column(length = 40)
+    private String journal;
+
+    @Column(nullable = false)
+    private long appliedSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bankingsystem.entity;
+
+import java.security.SecureRandom;
+
+/**
+ * Original strategy: ACC + 12 random alphanumeric characters, e.g. ACCA1B2C3D4E5F6.
+ * Unguessable, but random keys scatter inserts across the primary key index.
+ */
+public class RandomAccountIdGenerator implements AccountIdGenerator {
+
+    private static final char[] CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    // Seeded once per thread instead of per ID so bursts never wait on entropy
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Override
+    public String nextId() {
+        SecureRandom random = RANDOM.get();
+        char[] id = new char[PREFIX.length() + 12];
+        PREFIX.getChars(0, PREFIX.length(), id, 0);
+        for (int i = PREFIX.length(); i < id.length; i++) {
+            id[i] = CHARACTERS[random.nextInt(CHARACTERS.length)];
+        }
+        return new String(id);
+    }
+}
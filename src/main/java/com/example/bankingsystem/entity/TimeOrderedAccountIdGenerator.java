@@ -0,0 +1,79 @@
+package com.example.bankingsystem.entity;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered strategy: ACC + 10 chars of millisecond timestamp + 5 chars of node and
+ * sequence + 8 random chars, all in Crockford base32 so IDs sort by creation time.
+ * New rows land at the right edge of the primary key index instead of random pages,
+ * while the 40-bit random suffix keeps IDs unguessable.
+ *
+ * <p>The timestamp and per-millisecond sequence are packed into one {@link AtomicLong}
+ * and advanced with compare-and-set, so generation is lock-free and strictly
+ * increasing per node even if the wall clock moves backwards.
+ */
+public class TimeOrderedAccountIdGenerator implements AccountIdGenerator {
+
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final long nodeId;
+    private final Clock clock;
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedAccountIdGenerator(long nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    public TimeOrderedAccountIdGenerator(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        long state = nextState();
+        long timestamp = state >>> SEQUENCE_BITS;
+        long nodeAndSequence = (nodeId << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+        long random = RANDOM.get().nextLong() & ((1L << 40) - 1);
+
+        char[] id = new char[PREFIX.length() + 23];
+        PREFIX.getChars(0, PREFIX.length(), id, 0);
+        encode(timestamp, id, PREFIX.length(), 10);
+        encode(nodeAndSequence, id, PREFIX.length() + 10, 5);
+        encode(random, id, PREFIX.length() + 15, 8);
+        return new String(id);
+    }
+
+    private long nextState() {
+        while (true) {
+            long previous = lastState.get();
+            long now = clock.millis() << SEQUENCE_BITS;
+            // Same or earlier millisecond: take the next sequence, borrowing from the future on overflow
+            long next = now > previous ? now : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static void encode(long value, char[] target, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = BASE32[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.bankingsystem.event;
+
+import com.example.bankingsystem.entity.BankAccount;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by the service layer whenever an account is changed.
+ * Listeners that maintain derived state should react after commit.
+ */
+@Value
+@Builder(toBuilder = true)
+public class AccountChangedEvent {
+
+    Type type;
+    String accountId;
+    String accountNumber;
+    // Contact details, only set on CREATED, UPDATED and RESTORED
+    String accountHolderName;
+    String email;
+    String phoneNumber;
+    String currency;
+    BankAccount.AccountStatus previousStatus;
+    BankAccount.AccountStatus status;
+    BigDecimal previousBalance;
+    BigDecimal balance;
+    LocalDateTime occurredAt;
+    // Set when the publisher has already appended the event to the event store
+    boolean stored;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DEBITED,
+        CREDITED,
+        STATUS_CHANGED,
+        DELETED,
+        // Moved to or from the archive; the account no longer or again lives in the account table
+        ARCHIVED,
+        RESTORED
+    }
+
+    public static AccountChangedEvent created(BankAccount account) {
+        return of(Type.CREATED, account, null, null);
+    }
+
+    public static AccountChangedEvent deleted(BankAccount account) {
+        return removed(Type.DELETED, account);
+    }
+
+    public static AccountChangedEvent archived(BankAccount account) {
+        return removed(Type.ARCHIVED, account);
+    }
+
+    public static AccountChangedEvent restored(BankAccount account) {
+        return of(Type.RESTORED, account, null, null);
+    }
+
+    private static AccountChangedEvent removed(Type type, BankAccount account) {
+        return AccountChangedEvent.builder()
+                .type(type)
+                .accountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .currency(account.getCurrency())
+                .previousStatus(account.getStatus())
+                .previousBalance(account.getBalance())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static AccountChangedEvent of(Type type, BankAccount account,
+                                         BankAccount.AccountStatus previousStatus, BigDecimal previousBalance) {
+        boolean contactDetails = type == Type.CREATED || type == Type.UPDATED || type == Type.RESTORED;
+        return AccountChangedEvent.builder()
+                .type(type)
+                .accountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .accountHolderName(contactDetails ? account.getAccountHolderName() : null)
+                .email(contactDetails ? account.getEmail() : null)
+                .phoneNumber(contactDetails ? account.getPhoneNumber() : null)
+                .currency(account.getCurrency())
+                .previousStatus(previousStatus)
+                .status(account.getStatus())
+                .previousBalance(previousBalance)
+                .balance(account.getBalance())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public AccountChangedEvent asStored() {
+        return toBuilder().stored(true).build();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.bankingsystem.eventstore;
+
+import com.example.bankingsystem.entity.AccountEvent;
+import com.example.bankingsystem.entity.AccountSnapshot;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.repository.AccountEventRepository;
+import com.example.bankingsystem.repository.AccountEventRow;
+import com.example.bankingsystem.repository.AccountSnapshotRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.example.bankingsystem.sharding.ShardContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of account changes with periodic snapshots. Every
+ * {@link AccountChangedEvent} is appended in the transaction that made the change, and
+ * the current state of all accounts can be rebuilt from the latest snapshot plus the
+ * events after it, without reading the account table. When sharded, each shard keeps
+ * the events and snapshots of its own accounts.
+ */
+@Service
+@Slf4j
+public class AccountEventStore {
+
+    private final AccountEventRepository eventRepository;
+    private final AccountSnapshotRepository snapshotRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountShards accountShards;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+
+    // Longest a transaction may run between recording an event and committing
+    @Value("${app.event-store.commit-horizon:5m}")
+    private Duration commitHorizon;
+
+    @Value("${app.event-store.snapshot-min-events:10000}")
+    private long snapshotMinEvents;
+
+    @Value("${app.event-store.snapshots-retained:2}")
+    private int snapshotsRetained;
+
+    @Value("${app.event-store.bootstrap-fetch-size:500}")
+    private int bootstrapFetchSize;
+
+    public AccountEventStore(AccountEventRepository eventRepository, AccountSnapshotRepository snapshotRepository,
+                             BankAccountRepository bankAccountRepository, AccountShards accountShards,
+                             PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountShards = accountShards;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Append the event within the publisher's transaction, so it commits or rolls back with the change
+     */
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!event.isStored()) {
+            eventRepository.save(AccountEvent.from(event));
+        }
+    }
+
+    /**
+     * Accounts that existed before the event store have no events. When a shard has
+     * accounts but neither events nor snapshots, take a baseline snapshot of the account
+     * table once. Runs before the read models are rebuilt from replay.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void bootstrap() {
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            int target = shard;
+            accountShards.onShard(target, () -> transaction.execute(status -> {
+                if (snapshotRepository.count() > 0 || eventRepository.count() > 0 || bankAccountRepository.count() == 0) {
+                    return null;
+                }
+                Map<String, AccountState> accounts = new HashMap<>();
+                // Streams every shard when sharded, so keep only this shard's accounts
+                try (Stream<BankAccount> rows = bankAccountRepository.streamAll(null, Sort.unsorted(), bootstrapFetchSize)) {
+                    rows.filter(account -> accountShards.shardOf(account.getAccountNumber()) == target)
+                            .forEach(account -> {
+                                accounts.put(account.getId(), AccountState.of(account));
+                                bankAccountRepository.detach(account);
+                            });
+                }
+                saveSnapshot(accounts, 0, LocalDateTime.now());
+                log.info("Took baseline snapshot of {} existing accounts on shard {}", accounts.size(), target);
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Rebuild the current state of every account from the latest snapshot and the events after it
+     * @return account states by account ID
+     */
+    public Map<String, AccountState> replay() {
+        Map<String, AccountState> accounts = new HashMap<>();
+        LocalDateTime asOf = LocalDateTime.now();
+        long started = System.nanoTime();
+        long events = 0;
+
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            events += accountShards.onShard(shard, () -> readOnlyTransaction.execute(status -> {
+                Optional<AccountSnapshot> snapshot = snapshotRepository.findFirstByOrderByIdDesc();
+                snapshot.ifPresent(taken -> decode(taken.getState(), accounts));
+                return applyEvents(accounts, snapshot.orElse(null), asOf).count();
+            }));
+        }
+
+        log.info("Replayed {} accounts from {} events in {} ms", accounts.size(), events,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return accounts;
+    }
+
+    /**
+     * Take a snapshot on each shard where enough events were recorded since the last one
+     */
+    @Scheduled(fixedDelayString = "${app.event-store.snapshot-interval:60000}",
+               initialDelayString = "${app.event-store.snapshot-interval:60000}")
+    public void takeSnapshots() {
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            accountShards.onShard(shard, () -> takeSnapshot(false));
+        }
+    }
+
+    /**
+     * Take a snapshot on the current shard by applying the events since the previous
+     * snapshot to it. Only events older than the commit horizon are included, so
+     * transactions still in flight are picked up by the next replay.
+     * @param force take it even if few events were recorded since the previous snapshot
+     * @return the new snapshot, or null if none was taken
+     */
+    public AccountSnapshot takeSnapshot(boolean force) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(commitHorizon);
+
+        AccountSnapshot taken = transaction.execute(status -> {
+            Optional<AccountSnapshot> previous = snapshotRepository.findFirstByOrderByIdDesc();
+            long since = previous.map(AccountSnapshot::getLastSequence).orElse(0L);
+            if (!force && eventRepository.countBySequenceGreaterThan(since) < snapshotMinEvents) {
+                return null;
+            }
+
+            Map<String, AccountState> accounts = new HashMap<>();
+            previous.ifPresent(snapshot -> decode(snapshot.getState(), accounts));
+            Applied applied = applyEvents(accounts, previous.orElse(null), cutoff);
+
+            AccountSnapshot snapshot = saveSnapshot(accounts, applied.highestSequence(), cutoff);
+            List<Long> retained = snapshotRepository.findNewestIds(PageRequest.of(0, snapshotsRetained));
+            snapshotRepository.deleteOlderThan(retained.get(retained.size() - 1));
+            return snapshot;
+        });
+
+        if (taken != null) {
+            log.info("Took snapshot of {} accounts up to event {} on shard {}", taken.getAccountCount(),
+                    taken.getLastSequence(), ShardContext.current());
+        }
+        return taken;
+    }
+
+    /**
+     * Apply the events not covered by the snapshot, or all events if there is none, recorded before the given time
+     */
+    private Applied applyEvents(Map<String, AccountState> accounts, AccountSnapshot snapshot,
+                                LocalDateTime recordedBefore) {
+        long count = 0;
+        long highestSequence = snapshot != null ? snapshot.getLastSequence() : 0;
+        try (Stream<AccountEventRow> events = snapshot == null
+                ? eventRepository.streamRecordedBefore(recordedBefore)
+                : eventRepository.streamTail(snapshot.getLastSequence(), snapshot.getCutoff(), recordedBefore)) {
+            Iterator<AccountEventRow> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                AccountEventRow event = iterator.next();
+                apply(accounts, event);
+                count++;
+                highestSequence = Math.max(highestSequence, event.sequence());
+            }
+        }
+        return new Applied(count, highestSequence);
+    }
+
+    static void apply(Map<String, AccountState> accounts, AccountEventRow event) {
+        switch (event.type()) {
+            case CREATED, RESTORED -> accounts.put(event.accountId(), AccountState.created(event));
+            case DELETED, ARCHIVED -> accounts.remove(event.accountId());
+            default -> {
+                AccountState state = accounts.get(event.accountId());
+                if (state != null) {
+                    state.apply(event);
+                } else {
+                    accounts.put(event.accountId(), AccountState.created(event));
+                }
+            }
+        }
+    }
+
+    private record Applied(long count, long highestSequence) {
+    }
+
+    private AccountSnapshot saveSnapshot(Map<String, AccountState> accounts, long lastSequence, LocalDateTime cutoff) {
+        return snapshotRepository.save(AccountSnapshot.builder()
+                .lastSequence(lastSequence)
+                .cutoff(cutoff)
+                .accountCount(accounts.size())
+                .state(encode(accounts))
+                .build());
+    }
+
+    static byte[] encode(Map<String, AccountState> accounts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(accounts.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(accounts.size());
+            for (AccountState state : accounts.values()) {
+                state.write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void decode(byte[] state, Map<String, AccountState> accounts) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                AccountState account = AccountState.read(in);
+                accounts.put(account.getId(), account);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt account snapshot", e);
+        }
+    }
+}
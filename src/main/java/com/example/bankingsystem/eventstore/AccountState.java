@@ -0,0 +1,185 @@
+package com.example.bankingsystem.eventstore;
+
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.repository.AccountEventRow;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The state of one account rebuilt from its events. Mutable so replay applies each
+ * event in place; not thread-safe. Its binary encoding is also the row format of
+ * archived accounts.
+ */
+@Getter
+public final class AccountState {
+
+    private static final BankAccount.AccountStatus[] STATUSES = BankAccount.AccountStatus.values();
+
+    private final String id;
+    private final String accountNumber;
+    private String accountHolderName;
+    private String email;
+    private String phoneNumber;
+    private String currency;
+    private BankAccount.AccountStatus status;
+    private BigDecimal balance;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private AccountState(String id, String accountNumber) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+    }
+
+    public static AccountState of(BankAccount account) {
+        AccountState state = new AccountState(account.getId(), account.getAccountNumber());
+        state.accountHolderName = account.getAccountHolderName();
+        state.email = account.getEmail();
+        state.phoneNumber = account.getPhoneNumber();
+        state.currency = account.getCurrency();
+        state.status = account.getStatus();
+        state.balance = account.getBalance();
+        state.createdAt = account.getCreatedAt();
+        state.updatedAt = account.getUpdatedAt();
+        return state;
+    }
+
+    static AccountState created(AccountEventRow event) {
+        AccountState state = new AccountState(event.accountId(), event.accountNumber());
+        state.createdAt = event.occurredAt();
+        state.apply(event);
+        return state;
+    }
+
+    /**
+     * Apply a change other than deletion. Contact details are only carried by
+     * creations, updates and restores, so they are left alone when absent.
+     */
+    void apply(AccountEventRow event) {
+        if (event.accountHolderName() != null) {
+            accountHolderName = event.accountHolderName();
+            email = event.email();
+            phoneNumber = event.phoneNumber();
+        }
+        if (event.currency() != null) {
+            currency = event.currency();
+        }
+        if (event.status() != null) {
+            status = event.status();
+        }
+        if (event.balance() != null) {
+            balance = event.balance();
+        }
+        updatedAt = event.occurredAt();
+    }
+
+    /**
+     * The account as a detached entity, e.g. to serve an archived account like any other
+     */
+    public BankAccount toAccount() {
+        return BankAccount.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .accountHolderName(accountHolderName)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .currency(currency)
+                .status(status)
+                .balance(balance)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static AccountState fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt account state", e);
+        }
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(id);
+        out.writeUTF(accountNumber);
+        writeString(out, accountHolderName);
+        writeString(out, email);
+        writeString(out, phoneNumber);
+        writeString(out, currency);
+        out.writeByte(status != null ? status.ordinal() : -1);
+        if (balance != null) {
+            byte[] unscaled = balance.unscaledValue().toByteArray();
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+            out.writeByte(balance.scale());
+        } else {
+            out.writeByte(0);
+        }
+        writeTime(out, createdAt);
+        writeTime(out, updatedAt);
+    }
+
+    static AccountState read(DataInput in) throws IOException {
+        AccountState state = new AccountState(in.readUTF(), in.readUTF());
+        state.accountHolderName = readString(in);
+        state.email = readString(in);
+        state.phoneNumber = readString(in);
+        state.currency = readString(in);
+        byte status = in.readByte();
+        state.status = status >= 0 ? STATUSES[status] : null;
+        int length = in.readUnsignedByte();
+        if (length > 0) {
+            byte[] unscaled = new byte[length];
+            in.readFully(unscaled);
+            state.balance = new BigDecimal(new BigInteger(unscaled), in.readByte());
+        }
+        state.createdAt = readTime(in);
+        state.updatedAt = readTime(in);
+        return state;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
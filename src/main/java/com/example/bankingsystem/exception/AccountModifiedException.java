@@ -0,0 +1,13 @@
+package com.example.bankingsystem.exception;
+
+public class AccountModifiedException extends BankAccountException {
+
+    public AccountModifiedException(String accountNumber) {
+        super("Account " + accountNumber + " has been modified since it was last read");
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.PRECONDITION_FAILED;
+    }
+}
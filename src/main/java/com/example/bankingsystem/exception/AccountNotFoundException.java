@@ -3,6 +3,11 @@ package com.example.bankingsystem.exception;
 public class AccountNotFoundException extends BankAccountException {
 
     public AccountNotFoundException(String accountNumber) {
-        super("Account not found with account number: " + accountNumber);
+        super("Account not found with account number: " + accountNumber, false);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.ACCOUNT_NOT_FOUND;
     }
 }
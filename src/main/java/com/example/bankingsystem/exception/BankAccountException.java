@@ -9,4 +9,19 @@ public class BankAccountException extends RuntimeException {
     public BankAccountException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * For expected business rejections, which are frequent under load and whose stack trace
+     * says nothing the message does not; without one they cost little more than any object
+     */
+    protected BankAccountException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * @return how the exception is reported to clients
+     */
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.BANK_ACCOUNT_ERROR;
+    }
 }
@@ -5,4 +5,9 @@ public class DuplicateAccountException extends BankAccountException {
     public DuplicateAccountException(String accountNumber) {
         super("Account already exists with account number: " + accountNumber);
     }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.DUPLICATE_ACCOUNT;
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.bankingsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fixed part of each error response: its status and error title. Responses are made
+ * from these, so an error is reported the same way whether it was thrown to
+ * {@link GlobalExceptionHandler} or returned as a rejection.
+ */
+public enum ErrorTemplate {
+
+    ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND, "Account Not Found"),
+    IMPORT_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "Import Job Not Found"),
+    DUPLICATE_ACCOUNT(HttpStatus.CONFLICT, "Duplicate Account"),
+    INSUFFICIENT_FUNDS(HttpStatus.BAD_REQUEST, "Insufficient Funds"),
+    ACCOUNT_INACTIVE(HttpStatus.BAD_REQUEST, "Account Inactive"),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "Precondition Failed"),
+    INVALID_SEARCH_CRITERIA(HttpStatus.BAD_REQUEST, "Invalid Search Criteria"),
+    VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "Validation Error"),
+    BANK_ACCOUNT_ERROR(HttpStatus.BAD_REQUEST, "Bank Account Error"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable"),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+
+    private final HttpStatus status;
+    private final String error;
+
+    ErrorTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.error = error;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public ErrorResponse toResponse(String message) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .build();
+    }
+
+    public ResponseEntity<ErrorResponse> respond(String message) {
+        return new ResponseEntity<>(toResponse(message), status);
+    }
+}
@@ -1,14 +1,13 @@
 package com.example.bankingsystem.exception;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,49 +18,52 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleAccountNotFoundException(AccountNotFoundException ex) {
         log.warn("Account not found: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error("Account Not Found")
-                .message(ex.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return ErrorTemplate.ACCOUNT_NOT_FOUND.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(ImportJobNotFoundException ex) {
+        log.warn("Import job not found: {}", ex.getMessage());
+        return ErrorTemplate.IMPORT_JOB_NOT_FOUND.respond(ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateAccountException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateAccountException(DuplicateAccountException ex) {
         log.warn("Duplicate account: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.CONFLICT.value())
-                .error("Duplicate Account")
-                .message(ex.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        return ErrorTemplate.DUPLICATE_ACCOUNT.respond(ex.getMessage());
     }
 
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientFundsException(InsufficientFundsException ex) {
         log.warn("Insufficient funds: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Insufficient Funds")
-                .message(ex.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return ErrorTemplate.INSUFFICIENT_FUNDS.respond(ex.getMessage());
     }
 
     @ExceptionHandler(AccountInactiveException.class)
     public ResponseEntity<ErrorResponse> handleAccountInactiveException(AccountInactiveException ex) {
         log.warn("Account inactive: {}", ex.getMessage());
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Account Inactive")
-                .message(ex.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return ErrorTemplate.ACCOUNT_INACTIVE.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(AccountModifiedException.class)
+    public ResponseEntity<ErrorResponse> handleAccountModifiedException(AccountModifiedException ex) {
+        log.warn("Account modified: {}", ex.getMessage());
+        return ErrorTemplate.PRECONDITION_FAILED.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchCriteriaException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSearchCriteriaException(InvalidSearchCriteriaException ex) {
+        log.warn("Invalid search criteria: {}", ex.getMessage());
+        return ErrorTemplate.INVALID_SEARCH_CRITERIA.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReadCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleReadCapacityExceededException(ReadCapacityExceededException ex) {
+        log.debug("Read capacity exceeded: {}", ex.getMessage());
+        ErrorTemplate template = ErrorTemplate.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(template.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(template.toResponse(ex.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -74,37 +76,20 @@ public class GlobalExceptionHandler {
         });
 
         log.warn("Validation errors: {}", errors);
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Validation Error")
-                .message("Input validation failed")
-                .validationErrors(errors)
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        ErrorResponse error = ErrorTemplate.VALIDATION_ERROR.toResponse("Input validation failed");
+        error.setValidationErrors(errors);
+        return new ResponseEntity<>(error, ErrorTemplate.VALIDATION_ERROR.getStatus());
     }
 
     @ExceptionHandler(BankAccountException.class)
     public ResponseEntity<ErrorResponse> handleBankAccountException(BankAccountException ex) {
         log.error("Bank account error: {}", ex.getMessage(), ex);
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Bank Account Error")
-                .message(ex.getMessage())
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return ex.getErrorTemplate().respond(ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error("Internal Server Error")
-                .message("An unexpected error occurred")
-                .build();
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ErrorTemplate.INTERNAL_SERVER_ERROR.respond("An unexpected error occurred");
     }
 }
@@ -0,0 +1,13 @@
+package com.example.bankingsystem.exception;
+
+public class ImportJobNotFoundException extends BankAccountException {
+
+    public ImportJobNotFoundException(String jobId) {
+        super("Import job not found with ID: " + jobId);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.IMPORT_JOB_NOT_FOUND;
+    }
+}
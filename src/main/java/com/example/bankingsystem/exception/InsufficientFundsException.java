@@ -6,6 +6,11 @@ public class InsufficientFundsException extends BankAccountException {
 
     public InsufficientFundsException(String accountNumber, BigDecimal requestedAmount, BigDecimal availableBalance) {
         super(String.format("Insufficient funds in account %s. Requested: %s, Available: %s",
-                accountNumber, requestedAmount, availableBalance));
+                accountNumber, requestedAmount, availableBalance), false);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.INSUFFICIENT_FUNDS;
     }
 }
@@ -0,0 +1,13 @@
+package com.example.bankingsystem.exception;
+
+public class InvalidSearchCriteriaException extends BankAccountException {
+
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.INVALID_SEARCH_CRITERIA;
+    }
+}
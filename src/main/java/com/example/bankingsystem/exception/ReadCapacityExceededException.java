@@ -0,0 +1,17 @@
+package com.example.bankingsystem.exception;
+
+/**
+ * Thrown when a read cannot be answered from the cache and the pool for database reads
+ * is already working through as many as it may queue
+ */
+public class ReadCapacityExceededException extends BankAccountException {
+
+    public ReadCapacityExceededException() {
+        super("Too many reads waiting for the database, try again shortly", false);
+    }
+
+    @Override
+    public ErrorTemplate getErrorTemplate() {
+        return ErrorTemplate.SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.bankingsystem.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * One journal file of a fixed number of record slots, memory-mapped for its whole length.
+ * The file is named after the sequence number of its first record and is filled in order;
+ * the journal guards all access, so this class is not thread-safe.
+ */
+final class JournalSegment {
+
+    private static final String PREFIX = "transfers-";
+    private static final String SUFFIX = ".journal";
+    private static final byte[] ZEROS = new byte[64 * TransferRecord.SIZE];
+
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    // Records written, and how many of them are known to be on disk
+    private int count;
+    private int forced;
+
+    private JournalSegment(Path path, long firstSequence, int capacity) throws IOException {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * TransferRecord.SIZE);
+        }
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int capacity) throws IOException {
+        return new JournalSegment(directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX)),
+                firstSequence, capacity);
+    }
+
+    static JournalSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long firstSequence = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        return new JournalSegment(path, firstSequence, (int) (Files.size(path) / TransferRecord.SIZE));
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    /**
+     * Read the records from the start of the segment until the first slot that is empty,
+     * torn, or out of sequence. The slots from there on are cleared, so records written
+     * past a torn one before a crash cannot be read back after later appends.
+     * @return the number of intact records
+     */
+    int recover(Consumer<TransferRecord> consumer) throws IOException {
+        int intact = 0;
+        while (intact < capacity) {
+            TransferRecord record = TransferRecord.read(buffer, intact * TransferRecord.SIZE);
+            if (record == null || record.sequence() != firstSequence + intact) {
+                break;
+            }
+            consumer.accept(record);
+            intact++;
+        }
+        count = intact;
+        forced = intact;
+
+        if (intact < capacity) {
+            int end = capacity * TransferRecord.SIZE;
+            for (int offset = intact * TransferRecord.SIZE; offset < end; offset += ZEROS.length) {
+                buffer.put(offset, ZEROS, 0, Math.min(ZEROS.length, end - offset));
+            }
+            buffer.force();
+        }
+        return intact;
+    }
+
+    void append(TransferRecord record) {
+        record.write(buffer, count * TransferRecord.SIZE);
+        count++;
+    }
+
+    /**
+     * Write the records appended up to the given count to disk
+     */
+    void force(int upTo) {
+        if (upTo > forced) {
+            buffer.force(forced * TransferRecord.SIZE, (upTo - forced) * TransferRecord.SIZE);
+            forced = upTo;
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return firstSequence + count - 1;
+    }
+
+    Path path() {
+        return path;
+    }
+}
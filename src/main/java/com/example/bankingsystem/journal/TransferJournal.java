@@ -0,0 +1,300 @@
+package com.example.bankingsystem.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead journal of transfers in memory-mapped segment files. Appending only copies
+ * the record into the mapped segment; a single flusher thread then forces everything
+ * appended so far to disk in one call, so concurrent transfers share the cost of each
+ * force. Records are handed to the durable-record consumer in sequence order once forced.
+ * Segments are deleted once the caller reports their records as applied elsewhere.
+ */
+@Slf4j
+public class TransferJournal implements AutoCloseable {
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final Consumer<TransferRecord> durableConsumer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition forced = lock.newCondition();
+
+    // Guarded by lock
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();
+    private final List<TransferRecord> unforced = new ArrayList<>();
+    private long nextSequence = 1;
+    private long durableSequence;
+    private boolean open;
+    private Throwable failure;
+
+    private Thread flusher;
+    private long forceCount;
+
+    /**
+     * @param segmentRecords record slots per segment file
+     * @param durableConsumer receives each record, in sequence order, once it is on disk;
+     *                        called on the flusher thread, which it may block to apply back-pressure
+     */
+    public TransferJournal(Path directory, int segmentRecords, Consumer<TransferRecord> durableConsumer) {
+        if (segmentRecords < 1) {
+            throw new IllegalArgumentException("A segment must hold at least one record");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.durableConsumer = durableConsumer;
+    }
+
+    /**
+     * Scan the existing segments and open the journal for appends. Recovery stops at the
+     * first record that is missing, torn or out of sequence: segments after it are deleted
+     * and appends continue in its place.
+     * @param minimumNextSequence lowest sequence number the next append may take, so numbers
+     *                            already applied elsewhere are not reused if segments were lost
+     * @param recovered receives every intact record, in sequence order
+     * @return the highest recovered sequence number, or 0 if there were none
+     */
+    public long open(long minimumNextSequence, Consumer<TransferRecord> recovered) throws IOException {
+        lock.lock();
+        try {
+            if (open) {
+                throw new IllegalStateException("The journal is already open");
+            }
+            Files.createDirectories(directory);
+            List<Path> paths;
+            try (Stream<Path> files = Files.list(directory)) {
+                paths = files.filter(JournalSegment::isSegment).sorted().toList();
+            }
+
+            long expected = -1;
+            boolean intact = true;
+            for (Path path : paths) {
+                JournalSegment segment = JournalSegment.open(path);
+                if (!intact || (expected >= 0 && segment.firstSequence() != expected)) {
+                    log.warn("Deleting journal segment {} after the end of the intact journal", path);
+                    segment.delete();
+                    intact = false;
+                    continue;
+                }
+                int records = segment.recover(recovered);
+                segments.add(segment);
+                expected = segment.firstSequence() + records;
+                intact = segment.isFull();
+                if (!intact) {
+                    log.info("Journal ends at sequence {} in {}", expected - 1, path);
+                }
+            }
+
+            long lastSequence = expected > 0 ? expected - 1 : 0;
+            nextSequence = Math.max(lastSequence + 1, minimumNextSequence);
+            if (nextSequence != lastSequence + 1 && !segments.isEmpty()) {
+                log.warn("Journal ends at sequence {} but {} were already applied; starting a new segment",
+                        lastSequence, minimumNextSequence - 1);
+                // Appends must stay contiguous within a segment
+                segments.add(JournalSegment.create(directory, nextSequence, segmentRecords));
+            }
+            durableSequence = nextSequence - 1;
+
+            flusher = new Thread(this::flushLoop, "transfer-journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+            open = true;
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give the transfer the next sequence number and copy it into the current segment.
+     * The record is not durable until {@link #awaitDurable(long)} returns for it.
+     */
+    public TransferRecord append(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        TransferRecord.validate(fromAccountNumber, toAccountNumber, amount);
+        lock.lock();
+        try {
+            checkWritable();
+            JournalSegment segment = segments.peekLast();
+            if (segment == null || segment.isFull()) {
+                segment = JournalSegment.create(directory, nextSequence, segmentRecords);
+                segments.add(segment);
+            }
+            TransferRecord record = new TransferRecord(nextSequence, System.currentTimeMillis(),
+                    fromAccountNumber, toAccountNumber, amount);
+            segment.append(record);
+            nextSequence++;
+            unforced.add(record);
+            appended.signal();
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the record with the given sequence number has been forced to disk
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                forced.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new IllegalStateException("The transfer journal failed; the transfer may not be durable",
+                        failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delete the segments whose records have all been applied
+     * @param appliedSequence highest sequence number applied, with all before it
+     */
+    public void release(long appliedSequence) {
+        List<JournalSegment> released = new ArrayList<>();
+        lock.lock();
+        try {
+            // The newest segment is kept for appends
+            while (segments.size() > 1 && segments.peekFirst().lastSequence() <= Math.min(appliedSequence, durableSequence)) {
+                released.add(segments.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (JournalSegment segment : released) {
+            try {
+                segment.delete();
+                log.debug("Deleted applied journal segment {}", segment.path());
+            } catch (IOException e) {
+                log.warn("Could not delete applied journal segment {}", segment.path(), e);
+            }
+        }
+    }
+
+    public long getDurableSequence() {
+        lock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getForceCount() {
+        lock.lock();
+        try {
+            return forceCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop taking appends, force what was appended and hand it to the consumer
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            appended.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new IllegalStateException("The transfer journal failed and takes no more transfers", failure);
+        }
+        if (!open) {
+            throw new IllegalStateException("The transfer journal is not open");
+        }
+    }
+
+    /**
+     * Force whatever was appended since the last force, then release the waiting transfers
+     * and hand the records on. Appends continue while a force is in progress and are
+     * picked up by the next one.
+     */
+    private void flushLoop() {
+        while (true) {
+            List<TransferRecord> batch;
+            List<JournalSegment> dirty = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            lock.lock();
+            try {
+                while (unforced.isEmpty() && open) {
+                    appended.awaitUninterruptibly();
+                }
+                if (unforced.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(unforced);
+                unforced.clear();
+                // Only the segments the batch was written to, which may include a rolled-over one
+                for (JournalSegment segment : segments) {
+                    if (segment.lastSequence() >= batch.get(0).sequence()) {
+                        dirty.add(segment);
+                        counts.add(segment.count());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (int i = 0; i < dirty.size(); i++) {
+                    dirty.get(i).force(counts.get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                log.error("Could not force the transfer journal to disk; no more transfers are taken", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    forced.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durableSequence = batch.get(batch.size() - 1).sequence();
+                forceCount++;
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            batch.forEach(durableConsumer);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.bankingsystem.journal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * A transfer as written to the journal. Every record takes {@link #SIZE} bytes, so records
+ * are written and found by position, and ends with a checksum so a torn write is detected.
+ */
+public record TransferRecord(long sequence, long recordedAt, String fromAccountNumber, String toAccountNumber,
+                             BigDecimal amount) {
+
+    public static final int SIZE = 96;
+
+    // Layout: sequence, recordedAt, two length-prefixed account numbers, unscaled amount, scale, padding, checksum
+    private static final int ACCOUNT_NUMBER_BYTES = 24;
+    private static final int FROM = 16;
+    private static final int TO = FROM + 1 + ACCOUNT_NUMBER_BYTES;
+    private static final int AMOUNT = TO + 1 + ACCOUNT_NUMBER_BYTES;
+    private static final int SCALE = AMOUNT + Long.BYTES;
+    private static final int CHECKSUM = SIZE - Integer.BYTES;
+
+    /**
+     * Encode the record into the buffer at the given byte offset, leaving the buffer's position alone
+     */
+    void write(ByteBuffer buffer, int offset) {
+        ByteBuffer record = ByteBuffer.allocate(SIZE);
+        record.putLong(0, sequence);
+        record.putLong(8, recordedAt);
+        putAccountNumber(record, FROM, fromAccountNumber);
+        putAccountNumber(record, TO, toAccountNumber);
+        record.putLong(AMOUNT, amount.unscaledValue().longValueExact());
+        record.put(SCALE, (byte) amount.scale());
+        record.putInt(CHECKSUM, checksum(record.array()));
+        buffer.put(offset, record.array());
+    }
+
+    /**
+     * Decode the record at the given byte offset
+     * @return the record, or null if the slot is empty or was not completely written
+     */
+    static TransferRecord read(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[SIZE];
+        buffer.get(offset, bytes);
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        long sequence = record.getLong(0);
+        if (sequence == 0 || record.getInt(CHECKSUM) != checksum(bytes)) {
+            return null;
+        }
+        return new TransferRecord(sequence, record.getLong(8),
+                getAccountNumber(record, FROM), getAccountNumber(record, TO),
+                new BigDecimal(BigInteger.valueOf(record.getLong(AMOUNT)), record.get(SCALE)));
+    }
+
+    /**
+     * Check that a transfer can be encoded before it is given a sequence number
+     */
+    static void validate(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        if (fromAccountNumber.getBytes(StandardCharsets.UTF_8).length > ACCOUNT_NUMBER_BYTES
+                || toAccountNumber.getBytes(StandardCharsets.UTF_8).length > ACCOUNT_NUMBER_BYTES) {
+            throw new IllegalArgumentException("Account numbers longer than " + ACCOUNT_NUMBER_BYTES
+                    + " bytes cannot be journaled");
+        }
+        if (amount.unscaledValue().bitLength() > 63 || amount.scale() < 0 || amount.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount cannot be journaled: " + amount);
+        }
+    }
+
+    private static void putAccountNumber(ByteBuffer record, int offset, String accountNumber) {
+        byte[] bytes = accountNumber.getBytes(StandardCharsets.UTF_8);
+        record.put(offset, (byte) bytes.length);
+        record.put(offset + 1, bytes);
+    }
+
+    private static String getAccountNumber(ByteBuffer record, int offset) {
+        byte[] bytes = new byte[record.get(offset)];
+        record.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, 0, CHECKSUM);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bankingsystem.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Times row lock acquisition and counts lock timeouts, deadlocks and the retries they cause.
+ * Meters are tagged with the name of the lock site, such as {@code transfer}.
+ */
+@Component
+public class LockMetrics {
+
+    public static final String WAIT = "banking.lock.wait";
+    public static final String FAILURES = "banking.lock.failures";
+    public static final String RETRIES = "banking.lock.retries";
+
+    static final String DEADLOCK = "deadlock";
+    static final String TIMEOUT = "timeout";
+    static final String OTHER = "other";
+
+    // SQLSTATE class 40 is transaction rollback: deadlocks and serialization failures
+    private static final String TRANSACTION_ROLLBACK_CLASS = "40";
+
+    private final MeterRegistry meterRegistry;
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a locking query, recording how long it waited and whether it timed out or deadlocked
+     * @param lock the lock site
+     * @param locking the query taking the locks
+     * @return the query's result
+     */
+    public <T> T time(String lock, Supplier<T> locking) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return locking.get();
+        } catch (RuntimeException e) {
+            String cause = causeOf(e);
+            if (!OTHER.equals(cause)) {
+                Counter.builder(FAILURES).tag("lock", lock).tag("cause", cause).register(meterRegistry).increment();
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(WAIT).tag("lock", lock).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Count a retry of work that failed, tagged with whether a deadlock or lock timeout caused it
+     */
+    public void retried(String lock, Throwable failure) {
+        Counter.builder(RETRIES).tag("lock", lock).tag("cause", causeOf(failure)).register(meterRegistry).increment();
+    }
+
+    static String causeOf(Throwable failure) {
+        if (NestedExceptionUtils.getMostSpecificCause(failure) instanceof SQLException sql
+                && sql.getSQLState() != null && sql.getSQLState().startsWith(TRANSACTION_ROLLBACK_CLASS)) {
+            return DEADLOCK;
+        }
+        if (failure instanceof PessimisticLockingFailureException || failure instanceof PessimisticLockException
+                || failure instanceof LockTimeoutException) {
+            return TIMEOUT;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bankingsystem.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Connection pool metrics ({@code hikaricp.connections.acquire}, {@code .usage}, {@code .pending}
+ * and so on, tagged with the pool name) for pools that are not beans of their own, such as
+ * replica and shard pools, which Spring Boot does not instrument
+ */
+public final class PoolMetrics {
+
+    private PoolMetrics() {
+    }
+
+    /**
+     * Must be called before the pool hands out its first connection
+     */
+    public static void instrument(HikariDataSource pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+}
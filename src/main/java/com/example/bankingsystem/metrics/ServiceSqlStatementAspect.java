@@ -0,0 +1,36 @@
+package com.example.bankingsystem.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements run by each {@code BankAccountService} call. Ordered outside the
+ * transaction and cache advice, so statements flushed on commit are counted and cache hits
+ * count as none.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceSqlStatementAspect {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    public ServiceSqlStatementAspect(SqlStatementMetrics sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    @Around("execution(* com.example.bankingsystem.service.BankAccountService.*(..))")
+    public Object count(ProceedingJoinPoint call) throws Throwable {
+        SqlStatementCollector.Scope scope = SqlStatementCollector.open();
+        try {
+            return call.proceed();
+        } finally {
+            scope.close();
+            sqlStatementMetrics.serviceCallCompleted("BankAccountService." + call.getSignature().getName(), scope);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bankingsystem.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Counts the SQL statements, rows and statement time of the work on the current thread.
+ * Work opens a scope, and every statement run while it is open is added to that scope and
+ * to the scopes around it, so a service call can be measured within a request.
+ */
+public final class SqlStatementCollector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCollector() {
+    }
+
+    /**
+     * Start counting on the current thread until the returned scope is closed
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void executed(String sql, long nanos, long rows) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.nanos += nanos;
+            scope.rows += rows;
+            scope.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void read(long rows) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows += rows;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        // Executions per statement shape, to spot the same query repeated once per row (N+1)
+        private final Map<String, Integer> executions = new HashMap<>();
+        private long statements;
+        private long rows;
+        private long nanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        /**
+         * Rows read from result sets plus rows reported changed by updates
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Time spent executing statements, excluding reading their results
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * The statement shape run most often in this scope, with how often it ran
+         */
+        public Optional<Map.Entry<String, Integer>> mostRepeated() {
+            return executions.entrySet().stream().max(Map.Entry.comparingByValue());
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
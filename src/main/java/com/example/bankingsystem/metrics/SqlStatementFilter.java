@@ -0,0 +1,41 @@
+package com.example.bankingsystem.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements run by each HTTP request, tagged with the matched URI pattern.
+ * Statements run after the request thread is released, such as by streamed responses, are not counted.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    public SqlStatementFilter(SqlStatementMetrics sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCollector.Scope scope = SqlStatementCollector.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatementMetrics.requestCompleted(request.getMethod(),
+                    pattern != null ? pattern.toString() : UNKNOWN_URI, scope);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bankingsystem.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the statements, rows and statement time of each HTTP request and service call,
+ * and warns when one runs more statements than its budget or repeats one statement often
+ * enough to suggest an N+1 query.
+ */
+@Component
+@Slf4j
+public class SqlStatementMetrics {
+
+    public static final String REQUEST = "banking.sql.request";
+    public static final String SERVICE = "banking.sql.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${app.sql.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    public SqlStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void requestCompleted(String method, String uri, SqlStatementCollector.Scope scope) {
+        record(REQUEST, Tags.of("method", method, "uri", uri), method + " " + uri, scope);
+    }
+
+    public void serviceCallCompleted(String operation, SqlStatementCollector.Scope scope) {
+        record(SERVICE, Tags.of("operation", operation), operation, scope);
+    }
+
+    private void record(String prefix, Tags tags, String description, SqlStatementCollector.Scope scope) {
+        DistributionSummary.builder(prefix + ".statements").tags(tags).register(meterRegistry)
+                .record(scope.getStatements());
+        DistributionSummary.builder(prefix + ".rows").tags(tags).register(meterRegistry)
+                .record(scope.getRows());
+        Timer.builder(prefix + ".time").tags(tags).register(meterRegistry)
+                .record(scope.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (scope.getStatements() > statementBudget) {
+            Counter.builder(prefix + ".over.budget").tags(tags).register(meterRegistry).increment();
+            log.warn("{} ran {} SQL statements, over its budget of {}", description, scope.getStatements(),
+                    statementBudget);
+        }
+        scope.mostRepeated()
+                .filter(repeated -> repeated.getValue() >= repeatThreshold)
+                .ifPresent(repeated -> log.warn("{} ran the same SQL statement {} times, a likely N+1 query: {}",
+                        description, repeated.getValue(), repeated.getKey()));
+    }
+}
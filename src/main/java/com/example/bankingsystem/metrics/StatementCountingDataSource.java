@@ -0,0 +1,152 @@
+package com.example.bankingsystem.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports every statement run through its connections to {@link SqlStatementCollector}, and
+ * logs statements slower than the threshold with their SQL. Prepared statements are logged
+ * with their placeholders, never with the values bound to them.
+ */
+@Slf4j
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final String UNKNOWN_SQL = "<batch>";
+
+    private final long slowQueryNanos;
+
+    public StatementCountingDataSource(DataSource target, Duration slowQueryThreshold) {
+        super(target);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // Proxies are keys in driver and Hibernate maps, so equality is by proxy identity
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        // Set for prepared statements; plain statements are given their SQL on execution
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+                return name.equals("getResultSet") && result != null ? wrapResultSet((ResultSet) result) : result;
+            }
+
+            String executed = sql != null ? sql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : UNKNOWN_SQL;
+            long started = System.nanoTime();
+            Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+            long nanos = System.nanoTime() - started;
+
+            SqlStatementCollector.executed(executed, nanos, changedRows(result));
+            if (nanos >= slowQueryNanos) {
+                log.warn("Slow SQL statement took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(nanos), executed);
+            }
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+        }
+
+        private long changedRows(Object result) {
+            long rows = 0;
+            if (result instanceof Integer count) {
+                rows = Math.max(count, 0);
+            } else if (result instanceof Long count) {
+                rows = Math.max(count, 0);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            return wrap(ResultSet.class, (proxy, method, args) -> {
+                Object result = StatementCountingDataSource.invoke(proxy, resultSet, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    SqlStatementCollector.read(1);
+                }
+                return result;
+            });
+        }
+    }
+}
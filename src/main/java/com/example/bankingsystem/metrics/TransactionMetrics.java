@@ -0,0 +1,100 @@
+package com.example.bankingsystem.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every transaction from begin to completion, and its commit separately, tagged with
+ * the transaction's name. {@code @Transactional} methods are named after their class and
+ * method; transactions from an unnamed {@code TransactionTemplate} are tagged {@code unnamed}.
+ * Registered with the transaction manager by Spring Boot.
+ */
+@Component
+public class TransactionMetrics implements TransactionExecutionListener {
+
+    public static final String DURATION = "banking.transaction.duration";
+    public static final String COMMIT = "banking.transaction.commit";
+
+    private static final String UNNAMED = "unnamed";
+
+    private final MeterRegistry meterRegistry;
+    // Keyed by identity; transaction statuses do not override equals
+    private final Map<TransactionExecution, Timing> running = new ConcurrentHashMap<>();
+
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            running.put(transaction, new Timing(System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        Timing timing = running.get(transaction);
+        if (timing != null) {
+            timing.committing = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        Timing timing = running.remove(transaction);
+        if (timing == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        String name = nameOf(transaction);
+        if (timing.committing != 0) {
+            Timer.builder(COMMIT).tag("name", name).register(meterRegistry)
+                    .record(now - timing.committing, TimeUnit.NANOSECONDS);
+        }
+        record(name, commitFailure == null ? "committed" : "commit_failed", now - timing.begun);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        Timing timing = running.remove(transaction);
+        if (timing != null) {
+            record(nameOf(transaction), "rolled_back", System.nanoTime() - timing.begun);
+        }
+    }
+
+    private void record(String name, String outcome, long nanos) {
+        Timer.builder(DURATION).tag("name", name).tag("outcome", outcome).register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The simple class name and method of a {@code @Transactional} method, keeping tag values short
+     */
+    static String nameOf(TransactionExecution transaction) {
+        String name = transaction.getTransactionName();
+        if (name == null || name.isEmpty()) {
+            return UNNAMED;
+        }
+        int method = name.lastIndexOf('.');
+        int type = method > 0 ? name.lastIndexOf('.', method - 1) : -1;
+        return name.substring(type + 1);
+    }
+
+    private static final class Timing {
+
+        private final long begun;
+        private volatile long committing;
+
+        private Timing(long begun) {
+            this.begun = begun;
+        }
+    }
+}
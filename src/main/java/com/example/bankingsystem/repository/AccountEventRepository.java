@@ -0,0 +1,53 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.AccountEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Repository
+public interface AccountEventRepository extends JpaRepository<AccountEvent, Long> {
+
+    String ROW_SELECT = "SELECT new com.example.bankingsystem.repository.AccountEventRow(e.sequence, e.type, " +
+            "e.accountId, e.accountNumber, e.accountHolderName, e.email, e.phoneNumber, e.currency, e.status, " +
+            "e.balance, e.occurredAt) FROM AccountEvent e ";
+
+    /**
+     * Stream the events recorded before a point in time, in sequence order
+     * @param recordedBefore exclusive upper bound of the recording time
+     * @return the events; must be closed, within a transaction
+     */
+    @Query(ROW_SELECT + "WHERE e.recordedAt < :recordedBefore ORDER BY e.sequence")
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<AccountEventRow> streamRecordedBefore(@Param("recordedBefore") LocalDateTime recordedBefore);
+
+    /**
+     * Stream the events not covered by a snapshot, in sequence order
+     * @param afterSequence the last sequence covered by the snapshot
+     * @param recordedFrom the snapshot's cutoff; later events are never covered
+     * @param recordedBefore exclusive upper bound of the recording time
+     * @return the events; must be closed, within a transaction
+     */
+    @Query(ROW_SELECT + "WHERE (e.sequence > :afterSequence OR e.recordedAt >= :recordedFrom) " +
+           "AND e.recordedAt < :recordedBefore ORDER BY e.sequence")
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<AccountEventRow> streamTail(@Param("afterSequence") long afterSequence,
+                                       @Param("recordedFrom") LocalDateTime recordedFrom,
+                                       @Param("recordedBefore") LocalDateTime recordedBefore);
+
+    /**
+     * Count the events with a sequence above the given one
+     * @param sequence the exclusive lower bound
+     * @return number of events
+     */
+    long countBySequenceGreaterThan(long sequence);
+}
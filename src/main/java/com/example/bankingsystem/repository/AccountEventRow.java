@@ -0,0 +1,15 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account event read for replay, without a managed entity per row
+ */
+public record AccountEventRow(long sequence, AccountChangedEvent.Type type, String accountId, String accountNumber,
+                              String accountHolderName, String email, String phoneNumber, String currency,
+                              BankAccount.AccountStatus status, BigDecimal balance, LocalDateTime occurredAt) {
+}
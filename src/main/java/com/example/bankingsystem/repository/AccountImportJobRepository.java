@@ -0,0 +1,46 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.AccountImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AccountImportJobRepository extends JpaRepository<AccountImportJob, String> {
+
+    /**
+     * Record the outcome of one committed chunk
+     * @param id the job ID
+     * @param records data records covered by the chunk
+     * @param imported accounts inserted
+     * @param rejected records that failed validation
+     * @param duplicates records skipped as duplicates
+     * @param now the update timestamp
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE AccountImportJob j SET j.committedRecords = j.committedRecords + :records, " +
+           "j.importedRecords = j.importedRecords + :imported, j.rejectedRecords = j.rejectedRecords + :rejected, " +
+           "j.duplicateRecords = j.duplicateRecords + :duplicates, j.updatedAt = :now WHERE j.id = :id")
+    int recordChunk(@Param("id") String id, @Param("records") long records, @Param("imported") long imported,
+                    @Param("rejected") long rejected, @Param("duplicates") long duplicates,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Move every job in one status to another, e.g. jobs left running by a previous process to failed
+     * @param from the current status
+     * @param to the new status
+     * @param message the failure message
+     * @param now the update timestamp
+     * @return number of updated jobs
+     */
+    @Modifying
+    @Query("UPDATE AccountImportJob j SET j.status = :to, j.failureMessage = :message, j.updatedAt = :now " +
+           "WHERE j.status = :from")
+    int transitionAll(@Param("from") AccountImportJob.Status from, @Param("to") AccountImportJob.Status to,
+                      @Param("message") String message, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,39 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.AccountSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountSnapshotRepository extends JpaRepository<AccountSnapshot, Long> {
+
+    /**
+     * Find the most recent snapshot
+     * @return Optional containing the snapshot if one was taken
+     */
+    Optional<AccountSnapshot> findFirstByOrderByIdDesc();
+
+    /**
+     * Find the IDs of the most recent snapshots, newest first, without loading their state
+     * @param pageable how many to return
+     * @return snapshot IDs
+     */
+    @Query("SELECT s.id FROM AccountSnapshot s ORDER BY s.id DESC")
+    List<Long> findNewestIds(Pageable pageable);
+
+    /**
+     * Delete the snapshots older than the given one
+     * @param id the oldest snapshot to keep
+     * @return number of deleted snapshots
+     */
+    @Modifying
+    @Query("DELETE FROM AccountSnapshot s WHERE s.id < :id")
+    int deleteOlderThan(@Param("id") Long id);
+}
@@ -0,0 +1,12 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.BankAccount;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of an account needed to change its status in bulk, without loading the entity
+ */
+public record AccountStatusRow(String id, String accountNumber, String currency,
+                               BankAccount.AccountStatus status, BigDecimal balance) {
+}
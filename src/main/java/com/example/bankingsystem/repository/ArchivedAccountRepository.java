@@ -0,0 +1,36 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.ArchivedAccount;
+import com.example.bankingsystem.entity.BankAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedAccountRepository extends JpaRepository<ArchivedAccount, String> {
+
+    /**
+     * Find archived account by account number
+     * @param accountNumber the account number
+     * @return Optional containing the archived account if found
+     */
+    Optional<ArchivedAccount> findByAccountNumber(String accountNumber);
+
+    /**
+     * Find the archived accounts with the given account numbers in a single query
+     * @param accountNumbers the account numbers
+     * @return the archived accounts found, in no particular order
+     */
+    List<ArchivedAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /**
+     * Find the archived accounts with the given IDs whose status is one of the given statuses
+     * @param ids the account IDs
+     * @param statuses the statuses to match
+     * @return the matching archived accounts
+     */
+    List<ArchivedAccount> findAllByIdInAndStatusIn(Collection<String> ids, Collection<BankAccount.AccountStatus> statuses);
+}
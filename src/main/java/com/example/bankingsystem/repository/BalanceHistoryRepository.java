@@ -0,0 +1,56 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.BalanceHistoryEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceHistoryRepository extends JpaRepository<BalanceHistoryEntry, Long> {
+
+    /**
+     * Find the next entries of an account after a keyset position, in time order
+     * @param accountNumber the account number
+     * @param afterTime time of the last entry already read
+     * @param afterId ID of the last entry already read, to order entries with the same time
+     * @param before exclusive upper bound of the entry time
+     * @param pageable the number of entries
+     * @return the entries
+     */
+    @Query("SELECT e FROM BalanceHistoryEntry e WHERE e.accountNumber = :accountNumber " +
+           "AND (e.occurredAt > :afterTime OR (e.occurredAt = :afterTime AND e.id > :afterId)) " +
+           "AND e.occurredAt < :before ORDER BY e.occurredAt, e.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    List<BalanceHistoryEntry> findPage(@Param("accountNumber") String accountNumber,
+                                       @Param("afterTime") LocalDateTime afterTime,
+                                       @Param("afterId") long afterId,
+                                       @Param("before") LocalDateTime before,
+                                       Pageable pageable);
+
+    /**
+     * Find the last entry of an account before a point in time
+     * @param accountNumber the account number
+     * @param time exclusive upper bound of the entry time
+     * @return the entry, if the account changed before then
+     */
+    Optional<BalanceHistoryEntry> findFirstByAccountNumberAndOccurredAtBeforeOrderByOccurredAtDescIdDesc(
+            String accountNumber, LocalDateTime time);
+
+    /**
+     * Find the first entry of an account at or after a point in time
+     * @param accountNumber the account number
+     * @param time inclusive lower bound of the entry time
+     * @return the entry, if the account changed since then
+     */
+    Optional<BalanceHistoryEntry> findFirstByAccountNumberAndOccurredAtGreaterThanEqualOrderByOccurredAtAscIdAsc(
+            String accountNumber, LocalDateTime time);
+}
@@ -0,0 +1,23 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.BankAccount;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for per currency and status balance aggregates
+ */
+public interface BalanceSummaryView {
+
+    String getCurrency();
+
+    BankAccount.AccountStatus getStatus();
+
+    long getAccountCount();
+
+    BigDecimal getTotalBalance();
+
+    BigDecimal getMinBalance();
+
+    BigDecimal getMaxBalance();
+}
@@ -6,16 +6,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface BankAccountRepository extends JpaRepository<BankAccount, String>, JpaSpecificationExecutor<BankAccount> {
+public interface BankAccountRepository extends JpaRepository<BankAccount, String>, JpaSpecificationExecutor<BankAccount>,
+        BankAccountRepositoryCustom {
 
     /**
      * Find account by account number
@@ -24,6 +30,22 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
      */
     Optional<BankAccount> findByAccountNumber(String accountNumber);
 
+    /**
+     * Find the accounts with the given account numbers in a single query
+     * @param accountNumbers the account numbers
+     * @return the accounts found, in no particular order
+     */
+    List<BankAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /**
+     * Find which of the given account numbers already exist, archived accounts included, in a single query
+     * @param accountNumbers the account numbers to check
+     * @return the subset of account numbers that already exist
+     */
+    @Query("SELECT a.accountNumber FROM BankAccount a WHERE a.accountNumber IN :accountNumbers " +
+           "UNION SELECT a.accountNumber FROM ArchivedAccount a WHERE a.accountNumber IN :accountNumbers")
+    Set<String> findExistingAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
     /**
      * Find account by account number with pessimistic write lock for concurrent operations
      * @param accountNumber the account number
@@ -33,6 +55,64 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
     @Query("SELECT a FROM BankAccount a WHERE a.accountNumber = :accountNumber")
     Optional<BankAccount> findByAccountNumberWithLock(@Param("accountNumber") String accountNumber);
 
+    /**
+     * Find several accounts by account number with a pessimistic write lock, locked in account number order
+     * @param accountNumbers the account numbers
+     * @return the accounts found, ordered by account number
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM BankAccount a WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<BankAccount> findAllByAccountNumberWithLock(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Lock the next chunk of accounts due for the archive: closed accounts unchanged since
+     * closedBefore and inactive accounts unchanged since inactiveBefore, in ID order
+     * @param closedBefore last modification time for closed accounts
+     * @param inactiveBefore last modification time for inactive accounts
+     * @param pageable the chunk size
+     * @return the locked accounts
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM BankAccount a WHERE (a.status = :closed AND a.updatedAt < :closedBefore) " +
+           "OR (a.status = :inactive AND a.updatedAt < :inactiveBefore) ORDER BY a.id")
+    List<BankAccount> findArchivable(@Param("closed") BankAccount.AccountStatus closed,
+                                     @Param("closedBefore") LocalDateTime closedBefore,
+                                     @Param("inactive") BankAccount.AccountStatus inactive,
+                                     @Param("inactiveBefore") LocalDateTime inactiveBefore,
+                                     Pageable pageable);
+
+    /**
+     * Set the status of the given accounts in a single statement, bypassing the persistence context
+     * @param ids the account IDs
+     * @param status the new status
+     * @param updatedAt the modification timestamp
+     * @return the number of accounts updated
+     */
+    @Modifying
+    @Query("UPDATE BankAccount a SET a.status = :status, a.updatedAt = :updatedAt WHERE a.id IN :ids")
+    int updateStatus(@Param("ids") Collection<String> ids,
+                     @Param("status") BankAccount.AccountStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Update the holder details of an account only if it has not changed since the given
+     * modification time, as a compare-and-set that takes no lock in advance
+     * @param id the account ID
+     * @param expectedUpdatedAt the modification time the caller last saw
+     * @param updatedAt the new modification timestamp
+     * @return 1 if the account was updated, 0 if it had changed in the meantime
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BankAccount a SET a.accountHolderName = :accountHolderName, a.email = :email, " +
+           "a.phoneNumber = :phoneNumber, a.updatedAt = :updatedAt " +
+           "WHERE a.id = :id AND a.updatedAt = :expectedUpdatedAt")
+    int updateDetailsIfUnchanged(@Param("id") String id,
+                                 @Param("accountHolderName") String accountHolderName,
+                                 @Param("email") String email,
+                                 @Param("phoneNumber") String phoneNumber,
+                                 @Param("expectedUpdatedAt") LocalDateTime expectedUpdatedAt,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * Find all accounts with pagination
      * @param pageable pagination information
@@ -40,4 +120,26 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
      */
     Page<BankAccount> findAll(Pageable pageable);
 
+    /**
+     * Aggregate account count and balances grouped by currency and status.
+     * Used for periodic reconciliation only; not intended for the request path.
+     * @return one row per currency and status combination
+     */
+    @Query("SELECT a.currency AS currency, a.status AS status, COUNT(a) AS accountCount, " +
+           "SUM(a.balance) AS totalBalance, MIN(a.balance) AS minBalance, MAX(a.balance) AS maxBalance " +
+           "FROM BankAccount a GROUP BY a.currency, a.status")
+    List<BalanceSummaryView> summarizeBalancesByCurrencyAndStatus();
+
+    /**
+     * Aggregate balances for a single currency and status combination
+     * @param currency the currency
+     * @param status the account status
+     * @return the aggregate row, or null fields when no account matches
+     */
+    @Query("SELECT a.currency AS currency, a.status AS status, COUNT(a) AS accountCount, " +
+           "SUM(a.balance) AS totalBalance, MIN(a.balance) AS minBalance, MAX(a.balance) AS maxBalance " +
+           "FROM BankAccount a WHERE a.currency = :currency AND a.status = :status GROUP BY a.currency, a.status")
+    Optional<BalanceSummaryView> summarizeBalances(@Param("currency") String currency,
+                                                   @Param("status") BankAccount.AccountStatus status);
+
 }
@@ -0,0 +1,69 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BankAccountRepositoryCustom {
+
+    /**
+     * Search accounts using a precompiled parameterized query for the request's filter shape.
+     * Sort properties must be one of {@link BankAccountSearchRequest#SORTABLE_FIELDS}.
+     * @param searchRequest the search criteria; pagination fields are ignored
+     * @param pageable pagination and sort information
+     * @return Page of matching accounts
+     */
+    Page<BankAccount> search(BankAccountSearchRequest searchRequest, Pageable pageable);
+
+    /**
+     * Stream accounts matching the specification through a forward-only cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     * @param spec the filter specification, or null for all accounts
+     * @param sort the sort order
+     * @param fetchSize the JDBC fetch size
+     * @return Stream of read-only accounts
+     */
+    Stream<BankAccount> streamAll(Specification<BankAccount> spec, Sort sort, int fetchSize);
+
+    /**
+     * Lock the next chunk of accounts matching the criteria whose status is one of the given
+     * source statuses, in ID order. Only the columns needed for a status change are read.
+     * Must be called inside a transaction; the row locks are held until it ends.
+     * @param criteria the search criteria; pagination and sort fields are ignored
+     * @param fromStatuses the statuses an account may currently have
+     * @param afterId only accounts with a greater ID are returned, or null to start from the beginning
+     * @param limit the maximum number of accounts to return
+     * @return the locked accounts
+     */
+    List<AccountStatusRow> lockForStatusChange(BankAccountSearchRequest criteria,
+                                               Collection<BankAccount.AccountStatus> fromStatuses,
+                                               String afterId, int limit);
+
+    /**
+     * Lock the given accounts whose status is one of the given source statuses.
+     * Must be called inside a transaction; the row locks are held until it ends.
+     * @param ids the account IDs
+     * @param fromStatuses the statuses an account may currently have
+     * @return the locked accounts; unknown IDs and accounts in other statuses are omitted
+     */
+    List<AccountStatusRow> lockForStatusChange(Collection<String> ids,
+                                               Collection<BankAccount.AccountStatus> fromStatuses);
+
+    /**
+     * Flush pending inserts and updates as JDBC batches and clear the persistence context
+     */
+    void flushAndClear();
+
+    /**
+     * Detach an account from the persistence context so it can be garbage collected
+     * @param account the account to detach
+     */
+    void detach(BankAccount account);
+}
@@ -0,0 +1,314 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.example.bankingsystem.sharding.ShardContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class BankAccountRepositoryImpl implements BankAccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    private final AccountShards accountShards;
+
+    private static final String STATUS_ROW_SELECT = "SELECT new com.example.bankingsystem.repository.AccountStatusRow("
+            + "a.id, a.accountNumber, a.currency, a.status, a.balance) FROM BankAccount a WHERE a.status IN :fromStatuses";
+
+    private static final Map<String, Function<BankAccount, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", BankAccount::getId,
+            "accountNumber", BankAccount::getAccountNumber,
+            "balance", BankAccount::getBalance,
+            "createdAt", BankAccount::getCreatedAt,
+            "updatedAt", BankAccount::getUpdatedAt);
+
+    private final BankAccountSearchQueries searchQueries = new BankAccountSearchQueries();
+
+    public BankAccountRepositoryImpl(AccountShards accountShards) {
+        this.accountShards = accountShards;
+    }
+
+    @Override
+    public Page<BankAccount> search(BankAccountSearchRequest searchRequest, Pageable pageable) {
+        if (!accountShards.isSharded()) {
+            return searchShard(searchRequest, pageable);
+        }
+
+        // Every shard returns its own first offset + size rows; the merged page is cut from those
+        Pageable leading = pageable.isPaged()
+                ? PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort())
+                : pageable;
+        List<Page<BankAccount>> pages = accountShards.scatter(shard -> searchShard(searchRequest, leading));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        Stream<BankAccount> merged = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(comparator(pageable.getSort()));
+        if (pageable.isPaged()) {
+            merged = merged.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return new PageImpl<>(merged.toList(), pageable, total);
+    }
+
+    private Page<BankAccount> searchShard(BankAccountSearchRequest searchRequest, Pageable pageable) {
+        Object[] values = BankAccountSearchQueries.bindValues(searchRequest);
+        BankAccountSearchQueries.Compiled compiled = searchQueries.compile(values, pageable.getSort());
+
+        TypedQuery<BankAccount> query = entityManager.createQuery(compiled.selectQuery(), BankAccount.class);
+        bind(query, compiled, values);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<BankAccount> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(compiled.countQuery(), Long.class);
+            bind(countQuery, compiled, values);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    @Override
+    public Stream<BankAccount> streamAll(Specification<BankAccount> spec, Sort sort, int fetchSize) {
+        if (!accountShards.isSharded()) {
+            return openStream(entityManager, spec, sort, fetchSize);
+        }
+
+        // One cursor per shard, each with its own entity manager and transaction, merged in sort order
+        List<ShardCursor> cursors = new ArrayList<>(accountShards.count());
+        try {
+            for (int shard = 0; shard < accountShards.count(); shard++) {
+                EntityManager shardEntityManager = entityManagerFactory.createEntityManager();
+                ShardCursor cursor = new ShardCursor(shardEntityManager);
+                cursors.add(cursor);
+                cursor.iterator = ShardContext.call(shard, () -> {
+                    shardEntityManager.getTransaction().begin();
+                    cursor.stream = openStream(shardEntityManager, spec, sort, fetchSize);
+                    return cursor.stream.iterator();
+                });
+            }
+        } catch (RuntimeException e) {
+            cursors.forEach(ShardCursor::close);
+            throw e;
+        }
+
+        Stream<BankAccount> merged = sort.isSorted()
+                ? toStream(new MergingIterator(cursors, comparator(sort)))
+                : cursors.stream().flatMap(BankAccountRepositoryImpl::toStream);
+        return merged.onClose(() -> cursors.forEach(ShardCursor::close));
+    }
+
+    private Stream<BankAccount> openStream(EntityManager target, Specification<BankAccount> spec, Sort sort,
+                                           int fetchSize) {
+        CriteriaBuilder criteriaBuilder = target.getCriteriaBuilder();
+        CriteriaQuery<BankAccount> query = criteriaBuilder.createQuery(BankAccount.class);
+        Root<BankAccount> root = query.from(BankAccount.class);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        // Hibernate backs getResultStream with a forward-only ScrollableResults
+        return target.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<AccountStatusRow> lockForStatusChange(BankAccountSearchRequest criteria,
+                                                      Collection<BankAccount.AccountStatus> fromStatuses,
+                                                      String afterId, int limit) {
+        Object[] values = BankAccountSearchQueries.bindValues(criteria);
+        int mask = BankAccountSearchQueries.mask(values);
+        String predicates = BankAccountSearchQueries.predicates(mask);
+
+        StringBuilder jpql = new StringBuilder(STATUS_ROW_SELECT);
+        if (!predicates.isEmpty()) {
+            jpql.append(" AND ").append(predicates);
+        }
+        if (afterId != null) {
+            jpql.append(" AND a.id > :afterId");
+        }
+        jpql.append(" ORDER BY a.id");
+
+        TypedQuery<AccountStatusRow> query = entityManager.createQuery(jpql.toString(), AccountStatusRow.class)
+                .setParameter("fromStatuses", fromStatuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit);
+        for (BankAccountSearchQueries.Filter filter : BankAccountSearchQueries.Filter.values()) {
+            if ((mask & (1 << filter.ordinal())) != 0) {
+                query.setParameter(filter.parameter(), values[filter.ordinal()]);
+            }
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<AccountStatusRow> lockForStatusChange(Collection<String> ids,
+                                                      Collection<BankAccount.AccountStatus> fromStatuses) {
+        return entityManager.createQuery(STATUS_ROW_SELECT + " AND a.id IN :ids ORDER BY a.id", AccountStatusRow.class)
+                .setParameter("fromStatuses", fromStatuses)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public void detach(BankAccount account) {
+        entityManager.detach(account);
+    }
+
+    private static void bind(TypedQuery<?> query, BankAccountSearchQueries.Compiled compiled, Object[] values) {
+        for (BankAccountSearchQueries.Filter filter : BankAccountSearchQueries.Filter.values()) {
+            if (compiled.binds(filter)) {
+                query.setParameter(filter.parameter(), values[filter.ordinal()]);
+            }
+        }
+    }
+
+    /**
+     * In-memory order matching the ORDER BY generated for the same sort, for merging shard results
+     */
+    private static Comparator<BankAccount> comparator(Sort sort) {
+        Comparator<BankAccount> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<BankAccount, Comparable<?>> key = SORT_KEYS.get(order.getProperty());
+            if (key == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Comparator<BankAccount> byKey = Comparator.comparing(account -> (Comparable) key.apply(account),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+        }
+        return comparator;
+    }
+
+    private static Stream<BankAccount> toStream(Iterator<BankAccount> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private static final class ShardCursor implements Iterator<BankAccount> {
+
+        private final EntityManager entityManager;
+        private Stream<BankAccount> stream;
+        private Iterator<BankAccount> iterator;
+
+        ShardCursor(EntityManager entityManager) {
+            this.entityManager = entityManager;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /**
+         * Next row, detached so the shard's persistence context stays empty
+         */
+        @Override
+        public BankAccount next() {
+            BankAccount account = iterator.next();
+            entityManager.detach(account);
+            return account;
+        }
+
+        void close() {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+                if (entityManager.getTransaction().isActive()) {
+                    entityManager.getTransaction().rollback();
+                }
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    private static final class MergingIterator implements Iterator<BankAccount> {
+
+        private record Head(BankAccount account, ShardCursor cursor) {
+        }
+
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<ShardCursor> cursors, Comparator<BankAccount> comparator) {
+            this.heads = new PriorityQueue<>(cursors.size(), Comparator.comparing(Head::account, comparator));
+            cursors.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public BankAccount next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.cursor());
+            return head.account();
+        }
+
+        private void advance(ShardCursor cursor) {
+            if (cursor.hasNext()) {
+                heads.add(new Head(cursor.next(), cursor));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Builds and caches parameterized JPQL for each search shape, i.e. the set of filters
+ * present plus the sort order. Identical JPQL strings hit Hibernate's query plan cache,
+ * so only parameter values are bound per call instead of re-translating a fresh
+ * Criteria tree on every search.
+ */
+class BankAccountSearchQueries {
+
+    enum Filter {
+        ACCOUNT_HOLDER_NAME("lower(a.accountHolderName) like :accountHolderName", "accountHolderName",
+                r -> hasText(r.getAccountHolderName()) ? "%" + r.getAccountHolderName().toLowerCase().trim() + "%" : null),
+        ACCOUNT_NUMBER("a.accountNumber = :accountNumber", "accountNumber",
+                r -> hasText(r.getAccountNumber()) ? r.getAccountNumber().trim() : null),
+        STATUS("a.status = :status", "status", BankAccountSearchRequest::getStatus),
+        CURRENCY("a.currency = :currency", "currency",
+                r -> hasText(r.getCurrency()) ? r.getCurrency().trim().toUpperCase() : null),
+        MIN_BALANCE("a.balance >= :minBalance", "minBalance", BankAccountSearchRequest::getMinBalance),
+        MAX_BALANCE("a.balance <= :maxBalance", "maxBalance", BankAccountSearchRequest::getMaxBalance),
+        CREATED_FROM("a.createdAt >= :createdFrom", "createdFrom", BankAccountSearchRequest::getCreatedFrom),
+        CREATED_TO("a.createdAt <= :createdTo", "createdTo", BankAccountSearchRequest::getCreatedTo),
+        UPDATED_FROM("a.updatedAt >= :updatedFrom", "updatedFrom", BankAccountSearchRequest::getUpdatedFrom),
+        UPDATED_TO("a.updatedAt <= :updatedTo", "updatedTo", BankAccountSearchRequest::getUpdatedTo);
+
+        private final String predicate;
+        private final String parameter;
+        private final Function<BankAccountSearchRequest, Object> value;
+
+        Filter(String predicate, String parameter, Function<BankAccountSearchRequest, Object> value) {
+            this.predicate = predicate;
+            this.parameter = parameter;
+            this.value = value;
+        }
+
+        String parameter() {
+            return parameter;
+        }
+
+        private static boolean hasText(String value) {
+            return value != null && !value.trim().isEmpty();
+        }
+    }
+
+    private static final Filter[] FILTERS = Filter.values();
+
+    private final ConcurrentMap<Shape, Compiled> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve the normalized parameter values of a request, indexed by {@link Filter#ordinal()}.
+     * Absent filters are null.
+     */
+    static Object[] bindValues(BankAccountSearchRequest request) {
+        Object[] values = new Object[FILTERS.length];
+        for (Filter filter : FILTERS) {
+            values[filter.ordinal()] = filter.value.apply(request);
+        }
+        return values;
+    }
+
+    /**
+     * Bit set of the filters present in the given values, indexed by {@link Filter#ordinal()}
+     */
+    static int mask(Object[] values) {
+        int mask = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The filter predicates of a shape joined with AND, or an empty string when no filter is present
+     */
+    static String predicates(int mask) {
+        StringBuilder predicates = new StringBuilder();
+        for (Filter filter : FILTERS) {
+            if ((mask & (1 << filter.ordinal())) != 0) {
+                predicates.append(predicates.length() == 0 ? "" : " AND ").append(filter.predicate);
+            }
+        }
+        return predicates.toString();
+    }
+
+    Compiled compile(Object[] values, Sort sort) {
+        return cache.computeIfAbsent(new Shape(mask(values), sort), BankAccountSearchQueries::build);
+    }
+
+    private static Compiled build(Shape shape) {
+        String predicates = predicates(shape.mask());
+        String where = predicates.isEmpty() ? "" : " WHERE " + predicates;
+
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : shape.sort()) {
+            if (!BankAccountSearchRequest.SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                    .append("a.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+        }
+
+        return new Compiled(
+                shape.mask(),
+                "SELECT a FROM BankAccount a" + where + orderBy,
+                "SELECT COUNT(a) FROM BankAccount a" + where);
+    }
+
+    private record Shape(int mask, Sort sort) {
+    }
+
+    record Compiled(int mask, String selectQuery, String countQuery) {
+
+        boolean binds(Filter filter) {
+            return (mask & (1 << filter.ordinal())) != 0;
+        }
+    }
+}
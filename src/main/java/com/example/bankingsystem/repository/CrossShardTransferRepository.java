@@ -0,0 +1,38 @@
+package com.example.bankingsystem.repository;
+
+import com.example.bankingsystem.entity.CrossShardTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CrossShardTransferRepository extends JpaRepository<CrossShardTransfer, String> {
+
+    /**
+     * Move a transfer to a new status
+     * @param id the transfer ID
+     * @param status the new status
+     * @param now the update timestamp
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE CrossShardTransfer t SET t.status = :status, t.updatedAt = :now WHERE t.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") CrossShardTransfer.Status status,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Move every transfer in one status to another
+     * @param from the current status
+     * @param to the new status
+     * @param now the update timestamp
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE CrossShardTransfer t SET t.status = :to, t.updatedAt = :now WHERE t.status = :from")
+    int transitionAll(@Param("from") CrossShardTransfer.Status from, @Param("to") CrossShardTransfer.Status to,
+                      @Param("now") LocalDateTime now);
+}
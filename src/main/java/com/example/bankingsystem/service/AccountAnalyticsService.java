@@ -0,0 +1,368 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.BalanceAnalyticsResponse;
+import com.example.bankingsystem.dto.BankAccountDetailedResponse;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.eventstore.AccountEventStore;
+import com.example.bankingsystem.eventstore.AccountState;
+import com.example.bankingsystem.repository.BalanceSummaryView;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * In-memory balance aggregates by currency and status, kept up to date from
+ * {@link AccountChangedEvent}s so analytics never scan the account table on the
+ * request path. The summary is built from the event store at startup; a periodic
+ * reconciliation compares against the database and rebuilds it from the account
+ * table if it has drifted.
+ */
+@Service
+@Slf4j
+public class AccountAnalyticsService {
+
+    private static final String[] TIERS = {"PREMIUM", "STANDARD", "BASIC", "ENTRY"};
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AccountShards accountShards;
+    private final AccountEventStore accountEventStore;
+
+    @Value("${app.analytics.rebuild-fetch-size:500}")
+    private int rebuildFetchSize;
+
+    private Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private LocalDateTime lastReconciledAt;
+
+    public AccountAnalyticsService(BankAccountRepository bankAccountRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   AccountShards accountShards,
+                                   AccountEventStore accountEventStore) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountShards = accountShards;
+        this.accountEventStore = accountEventStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Map<BucketKey, Bucket> rebuilt = new HashMap<>();
+        for (AccountState account : accountEventStore.replay().values()) {
+            rebuilt.computeIfAbsent(new BucketKey(account.getCurrency(), account.getStatus()), k -> new Bucket())
+                    .add(account.getBalance());
+        }
+        replaceBuckets(rebuilt, "event store");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.getType() == AccountChangedEvent.Type.UPDATED) {
+            return;
+        }
+
+        synchronized (this) {
+            if (event.getPreviousStatus() != null && event.getPreviousBalance() != null) {
+                bucket(event.getCurrency(), event.getPreviousStatus()).remove(event.getPreviousBalance());
+            }
+            if (event.getStatus() != null && event.getBalance() != null) {
+                bucket(event.getCurrency(), event.getStatus()).add(event.getBalance());
+            }
+        }
+    }
+
+    public BalanceAnalyticsResponse getBalanceAnalytics() {
+        List<Map.Entry<BucketKey, Bucket>> snapshot;
+        LocalDateTime reconciledAt;
+
+        refreshStaleExtremes();
+        synchronized (this) {
+            snapshot = new ArrayList<>(buckets.size());
+            for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                if (entry.getValue().count > 0) {
+                    snapshot.add(Map.entry(entry.getKey(), entry.getValue().copy()));
+                }
+            }
+            reconciledAt = lastReconciledAt;
+        }
+
+        List<BalanceAnalyticsResponse.BucketSummary> summaries = snapshot.stream()
+                .sorted(Comparator.comparing((Map.Entry<BucketKey, Bucket> e) -> e.getKey().currency())
+                        .thenComparing(e -> e.getKey().status()))
+                .map(e -> toSummary(e.getKey(), e.getValue()))
+                .toList();
+
+        return BalanceAnalyticsResponse.builder()
+                .buckets(summaries)
+                .generatedAt(LocalDateTime.now())
+                .lastReconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Compare the in-memory counts and totals with a single grouped query per shard and
+     * rebuild the summary if they disagree.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.reconcile-interval:300000}",
+               initialDelayString = "${app.analytics.reconcile-interval:300000}")
+    public void reconcile() {
+        Map<BucketKey, Totals> totals = new HashMap<>();
+        for (List<BalanceSummaryView> shardRows :
+                accountShards.scatter(shard -> bankAccountRepository.summarizeBalancesByCurrencyAndStatus())) {
+            for (BalanceSummaryView row : shardRows) {
+                totals.merge(new BucketKey(row.getCurrency(), row.getStatus()),
+                        new Totals(row.getAccountCount(), row.getTotalBalance()), Totals::plus);
+            }
+        }
+
+        boolean consistent;
+        synchronized (this) {
+            long nonEmptyBuckets = buckets.values().stream().filter(b -> b.count > 0).count();
+            consistent = nonEmptyBuckets == totals.size() && totals.entrySet().stream().allMatch(entry -> {
+                Bucket bucket = buckets.get(entry.getKey());
+                return bucket != null
+                        && bucket.count == entry.getValue().count()
+                        && bucket.total.compareTo(entry.getValue().total()) == 0;
+            });
+            if (consistent) {
+                lastReconciledAt = LocalDateTime.now();
+            }
+        }
+
+        if (!consistent) {
+            log.warn("Balance analytics drifted from the database, rebuilding");
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the summary from a forward-only scan of the account table
+     */
+    public void rebuild() {
+        Map<BucketKey, Bucket> rebuilt = new HashMap<>();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BankAccount> accounts = bankAccountRepository.streamAll(null, Sort.unsorted(), rebuildFetchSize)) {
+                accounts.forEach(account -> {
+                    rebuilt.computeIfAbsent(new BucketKey(account.getCurrency(), account.getStatus()), k -> new Bucket())
+                            .add(account.getBalance());
+                    bankAccountRepository.detach(account);
+                });
+            }
+        });
+
+        replaceBuckets(rebuilt, "account table");
+    }
+
+    private void replaceBuckets(Map<BucketKey, Bucket> rebuilt, String source) {
+        synchronized (this) {
+            buckets = rebuilt;
+            lastReconciledAt = LocalDateTime.now();
+        }
+        log.info("Balance analytics rebuilt from the {} with {} buckets", source, rebuilt.size());
+    }
+
+    private Bucket bucket(String currency, BankAccount.AccountStatus status) {
+        return buckets.computeIfAbsent(new BucketKey(currency, status), k -> new Bucket());
+    }
+
+    /**
+     * Query the extremes of buckets that lost their minimum or maximum. The queries run
+     * without holding the monitor, so committing changes are not held up by them; the
+     * balances changed meanwhile are merged into the result rather than discarding it, so a
+     * refresh sticks under steady traffic and the next reads need no query. A bucket already
+     * being refreshed by another read is left to it.
+     */
+    private void refreshStaleExtremes() {
+        Map<BucketKey, Bucket> stale = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                Bucket bucket = entry.getValue();
+                if (bucket.count > 0 && bucket.extremesStale && !bucket.refreshing) {
+                    bucket.beginRefresh();
+                    stale.put(entry.getKey(), bucket);
+                }
+            }
+        }
+
+        for (Map.Entry<BucketKey, Bucket> entry : stale.entrySet()) {
+            BucketKey key = entry.getKey();
+            Optional<BigDecimal> min = Optional.empty();
+            Optional<BigDecimal> max = Optional.empty();
+            try {
+                List<Optional<BalanceSummaryView>> rows = accountShards.scatter(shard ->
+                        bankAccountRepository.summarizeBalances(key.currency(), key.status()));
+                min = rows.stream().flatMap(Optional::stream).map(BalanceSummaryView::getMinBalance)
+                        .min(Comparator.naturalOrder());
+                max = rows.stream().flatMap(Optional::stream).map(BalanceSummaryView::getMaxBalance)
+                        .max(Comparator.naturalOrder());
+            } finally {
+                synchronized (this) {
+                    entry.getValue().finishRefresh(min.orElse(null), max.orElse(null));
+                }
+            }
+        }
+    }
+
+    private static BalanceAnalyticsResponse.BucketSummary toSummary(BucketKey key, Bucket bucket) {
+        Map<String, Long> tiers = new LinkedHashMap<>();
+        for (int i = 0; i < TIERS.length; i++) {
+            tiers.put(TIERS[i], bucket.tierCounts[i]);
+        }
+
+        return BalanceAnalyticsResponse.BucketSummary.builder()
+                .currency(key.currency())
+                .status(key.status())
+                .accountCount(bucket.count)
+                .totalBalance(bucket.total)
+                .minBalance(bucket.min)
+                .maxBalance(bucket.max)
+                .averageBalance(bucket.total.divide(BigDecimal.valueOf(bucket.count), 2, RoundingMode.HALF_EVEN))
+                .tiers(tiers)
+                .build();
+    }
+
+    private static int tierIndex(BigDecimal balance) {
+        String tier = BankAccountDetailedResponse.determineAccountType(balance);
+        for (int i = 0; i < TIERS.length; i++) {
+            if (TIERS[i].equals(tier)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unknown account tier: " + tier);
+    }
+
+    private record BucketKey(String currency, BankAccount.AccountStatus status) {
+    }
+
+    private record Totals(long count, BigDecimal total) {
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, total.add(other.total));
+        }
+    }
+
+    /**
+     * Mutable aggregate for one currency and status combination. Removing the current
+     * minimum or maximum marks the extremes stale; they are refreshed lazily on read.
+     * While a refresh runs, the extremes of the balances added and removed since it began
+     * are kept to be merged into its result.
+     */
+    private static final class Bucket {
+
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+        private boolean extremesStale;
+        private boolean refreshing;
+        private BigDecimal addedMin;
+        private BigDecimal addedMax;
+        private BigDecimal removedMin;
+        private BigDecimal removedMax;
+        private final long[] tierCounts = new long[TIERS.length];
+
+        void add(BigDecimal balance) {
+            count++;
+            total = total.add(balance);
+            tierCounts[tierIndex(balance)]++;
+            if (min == null || balance.compareTo(min) < 0) {
+                min = balance;
+            }
+            if (max == null || balance.compareTo(max) > 0) {
+                max = balance;
+            }
+            if (refreshing) {
+                addedMin = lesser(addedMin, balance);
+                addedMax = greater(addedMax, balance);
+            }
+        }
+
+        void remove(BigDecimal balance) {
+            count--;
+            total = total.subtract(balance);
+            tierCounts[tierIndex(balance)]--;
+            if (count <= 0) {
+                min = null;
+                max = null;
+                extremesStale = false;
+            } else if (balance.compareTo(min) == 0 || balance.compareTo(max) == 0) {
+                extremesStale = true;
+            }
+            if (refreshing) {
+                removedMin = lesser(removedMin, balance);
+                removedMax = greater(removedMax, balance);
+            }
+        }
+
+        void beginRefresh() {
+            refreshing = true;
+            addedMin = null;
+            addedMax = null;
+            removedMin = null;
+            removedMax = null;
+        }
+
+        /**
+         * Take the queried extremes, or nulls if the query failed or found nothing, merged
+         * with the balances added since it began. They are not taken if a balance removed
+         * since then may be the one the query found; the extremes then stay stale.
+         */
+        void finishRefresh(BigDecimal queriedMin, BigDecimal queriedMax) {
+            refreshing = false;
+            if (count <= 0 || queriedMin == null || queriedMax == null) {
+                return;
+            }
+            BigDecimal mergedMin = lesser(addedMin, queriedMin);
+            BigDecimal mergedMax = greater(addedMax, queriedMax);
+            if ((removedMin != null && removedMin.compareTo(mergedMin) <= 0)
+                    || (removedMax != null && removedMax.compareTo(mergedMax) >= 0)) {
+                return;
+            }
+            min = mergedMin;
+            max = mergedMax;
+            extremesStale = false;
+        }
+
+        private static BigDecimal lesser(BigDecimal current, BigDecimal balance) {
+            return current == null || balance.compareTo(current) < 0 ? balance : current;
+        }
+
+        private static BigDecimal greater(BigDecimal current, BigDecimal balance) {
+            return current == null || balance.compareTo(current) > 0 ? balance : current;
+        }
+
+        Bucket copy() {
+            Bucket copy = new Bucket();
+            copy.count = count;
+            copy.total = total;
+            copy.min = min;
+            copy.max = max;
+            System.arraycopy(tierCounts, 0, copy.tierCounts, 0, tierCounts.length);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.entity.ArchivedAccount;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.repository.ArchivedAccountRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps {@code bank_accounts} limited to accounts in use by moving closed and long-inactive
+ * accounts to {@code archived_accounts} in the background. Lookups by account number or
+ * ID fall back to the archive, so archived accounts stay readable; searches, exports and
+ * analytics only cover the account table. When sharded, each shard archives its own accounts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountArchiveService {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final ArchivedAccountRepository archivedAccountRepository;
+    private final AccountShards accountShards;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JournaledTransferService journaledTransferService;
+
+    @Value("${app.archive.closed-after:30d}")
+    private Duration closedAfter;
+
+    @Value("${app.archive.inactive-after:365d}")
+    private Duration inactiveAfter;
+
+    @Value("${app.archive.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archive every account that is due, one chunk per transaction
+     * @return the number of accounts archived
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval:3600000}",
+               initialDelayString = "${app.archive.interval:3600000}")
+    public long archive() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime closedBefore = now.minus(closedAfter);
+        LocalDateTime inactiveBefore = now.minus(inactiveAfter);
+
+        long archived = 0;
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            int chunk;
+            do {
+                chunk = accountShards.onShard(shard, () -> transactionTemplate.execute(status ->
+                        archiveChunk(closedBefore, inactiveBefore)));
+                archived += chunk;
+            } while (chunk == chunkSize);
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} closed or inactive accounts", archived);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime closedBefore, LocalDateTime inactiveBefore) {
+        List<BankAccount> accounts = bankAccountRepository.findArchivable(
+                BankAccount.AccountStatus.CLOSED, closedBefore,
+                BankAccount.AccountStatus.INACTIVE, inactiveBefore,
+                PageRequest.of(0, chunkSize));
+        // Accounts with journaled transfers still to apply are left for a later run
+        accounts = accounts.stream()
+                .filter(account -> journaledTransferService.retire(account.getAccountNumber(), account.getBalance()))
+                .toList();
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+
+        archivedAccountRepository.saveAll(accounts.stream().map(ArchivedAccount::of).toList());
+        bankAccountRepository.deleteAllByIdInBatch(accounts.stream().map(BankAccount::getId).toList());
+        accounts.forEach(account -> eventPublisher.publishEvent(AccountChangedEvent.archived(account)));
+        // Send the chunk as JDBC batches and keep the persistence context small
+        bankAccountRepository.flushAndClear();
+        return accounts.size();
+    }
+
+    /**
+     * Find an archived account by account number on the current shard
+     * @return the account as it was when archived, detached
+     */
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        return archivedAccountRepository.findByAccountNumber(accountNumber).map(ArchivedAccount::toAccount);
+    }
+
+    /**
+     * Find an archived account by ID on the current shard
+     * @return the account as it was when archived, detached
+     */
+    public Optional<BankAccount> findById(String id) {
+        return archivedAccountRepository.findById(id).map(ArchivedAccount::toAccount);
+    }
+
+    /**
+     * Find archived accounts by account number on the current shard, in a single query
+     * @return the accounts as they were when archived, detached
+     */
+    public List<BankAccount> findAllByAccountNumber(Collection<String> accountNumbers) {
+        return archivedAccountRepository.findByAccountNumberIn(accountNumbers).stream()
+                .map(ArchivedAccount::toAccount)
+                .toList();
+    }
+
+    /**
+     * Find archived accounts by ID on the current shard, in a single query
+     * @return the accounts as they were when archived, detached
+     */
+    public List<BankAccount> findAllById(Collection<String> ids) {
+        return archivedAccountRepository.findAllById(ids).stream()
+                .map(ArchivedAccount::toAccount)
+                .toList();
+    }
+
+    public boolean isArchived(String id) {
+        return archivedAccountRepository.existsById(id);
+    }
+
+    /**
+     * Move the archived accounts with the given IDs and one of the given statuses back to
+     * the account table, in the current transaction
+     * @return the number of accounts restored
+     */
+    public int restore(Collection<String> ids, Collection<BankAccount.AccountStatus> statuses) {
+        List<ArchivedAccount> archived = archivedAccountRepository.findAllByIdInAndStatusIn(ids, statuses);
+        for (ArchivedAccount entry : archived) {
+            BankAccount account = bankAccountRepository.save(entry.toAccount());
+            archivedAccountRepository.delete(entry);
+            eventPublisher.publishEvent(AccountChangedEvent.restored(account));
+        }
+        if (!archived.isEmpty()) {
+            bankAccountRepository.flush();
+            log.info("Restored {} accounts from the archive", archived.size());
+        }
+        return archived.size();
+    }
+}
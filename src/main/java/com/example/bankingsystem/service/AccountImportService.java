@@ -0,0 +1,370 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.AccountFileFormat;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.ImportJobResponse;
+import com.example.bankingsystem.entity.AccountImportJob;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.BankAccountException;
+import com.example.bankingsystem.exception.ImportJobNotFoundException;
+import com.example.bankingsystem.repository.AccountImportJobRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large CSV or NDJSON account files in the background with bounded memory.
+ * Lines are read sequentially, each chunk is parsed and validated in parallel, and
+ * the chunk's inserts are committed together with the job's progress so a failed
+ * job can resume from the last committed chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountImportService {
+
+    private final AccountImportJobRepository importJobRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final AccountShards accountShards;
+
+    @Value("${app.import.directory:./data/imports}")
+    private String importDirectory;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.validation-parallelism:4}")
+    private int validationParallelism;
+
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+    private ExecutorService jobExecutor;
+    private ForkJoinPool validationPool;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        validationPool = new ForkJoinPool(validationParallelism);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int interrupted = transactionTemplate.execute(status ->
+                importJobRepository.transitionAll(AccountImportJob.Status.RUNNING, AccountImportJob.Status.FAILED,
+                        "Interrupted by application restart", LocalDateTime.now()));
+        if (interrupted > 0) {
+            log.warn("Marked {} interrupted import jobs as failed; they can be resumed", interrupted);
+        }
+    }
+
+    public ImportJobResponse submit(MultipartFile file, AccountFileFormat format) {
+        AccountImportJob job = importJobRepository.save(AccountImportJob.builder()
+                .fileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload")
+                .format(format)
+                .build());
+
+        try (InputStream in = file.getInputStream()) {
+            Files.createDirectories(Paths.get(importDirectory));
+            Files.copy(in, dataFile(job.getId()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            markFailed(job.getId(), "Could not store upload: " + e.getMessage());
+            throw new BankAccountException("Could not store import file", e);
+        }
+
+        log.info("Accepted import job {} for file {} ({})", job.getId(), job.getFileName(), format);
+        launch(job.getId());
+        return ImportJobResponse.fromEntity(job);
+    }
+
+    public ImportJobResponse getJob(String jobId) {
+        return ImportJobResponse.fromEntity(findJob(jobId));
+    }
+
+    public ImportJobResponse resume(String jobId) {
+        AccountImportJob job = findJob(jobId);
+        if (job.getStatus() != AccountImportJob.Status.FAILED) {
+            throw new BankAccountException("Import job " + jobId + " is " + job.getStatus() + " and cannot be resumed");
+        }
+
+        log.info("Resuming import job {} after {} committed records", jobId, job.getCommittedRecords());
+        launch(jobId);
+        return ImportJobResponse.fromEntity(job);
+    }
+
+    /**
+     * @return the NDJSON report of rejected and duplicate records for the job
+     */
+    public Path getErrorReport(String jobId) {
+        findJob(jobId);
+        return errorFile(jobId);
+    }
+
+    private void launch(String jobId) {
+        if (!activeJobs.add(jobId)) {
+            throw new BankAccountException("Import job " + jobId + " is already running");
+        }
+        jobExecutor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                activeJobs.remove(jobId);
+            }
+        });
+    }
+
+    private void run(String jobId) {
+        AccountImportJob job = findJob(jobId);
+        job.setStatus(AccountImportJob.Status.RUNNING);
+        job.setFailureMessage(null);
+        importJobRepository.save(job);
+
+        long alreadyCommitted = job.getCommittedRecords();
+        try (BufferedReader reader = Files.newBufferedReader(dataFile(jobId), StandardCharsets.UTF_8);
+             Writer errors = Files.newBufferedWriter(errorFile(jobId), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+            AccountRecordParser parser = AccountRecordParser.open(job.getFormat(), objectMapper, reader);
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            long recordNumber = 0;
+            String line;
+
+            while ((line = parser.nextRecord(reader)) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                // Records up to the last committed chunk were handled by a previous run
+                if (++recordNumber <= alreadyCommitted) {
+                    continue;
+                }
+                chunk.add(new RawRecord(recordNumber, line));
+                if (chunk.size() == chunkSize) {
+                    processChunk(jobId, parser, chunk, errors);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(jobId, parser, chunk, errors);
+            }
+
+            AccountImportJob completed = findJob(jobId);
+            completed.setStatus(AccountImportJob.Status.COMPLETED);
+            completed.setCompletedAt(LocalDateTime.now());
+            importJobRepository.save(completed);
+            log.info("Import job {} completed: {} imported, {} rejected, {} duplicates", jobId,
+                    completed.getImportedRecords(), completed.getRejectedRecords(), completed.getDuplicateRecords());
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            markFailed(jobId, e.getMessage());
+        } finally {
+            evictAccountCaches();
+        }
+    }
+
+    private void processChunk(String jobId, AccountRecordParser parser, List<RawRecord> chunk, Writer errors)
+            throws IOException, InterruptedException, ExecutionException {
+        List<ParsedRecord> parsed = validationPool.submit(() -> chunk.parallelStream()
+                .map(record -> parseAndValidate(parser, record))
+                .toList()).get();
+
+        List<ParsedRecord> rejected = new ArrayList<>();
+        Map<String, ParsedRecord> candidates = new LinkedHashMap<>();
+        List<ParsedRecord> duplicates = new ArrayList<>();
+        for (ParsedRecord record : parsed) {
+            if (record.error() != null) {
+                rejected.add(record);
+            } else if (candidates.putIfAbsent(record.request().getAccountNumber(), record) != null) {
+                duplicates.add(record);
+            }
+        }
+
+        // Accounts on other shards commit first in their own transactions. If the job is
+        // resumed after a failure, those already created are reported as duplicates.
+        Map<Integer, List<ParsedRecord>> byShard = new TreeMap<>();
+        for (ParsedRecord record : candidates.values()) {
+            byShard.computeIfAbsent(accountShards.shardOf(record.request().getAccountNumber()), shard -> new ArrayList<>())
+                    .add(record);
+        }
+        int imported = 0;
+        for (Map.Entry<Integer, List<ParsedRecord>> shard : byShard.entrySet()) {
+            if (shard.getKey() != AccountShards.HOME) {
+                imported += accountShards.inTransaction(shard.getKey(), () -> insertAccounts(shard.getValue(), duplicates));
+            }
+        }
+
+        int importedOnOtherShards = imported;
+        List<ParsedRecord> home = byShard.getOrDefault(AccountShards.HOME, List.of());
+        transactionTemplate.executeWithoutResult(status -> {
+            int importedOnHome = insertAccounts(home, duplicates);
+            importJobRepository.recordChunk(jobId, chunk.size(), importedOnOtherShards + importedOnHome,
+                    rejected.size(), duplicates.size(), LocalDateTime.now());
+        });
+
+        // Written after commit; a crash in between loses report lines, never account data
+        for (ParsedRecord record : rejected) {
+            writeError(errors, record.recordNumber(), record.error());
+        }
+        for (ParsedRecord record : duplicates) {
+            writeError(errors, record.recordNumber(),
+                    "Account already exists with account number: " + record.request().getAccountNumber());
+        }
+        errors.flush();
+    }
+
+    /**
+     * Insert the records whose account numbers do not exist yet on the current shard
+     * @return the number of accounts created; the others are added to duplicates
+     */
+    private int insertAccounts(List<ParsedRecord> records, List<ParsedRecord> duplicates) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        Set<String> existing = bankAccountRepository.findExistingAccountNumbers(
+                records.stream().map(record -> record.request().getAccountNumber()).toList());
+
+        List<BankAccount> accounts = new ArrayList<>(records.size());
+        for (ParsedRecord record : records) {
+            if (existing.contains(record.request().getAccountNumber())) {
+                duplicates.add(record);
+            } else {
+                accounts.add(toAccount(record.request()));
+            }
+        }
+
+        bankAccountRepository.saveAll(accounts);
+        bankAccountRepository.flushAndClear();
+        accounts.forEach(account -> eventPublisher.publishEvent(AccountChangedEvent.created(account)));
+        return accounts.size();
+    }
+
+    private ParsedRecord parseAndValidate(AccountRecordParser parser, RawRecord record) {
+        BankAccountRequest request;
+        try {
+            request = parser.parse(record.line());
+        } catch (Exception e) {
+            return new ParsedRecord(record.recordNumber(), null, "Unreadable record: " + e.getMessage());
+        }
+
+        Set<ConstraintViolation<BankAccountRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParsedRecord(record.recordNumber(), null, message);
+        }
+        return new ParsedRecord(record.recordNumber(), request, null);
+    }
+
+    private static BankAccount toAccount(BankAccountRequest request) {
+        return BankAccount.builder()
+                .accountNumber(request.getAccountNumber())
+                .accountHolderName(request.getAccountHolderName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .balance(request.getInitialBalance())
+                .currency(request.getCurrency())
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private void writeError(Writer errors, long recordNumber, String message) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("record", recordNumber);
+        line.put("error", message);
+        errors.write(objectMapper.writeValueAsString(line));
+        errors.write('\n');
+    }
+
+    private void markFailed(String jobId, String message) {
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(AccountImportJob.Status.FAILED);
+            job.setFailureMessage(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+            importJobRepository.save(job);
+        });
+    }
+
+    private void evictAccountCaches() {
+        for (String name : List.of("accounts", "account-details")) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private AccountImportJob findJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException(jobId));
+    }
+
+    private Path dataFile(String jobId) {
+        return Paths.get(importDirectory, jobId + ".data");
+    }
+
+    private Path errorFile(String jobId) {
+        return Paths.get(importDirectory, jobId + ".errors.ndjson");
+    }
+
+    private record RawRecord(long recordNumber, String line) {
+    }
+
+    private record ParsedRecord(long recordNumber, BankAccountRequest request, String error) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.cache.CacheMultiGet;
+import com.example.bankingsystem.dto.AccountLookupRequest;
+import com.example.bankingsystem.dto.AccountLookupResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.exception.InvalidSearchCriteriaException;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up many accounts at once for callers that would otherwise make one
+ * {@code getAccountByAccountNumber} call per account. Cached accounts are read with one
+ * bulk cache read; the rest with one query per shard, falling back to the archive, and
+ * are then cached under the same keys the single lookups use.
+ */
+@Service
+@Slf4j
+public class AccountLookupService {
+
+    private static final String ACCOUNTS_CACHE = "accounts";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountArchiveService accountArchiveService;
+    private final AccountShards accountShards;
+    private final CacheManager cacheManager;
+    private final CacheMultiGet cacheMultiGet;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.lookup.max-keys:200}")
+    private int maxKeys;
+
+    public AccountLookupService(BankAccountRepository bankAccountRepository, AccountArchiveService accountArchiveService,
+                                AccountShards accountShards, CacheManager cacheManager, CacheMultiGet cacheMultiGet,
+                                PlatformTransactionManager transactionManager) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountArchiveService = accountArchiveService;
+        this.accountShards = accountShards;
+        this.cacheManager = cacheManager;
+        this.cacheMultiGet = cacheMultiGet;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Look up accounts by account number and by ID
+     * @param request the account numbers and IDs, at most {@code app.lookup.max-keys} in total
+     * @return the accounts found in the order requested, and the keys not found
+     */
+    public AccountLookupResponse lookup(AccountLookupRequest request) {
+        Set<String> accountNumbers = keys(request.getAccountNumbers());
+        Set<String> ids = keys(request.getIds());
+        int keys = accountNumbers.size() + ids.size();
+        if (keys == 0 || keys > maxKeys) {
+            throw new InvalidSearchCriteriaException("Lookups must name between 1 and " + maxKeys + " accounts");
+        }
+
+        Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        Map<String, BankAccountResponse> found = new HashMap<>();
+        if (cache != null) {
+            Set<String> allKeys = new LinkedHashSet<>(accountNumbers);
+            allKeys.addAll(ids);
+            found.putAll(cacheMultiGet.getAll(cache, allKeys, BankAccountResponse.class));
+        }
+
+        Map<String, BankAccountResponse> loaded = new HashMap<>();
+        loaded.putAll(loadByAccountNumber(missing(accountNumbers, found)));
+        loaded.putAll(loadById(missing(ids, found)));
+        if (cache != null) {
+            loaded.forEach(cache::put);
+        }
+        found.putAll(loaded);
+        log.debug("Looked up {} accounts: {} loaded from the database", keys, loaded.size());
+
+        List<BankAccountResponse> accounts = new ArrayList<>(keys);
+        List<String> notFound = new ArrayList<>();
+        for (Set<String> requested : List.of(accountNumbers, ids)) {
+            for (String key : requested) {
+                BankAccountResponse account = found.get(key);
+                if (account != null) {
+                    accounts.add(account);
+                } else {
+                    notFound.add(key);
+                }
+            }
+        }
+        return AccountLookupResponse.builder()
+                .accounts(accounts)
+                .notFound(notFound)
+                .build();
+    }
+
+    private static List<String> missing(Collection<String> keys, Map<String, BankAccountResponse> found) {
+        return keys.stream().filter(key -> !found.containsKey(key)).toList();
+    }
+
+    /**
+     * One query per shard owning any of the account numbers, plus one on its archive for those not found
+     */
+    private Map<String, BankAccountResponse> loadByAccountNumber(List<String> accountNumbers) {
+        Map<String, BankAccountResponse> loaded = new HashMap<>();
+        Map<Integer, List<String>> byShard = accountNumbers.stream()
+                .collect(Collectors.groupingBy(accountShards::shardOf));
+        byShard.forEach((shard, numbers) -> loaded.putAll(accountShards.onShard(shard,
+                () -> readOnlyTransaction.execute(status -> load(numbers, BankAccount::getAccountNumber,
+                        bankAccountRepository::findByAccountNumberIn, accountArchiveService::findAllByAccountNumber)))));
+        return loaded;
+    }
+
+    /**
+     * IDs do not name their shard, so every shard is asked for all of them
+     */
+    private Map<String, BankAccountResponse> loadById(List<String> ids) {
+        Map<String, BankAccountResponse> loaded = new HashMap<>();
+        if (!ids.isEmpty()) {
+            accountShards.scatter(shard -> readOnlyTransaction.execute(status -> load(ids, BankAccount::getId,
+                    bankAccountRepository::findAllById, accountArchiveService::findAllById)))
+                    .forEach(loaded::putAll);
+        }
+        return loaded;
+    }
+
+    private static Map<String, BankAccountResponse> load(List<String> keys, Function<BankAccount, String> keyOf,
+                                                         Function<List<String>, List<BankAccount>> active,
+                                                         Function<List<String>, List<BankAccount>> archived) {
+        Map<String, BankAccountResponse> loaded = new HashMap<>();
+        active.apply(keys).forEach(account -> loaded.put(keyOf.apply(account), BankAccountResponse.fromEntity(account)));
+        List<String> remaining = missing(keys, loaded);
+        if (!remaining.isEmpty()) {
+            archived.apply(remaining)
+                    .forEach(account -> loaded.put(keyOf.apply(account), BankAccountResponse.fromEntity(account)));
+        }
+        return loaded;
+    }
+
+    /**
+     * A list sent as JSON null names no accounts, as an omitted one does
+     */
+    private static Set<String> keys(List<String> requested) {
+        return requested != null ? new LinkedHashSet<>(requested) : new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.AccountFileFormat;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the records of an import file and turns each into a {@link BankAccountRequest}.
+ * An NDJSON record is one line; a CSV record continues across line breaks inside quoted
+ * fields. Instances are immutable after construction and safe to share between threads.
+ */
+class AccountRecordParser {
+
+    private static final String[] CSV_COLUMNS =
+            {"accountNumber", "accountHolderName", "email", "phoneNumber", "initialBalance", "currency"};
+
+    private final AccountFileFormat format;
+    private final ObjectMapper objectMapper;
+    private final int[] columnIndexes;
+
+    private AccountRecordParser(AccountFileFormat format, ObjectMapper objectMapper, int[] columnIndexes) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columnIndexes = columnIndexes;
+    }
+
+    /**
+     * Create a parser for the given format. For CSV the header line is consumed from
+     * the reader and used to locate the columns.
+     */
+    static AccountRecordParser open(AccountFileFormat format, ObjectMapper objectMapper, BufferedReader reader)
+            throws IOException {
+        if (format != AccountFileFormat.CSV) {
+            return new AccountRecordParser(format, objectMapper, null);
+        }
+
+        String header = readCsvRecord(reader);
+        if (header == null) {
+            throw new IOException("CSV file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i).trim(), i);
+        }
+
+        int[] indexes = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            indexes[i] = positions.getOrDefault(CSV_COLUMNS[i], -1);
+        }
+        if (indexes[0] < 0) {
+            throw new IOException("CSV header must contain an accountNumber column");
+        }
+        return new AccountRecordParser(format, objectMapper, indexes);
+    }
+
+    /**
+     * @return the next record of the file, or null at its end
+     */
+    String nextRecord(BufferedReader reader) throws IOException {
+        return format == AccountFileFormat.CSV ? readCsvRecord(reader) : reader.readLine();
+    }
+
+    /**
+     * Read lines until every quote opened in the record is closed. An escaped quote
+     * ({@code ""}) counts twice, so an odd count means a quoted field is still open.
+     * A quote left open at the end of the file ends the record there.
+     */
+    private static String readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null || quoteCount(line) % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        long quotes = quoteCount(line);
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += quoteCount(line);
+        }
+        return record.toString();
+    }
+
+    private static long quoteCount(String line) {
+        return line.chars().filter(c -> c == '"').count();
+    }
+
+    BankAccountRequest parse(String line) throws IOException {
+        if (format != AccountFileFormat.CSV) {
+            return objectMapper.readValue(line, BankAccountRequest.class);
+        }
+
+        List<String> fields = splitCsv(line);
+        String balance = column(fields, 4);
+        return BankAccountRequest.builder()
+                .accountNumber(column(fields, 0))
+                .accountHolderName(column(fields, 1))
+                .email(column(fields, 2))
+                .phoneNumber(column(fields, 3))
+                .initialBalance(balance != null ? new BigDecimal(balance) : null)
+                .currency(column(fields, 5))
+                .build();
+    }
+
+    private String column(List<String> fields, int column) {
+        int index = columnIndexes[column];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
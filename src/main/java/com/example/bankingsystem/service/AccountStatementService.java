@@ -0,0 +1,235 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.AccountBalanceResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.StatementEntryResponse;
+import com.example.bankingsystem.entity.BalanceHistoryEntry;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.InvalidSearchCriteriaException;
+import com.example.bankingsystem.repository.BalanceHistoryRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records every change to an account's balance in {@code balance_history} and serves
+ * statements and historical balances from it. Statements are paged by keyset, so a page
+ * costs the same however far into the history it starts, and are streamed in chunks.
+ * When sharded, the history of an account lives on the account's shard.
+ */
+@Service
+@Slf4j
+public class AccountStatementService {
+
+    private static final char CURSOR_SEPARATOR = '_';
+
+    private final BalanceHistoryRepository balanceHistoryRepository;
+    private final BankAccountService bankAccountService;
+    private final AccountShards accountShards;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.statement.default-period:30d}")
+    private Duration defaultPeriod;
+
+    @Value("${app.statement.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.statement.fetch-size:500}")
+    private int fetchSize;
+
+    public AccountStatementService(BalanceHistoryRepository balanceHistoryRepository,
+                                   BankAccountService bankAccountService, AccountShards accountShards,
+                                   ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.balanceHistoryRepository = balanceHistoryRepository;
+        this.bankAccountService = bankAccountService;
+        this.accountShards = accountShards;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Record the balance change within the publisher's transaction, so it commits or rolls
+     * back with the change. Events stored by their publisher have their entry written there.
+     */
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!event.isStored() && BalanceHistoryEntry.records(event)) {
+            balanceHistoryRepository.save(BalanceHistoryEntry.from(event));
+        }
+    }
+
+    /**
+     * Get the balance of an account just before a point in time
+     * @param accountNumber the account number
+     * @param asOf the point in time; changes at or after it are not included
+     * @return the balance
+     */
+    public AccountBalanceResponse getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        BankAccountResponse account = bankAccountService.getAccountByAccountNumber(accountNumber);
+        BigDecimal balance = onShardOf(accountNumber, () -> balanceBefore(account, asOf));
+        return AccountBalanceResponse.builder()
+                .accountNumber(accountNumber)
+                .currency(account.getCurrency())
+                .asOf(asOf)
+                .balance(balance)
+                .build();
+    }
+
+    /**
+     * Prepare a page of an account's statement. The account and parameters are checked and
+     * the opening balance looked up before anything is written, so errors can still be reported.
+     * @param accountNumber the account number
+     * @param from inclusive start of the period, or null for {@code app.statement.default-period} before {@code to}
+     * @param to exclusive end of the period, or null for now
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit the maximum number of entries on the page
+     * @return the statement page, ready to be written
+     */
+    public Statement getStatement(String accountNumber, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (limit < 1 || limit > maxEntries) {
+            throw new InvalidSearchCriteriaException("Statement limit must be between 1 and " + maxEntries);
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(defaultPeriod);
+        if (!start.isBefore(end)) {
+            throw new InvalidSearchCriteriaException("Statement period must start before it ends");
+        }
+
+        BankAccountResponse account = bankAccountService.getAccountByAccountNumber(accountNumber);
+        Statement statement = new Statement(account, start, end, limit);
+        if (cursor != null) {
+            statement.resumeAfter(cursor);
+        }
+        // The balance before the first entry of the page
+        statement.openingBalance = onShardOf(accountNumber, () -> cursor != null
+                ? balanceHistoryRepository.findById(statement.afterId)
+                        .filter(entry -> entry.getAccountNumber().equals(accountNumber))
+                        .map(BalanceHistoryEntry::getBalance)
+                        .orElseThrow(() -> new InvalidSearchCriteriaException("Unknown statement cursor: " + cursor))
+                : balanceBefore(account, start));
+        return statement;
+    }
+
+    /**
+     * The balance of the last entry before the given time. Without one, the balance before
+     * the first entry after it; accounts with no entries at all have their current balance.
+     */
+    private BigDecimal balanceBefore(BankAccountResponse account, LocalDateTime time) {
+        String accountNumber = account.getAccountNumber();
+        return balanceHistoryRepository
+                .findFirstByAccountNumberAndOccurredAtBeforeOrderByOccurredAtDescIdDesc(accountNumber, time)
+                .map(BalanceHistoryEntry::getBalance)
+                .or(() -> balanceHistoryRepository
+                        .findFirstByAccountNumberAndOccurredAtGreaterThanEqualOrderByOccurredAtAscIdAsc(accountNumber, time)
+                        .map(entry -> entry.getBalance().subtract(entry.getDelta())))
+                .orElse(account.getBalance());
+    }
+
+    private <T> T onShardOf(String accountNumber, Supplier<T> work) {
+        return accountShards.onShard(accountShards.shardOf(accountNumber),
+                () -> readOnlyTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * One page of a statement, written as a JSON object whose entries are read and written
+     * {@code app.statement.fetch-size} at a time, each chunk in a short transaction of its own
+     */
+    public final class Statement {
+
+        private final BankAccountResponse account;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final int limit;
+        private LocalDateTime afterTime;
+        private long afterId;
+        private BigDecimal openingBalance;
+
+        private Statement(BankAccountResponse account, LocalDateTime from, LocalDateTime to, int limit) {
+            this.account = account;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+            this.afterTime = from;
+        }
+
+        private void resumeAfter(String cursor) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                afterTime = LocalDateTime.parse(cursor.substring(0, separator));
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new InvalidSearchCriteriaException("Invalid statement cursor: " + cursor);
+            }
+            if (afterTime.isBefore(from)) {
+                throw new InvalidSearchCriteriaException("Statement cursor is before the start of the period");
+            }
+        }
+
+        /**
+         * @return the number of entries written
+         */
+        public int writeTo(OutputStream outputStream) throws IOException {
+            String accountNumber = account.getAccountNumber();
+            int written = 0;
+            BigDecimal closingBalance = openingBalance;
+            String nextCursor = null;
+
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeStringField("accountNumber", accountNumber);
+                generator.writeStringField("currency", account.getCurrency());
+                generator.writeObjectField("from", from);
+                generator.writeObjectField("to", to);
+                generator.writeObjectField("openingBalance", openingBalance);
+                generator.writeArrayFieldStart("entries");
+
+                List<BalanceHistoryEntry> chunk;
+                int size;
+                do {
+                    size = Math.min(fetchSize, limit - written);
+                    PageRequest page = PageRequest.of(0, size);
+                    chunk = onShardOf(accountNumber, () -> balanceHistoryRepository.findPage(
+                            accountNumber, afterTime, afterId, to, page));
+                    for (BalanceHistoryEntry entry : chunk) {
+                        generator.writeObject(StatementEntryResponse.fromEntity(entry));
+                        afterTime = entry.getOccurredAt();
+                        afterId = entry.getId();
+                        closingBalance = entry.getBalance();
+                    }
+                    written += chunk.size();
+                    generator.flush();
+                } while (chunk.size() == size && written < limit);
+
+                if (written == limit) {
+                    nextCursor = afterTime.toString() + CURSOR_SEPARATOR + afterId;
+                }
+                generator.writeEndArray();
+                generator.writeObjectField("closingBalance", closingBalance);
+                generator.writeStringField("nextCursor", nextCursor);
+                generator.writeEndObject();
+            }
+
+            log.debug("Wrote statement page of {} entries for account {}", written, accountNumber);
+            return written;
+        }
+    }
+}
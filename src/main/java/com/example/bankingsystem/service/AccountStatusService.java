@@ -0,0 +1,183 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.dto.BulkStatusChangeRequest;
+import com.example.bankingsystem.dto.BulkStatusChangeResponse;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.BankAccountException;
+import com.example.bankingsystem.metrics.LockMetrics;
+import com.example.bankingsystem.repository.AccountStatusRow;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Suspends, closes or reactivates many accounts at once. Each chunk of matching accounts
+ * is locked by reading only the columns needed, changed with one set-based UPDATE and
+ * committed on its own, after which only the affected cache entries are evicted. When
+ * accounts are sharded, each shard is processed in turn.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountStatusService {
+
+    private static final String LOCK = "status-change";
+
+    // Statuses an account may be moved out of, per target status. Closed accounts stay closed.
+    private static final Map<BankAccount.AccountStatus, Set<BankAccount.AccountStatus>> SOURCE_STATUSES = Map.of(
+            BankAccount.AccountStatus.ACTIVE,
+            EnumSet.of(BankAccount.AccountStatus.INACTIVE, BankAccount.AccountStatus.SUSPENDED),
+            BankAccount.AccountStatus.SUSPENDED,
+            EnumSet.of(BankAccount.AccountStatus.ACTIVE, BankAccount.AccountStatus.INACTIVE),
+            BankAccount.AccountStatus.CLOSED,
+            EnumSet.of(BankAccount.AccountStatus.ACTIVE, BankAccount.AccountStatus.INACTIVE,
+                    BankAccount.AccountStatus.SUSPENDED));
+
+    private final BankAccountRepository bankAccountRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final AccountShards accountShards;
+    private final AccountArchiveService accountArchiveService;
+    private final LockMetrics lockMetrics;
+
+    @Value("${app.bulk.status-chunk-size:1000}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusChangeResponse changeStatus(BulkStatusChangeRequest request) {
+        BankAccount.AccountStatus target = request.getStatus();
+        Set<BankAccount.AccountStatus> sources = SOURCE_STATUSES.get(target);
+        if (sources == null) {
+            throw new BankAccountException("Accounts can only be moved to " + SOURCE_STATUSES.keySet()
+                    + " in bulk, not " + target);
+        }
+
+        boolean byIds = request.getAccountIds() != null && !request.getAccountIds().isEmpty();
+        BankAccountSearchRequest criteria = request.getCriteria();
+        if (byIds == (criteria != null)) {
+            throw new BankAccountException("Specify either accountIds or criteria to select accounts");
+        }
+        if (!byIds && !criteria.hasSearchCriteria()) {
+            throw new BankAccountException("Criteria must contain at least one filter");
+        }
+
+        log.info("Changing status of accounts to {} by {}", target, byIds ? "ID list" : "criteria " + criteria);
+
+        List<String> ids = byIds ? request.getAccountIds().stream().distinct().toList() : null;
+        long updated = 0;
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            if (ids != null) {
+                // Archived accounts named by ID are moved back to the account table first
+                accountShards.onShard(shard, () -> transactionTemplate.execute(status ->
+                        accountArchiveService.restore(ids, sources)));
+            }
+            updated += accountShards.onShard(shard, () -> changeStatusOnShard(target, sources, ids, criteria));
+        }
+
+        log.info("Changed status of {} accounts to {}", updated, target);
+
+        return BulkStatusChangeResponse.builder()
+                .status(target)
+                .updated(updated)
+                .build();
+    }
+
+    /**
+     * Change the matching accounts on the current shard, selected by ID when ids is not null
+     */
+    private long changeStatusOnShard(BankAccount.AccountStatus target, Set<BankAccount.AccountStatus> sources,
+                                     List<String> ids, BankAccountSearchRequest criteria) {
+        long updated = 0;
+        if (ids != null) {
+            for (int start = 0; start < ids.size(); start += chunkSize) {
+                List<String> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+                updated += applyChunk(target,
+                        () -> bankAccountRepository.lockForStatusChange(chunk, sources)).size();
+            }
+        } else {
+            String afterId = null;
+            List<AccountStatusRow> rows;
+            do {
+                String from = afterId;
+                rows = applyChunk(target,
+                        () -> bankAccountRepository.lockForStatusChange(criteria, sources, from, chunkSize));
+                updated += rows.size();
+                afterId = rows.isEmpty() ? null : rows.get(rows.size() - 1).id();
+            } while (rows.size() == chunkSize);
+        }
+        return updated;
+    }
+
+    /**
+     * Lock, update and commit one chunk, then evict the cache entries of the changed accounts
+     */
+    private List<AccountStatusRow> applyChunk(BankAccount.AccountStatus target,
+                                              Supplier<List<AccountStatusRow>> locker) {
+        List<AccountStatusRow> rows = transactionTemplate.execute(status -> {
+            List<AccountStatusRow> locked = lockMetrics.time(LOCK, locker);
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            LocalDateTime now = BankAccount.now();
+            bankAccountRepository.updateStatus(locked.stream().map(AccountStatusRow::id).toList(), target, now);
+            // Published inside the transaction so after-commit listeners see them once it commits
+            for (AccountStatusRow row : locked) {
+                eventPublisher.publishEvent(AccountChangedEvent.builder()
+                        .type(AccountChangedEvent.Type.STATUS_CHANGED)
+                        .accountId(row.id())
+                        .accountNumber(row.accountNumber())
+                        .currency(row.currency())
+                        .previousStatus(row.status())
+                        .status(target)
+                        .previousBalance(row.balance())
+                        .balance(row.balance())
+                        .occurredAt(now)
+                        .build());
+            }
+            return locked;
+        });
+
+        evict(rows);
+        return rows;
+    }
+
+    private void evict(List<AccountStatusRow> rows) {
+        Cache accounts = cacheManager.getCache("accounts");
+        Cache details = cacheManager.getCache("account-details");
+        for (AccountStatusRow row : rows) {
+            // Summaries are cached under both the account number and the ID
+            if (accounts != null) {
+                accounts.evict(row.accountNumber());
+                accounts.evict(row.id());
+            }
+            if (details != null) {
+                details.evict(row.accountNumber());
+            }
+        }
+    }
+}
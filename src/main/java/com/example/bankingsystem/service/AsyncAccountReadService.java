@@ -0,0 +1,132 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.datasource.ReadYourWritesTracker;
+import com.example.bankingsystem.dto.BankAccountPagedResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.exception.ReadCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Account reads for callers that must not wait on the database. Reads answered by the
+ * {@code accounts} cache complete on the calling thread; the rest, and all searches, run on
+ * a pool of {@code app.async-read.threads} threads, sized to the connections they may use,
+ * behind a queue of {@code app.async-read.queue-capacity}. A read that finds the queue full
+ * fails at once with {@link ReadCapacityExceededException} rather than waiting for room.
+ */
+@Service
+@Slf4j
+public class AsyncAccountReadService implements DisposableBean {
+
+    public static final String REQUESTS = "banking.async.read.requests";
+    public static final String REJECTED = "banking.async.read.rejected";
+
+    private static final String ACCOUNTS_CACHE = "accounts";
+
+    private final BankAccountService bankAccountService;
+    private final CacheManager cacheManager;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ThreadPoolExecutor executor;
+    private final Counter cached;
+    private final Counter offloaded;
+    private final Counter rejected;
+
+    public AsyncAccountReadService(BankAccountService bankAccountService, CacheManager cacheManager,
+                                   ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.async-read.threads:10}") int threads,
+                                   @Value("${app.async-read.queue-capacity:1000}") int queueCapacity) {
+        this.bankAccountService = bankAccountService;
+        this.cacheManager = cacheManager;
+        this.readYourWritesTracker = readYourWritesTracker.getIfAvailable();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "account-read-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.cached = Counter.builder(REQUESTS).tag("source", "cache").register(meterRegistry);
+        this.offloaded = Counter.builder(REQUESTS).tag("source", "pool").register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED).register(meterRegistry);
+        Gauge.builder("banking.async.read.queued", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<BankAccountResponse> getAccountByAccountNumber(String accountNumber) {
+        return cachedOrOffloaded(accountNumber, () -> bankAccountService.getAccountByAccountNumber(accountNumber));
+    }
+
+    public CompletableFuture<BankAccountResponse> getAccountById(String id) {
+        return cachedOrOffloaded(id, () -> bankAccountService.getAccountById(id));
+    }
+
+    /**
+     * Search results are not cached, so searches always run on the pool
+     */
+    public CompletableFuture<BankAccountPagedResponse> searchAccounts(BankAccountSearchRequest searchRequest) {
+        return offload(() -> bankAccountService.searchAccounts(searchRequest));
+    }
+
+    /**
+     * Accounts are cached under both their account number and their ID
+     */
+    private CompletableFuture<BankAccountResponse> cachedOrOffloaded(String key, Supplier<BankAccountResponse> load) {
+        Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        BankAccountResponse account = cache != null ? cache.get(key, BankAccountResponse.class) : null;
+        if (account != null) {
+            cached.increment();
+            return CompletableFuture.completedFuture(account);
+        }
+        return offload(load);
+    }
+
+    private <T> CompletableFuture<T> offload(Supplier<T> read) {
+        // Replica routing follows the client the request was bound to
+        String client = readYourWritesTracker != null ? readYourWritesTracker.currentClient() : null;
+        try {
+            CompletableFuture<T> result = CompletableFuture.supplyAsync(() -> onBehalfOf(client, read), executor);
+            offloaded.increment();
+            return result;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("Rejected read with {} queued", executor.getQueue().size());
+            return CompletableFuture.failedFuture(new ReadCapacityExceededException());
+        }
+    }
+
+    private <T> T onBehalfOf(String client, Supplier<T> read) {
+        if (client == null) {
+            return read.get();
+        }
+        readYourWritesTracker.bind(client);
+        try {
+            return read.get();
+        } finally {
+            readYourWritesTracker.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.AccountFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes account rows one at a time so exports never buffer the full result set
+ */
+@Component
+@RequiredArgsConstructor
+public class BankAccountExportWriter {
+
+    private static final String CSV_HEADER =
+            "id,accountNumber,accountHolderName,email,phoneNumber,balance,currency,status,createdAt,updatedAt";
+
+    private final ObjectMapper objectMapper;
+
+    public void writeHeader(Writer writer, AccountFileFormat format) throws IOException {
+        if (format == AccountFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void writeRow(Writer writer, AccountFileFormat format, BankAccountResponse account) throws IOException {
+        if (format == AccountFileFormat.CSV) {
+            writeCsvRow(writer, account);
+        } else {
+            writer.write(objectMapper.writeValueAsString(account));
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsvRow(Writer writer, BankAccountResponse account) throws IOException {
+        writeCsvField(writer, account.getId());
+        writer.write(',');
+        writeCsvField(writer, account.getAccountNumber());
+        writer.write(',');
+        writeCsvField(writer, account.getAccountHolderName());
+        writer.write(',');
+        writeCsvField(writer, account.getEmail());
+        writer.write(',');
+        writeCsvField(writer, account.getPhoneNumber());
+        writer.write(',');
+        writeCsvField(writer, account.getBalance() != null ? account.getBalance().toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, account.getCurrency());
+        writer.write(',');
+        writeCsvField(writer, account.getStatus() != null ? account.getStatus().name() : null);
+        writer.write(',');
+        writeCsvField(writer, account.getCreatedAt() != null ? account.getCreatedAt().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, account.getUpdatedAt() != null ? account.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -4,7 +4,11 @@ import com.example.bankingsystem.dto.*;
 import com.example.bankingsystem.entity.BankAccount;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 public interface BankAccountService {
 
@@ -17,6 +21,14 @@ public interface BankAccountService {
 
 
 
+    /**
+     * Create many accounts in one transaction. Duplicates are checked with a single
+     * set-based query per chunk and skipped; the rest are inserted with JDBC batching.
+     * @param request the accounts to create
+     * @return counts of created accounts and the skipped duplicate account numbers
+     */
+    BulkAccountResponse createAccounts(BulkAccountRequest request);
+
     /**
      * Get account by account number
      * @param accountNumber the account number
@@ -46,6 +58,19 @@ public interface BankAccountService {
      */
     BankAccountResponse updateAccountByAccountNumber(String accountNumber, BankAccountUpdateRequest request);
 
+    /**
+     * Update account details by account number, only if the account is still at one of the
+     * versions the caller has seen. The check and the update are one conditional statement,
+     * so concurrent updates cannot overwrite each other without either holding a lock.
+     * @param accountNumber the account number
+     * @param request the update request
+     * @param expectedVersions the {@code updatedAt} values the caller accepts
+     * @return the updated account response
+     * @throws com.example.bankingsystem.exception.AccountModifiedException if the account is at another version
+     */
+    BankAccountResponse updateAccountByAccountNumber(String accountNumber, BankAccountUpdateRequest request,
+                                                     Collection<LocalDateTime> expectedVersions);
+
     /**
      * Delete account by ID
      * @param id the account ID
@@ -61,6 +86,15 @@ public interface BankAccountService {
      */
     boolean transferFunds(FundTransferRequest request);
 
+    /**
+     * Transfer funds between accounts, returning rather than throwing the expected rejections:
+     * same account, unknown or inactive account, currency mismatch and insufficient funds.
+     * Nothing is changed when the transfer is rejected.
+     * @param request the fund transfer request
+     * @return the outcome of the transfer
+     */
+    TransferResult tryTransferFunds(FundTransferRequest request);
+
     /**
      * Search accounts with complex criteria including pagination
      * Supports filtering by account holder name, account number, status, currency,
@@ -70,4 +104,15 @@ public interface BankAccountService {
      */
     BankAccountPagedResponse searchAccounts(BankAccountSearchRequest searchRequest);
 
+    /**
+     * Stream every account matching the search criteria to the given output stream.
+     * Pagination parameters are ignored; rows are written as they are read from a
+     * forward-only cursor so memory use does not grow with the result size.
+     * @param searchRequest the search criteria and sort order
+     * @param format the output format
+     * @param outputStream the stream to write to
+     * @return the number of exported accounts
+     */
+    long exportAccounts(BankAccountSearchRequest searchRequest, AccountFileFormat format, OutputStream outputStream) throws IOException;
+
 }
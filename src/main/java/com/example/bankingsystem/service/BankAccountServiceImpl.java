@@ -1,14 +1,20 @@
 package com.example.bankingsystem.service;
 
+import com.example.bankingsystem.audit.AuditLog;
 import com.example.bankingsystem.dto.*;
 import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
 import com.example.bankingsystem.exception.*;
+import com.example.bankingsystem.metrics.LockMetrics;
 import com.example.bankingsystem.repository.BankAccountRepository;
 import com.example.bankingsystem.repository.BankAccountSpecification;
+import com.example.bankingsystem.sharding.AccountShards;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,11 +24,26 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,16 +51,38 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BankAccountServiceImpl implements BankAccountService {
 
+    static final String TRANSFER_LOCK = "transfer";
+
     private final BankAccountRepository bankAccountRepository;
+    private final BankAccountExportWriter exportWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountShards accountShards;
+    private final CrossShardTransferService crossShardTransferService;
+    private final JournaledTransferService journaledTransferService;
+    private final AccountArchiveService accountArchiveService;
+    private final LockMetrics lockMetrics;
+    private final AuditLog auditLog;
+
+    @Value("${app.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${app.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${app.export.flush-interval:1000}")
+    private int exportFlushInterval;
 
     @Override
     @Transactional
     @CacheEvict(value = {"accounts", "account-details"}, allEntries = true)
     public BankAccountResponse createAccount(BankAccountRequest request) {
         log.info("Creating new account with number: {}", request.getAccountNumber());
+        accountShards.useShardOf(request.getAccountNumber());
 
-        // Check for duplicate account number
-        if (bankAccountRepository.findByAccountNumber(request.getAccountNumber()).isPresent()) {
+        // Check for duplicate account number; archived accounts keep theirs, so it is never issued again
+        if (bankAccountRepository.findByAccountNumber(request.getAccountNumber())
+                .or(() -> accountArchiveService.findByAccountNumber(request.getAccountNumber()))
+                .isPresent()) {
             throw new DuplicateAccountException(request.getAccountNumber());
         }
 
@@ -55,18 +98,101 @@ public class BankAccountServiceImpl implements BankAccountService {
 
         BankAccount savedAccount = bankAccountRepository.save(account);
         log.info("Account created successfully with ID: {}", savedAccount.getId());
+        eventPublisher.publishEvent(AccountChangedEvent.created(savedAccount));
 
         return BankAccountResponse.fromEntity(savedAccount);
     }
 
 
 
+    @Override
+    @Transactional
+    @CacheEvict(value = {"accounts", "account-details"}, allEntries = true)
+    public BulkAccountResponse createAccounts(BulkAccountRequest request) {
+        List<BankAccountRequest> requests = request.getAccounts();
+        log.info("Creating {} accounts in bulk", requests.size());
+
+        // Collapse repeats within the request, keeping the first occurrence
+        Map<String, BankAccountRequest> unique = new LinkedHashMap<>();
+        List<String> duplicates = new ArrayList<>();
+        for (BankAccountRequest accountRequest : requests) {
+            if (unique.putIfAbsent(accountRequest.getAccountNumber(), accountRequest) != null) {
+                duplicates.add(accountRequest.getAccountNumber());
+            }
+        }
+
+        List<BankAccountRequest> pending = new ArrayList<>(unique.values());
+        int created = 0;
+
+        if (!accountShards.isSharded()) {
+            created = insertNewAccounts(pending, duplicates);
+        } else {
+            // One transaction per shard, so a failure can leave earlier shards' accounts created
+            Map<Integer, List<BankAccountRequest>> byShard = pending.stream().collect(Collectors.groupingBy(
+                    accountRequest -> accountShards.shardOf(accountRequest.getAccountNumber()),
+                    TreeMap::new, Collectors.toList()));
+            for (Map.Entry<Integer, List<BankAccountRequest>> shard : byShard.entrySet()) {
+                created += accountShards.inTransaction(shard.getKey(),
+                        () -> insertNewAccounts(shard.getValue(), duplicates));
+            }
+        }
+
+        log.info("Bulk account creation finished: {} created, {} duplicates skipped", created, duplicates.size());
+
+        return BulkAccountResponse.builder()
+                .requested(requests.size())
+                .created(created)
+                .duplicateAccountNumbers(duplicates)
+                .build();
+    }
+
+    /**
+     * Insert the accounts whose numbers do not exist yet, in chunks sent as JDBC batches
+     * @return the number of accounts created; skipped account numbers are added to duplicates
+     */
+    private int insertNewAccounts(List<BankAccountRequest> pending, List<String> duplicates) {
+        int created = 0;
+
+        for (int start = 0; start < pending.size(); start += bulkChunkSize) {
+            List<BankAccountRequest> chunk = pending.subList(start, Math.min(start + bulkChunkSize, pending.size()));
+
+            Set<String> existing = bankAccountRepository.findExistingAccountNumbers(
+                    chunk.stream().map(BankAccountRequest::getAccountNumber).toList());
+
+            List<BankAccount> accounts = new ArrayList<>(chunk.size());
+            for (BankAccountRequest accountRequest : chunk) {
+                if (existing.contains(accountRequest.getAccountNumber())) {
+                    duplicates.add(accountRequest.getAccountNumber());
+                    continue;
+                }
+                accounts.add(BankAccount.builder()
+                        .accountNumber(accountRequest.getAccountNumber())
+                        .accountHolderName(accountRequest.getAccountHolderName())
+                        .email(accountRequest.getEmail())
+                        .phoneNumber(accountRequest.getPhoneNumber())
+                        .balance(accountRequest.getInitialBalance())
+                        .currency(accountRequest.getCurrency())
+                        .status(BankAccount.AccountStatus.ACTIVE)
+                        .build());
+            }
+
+            bankAccountRepository.saveAll(accounts);
+            // Send the chunk as JDBC batches and keep the persistence context small
+            bankAccountRepository.flushAndClear();
+            accounts.forEach(account -> eventPublisher.publishEvent(AccountChangedEvent.created(account)));
+            created += accounts.size();
+        }
+        return created;
+    }
+
     @Override
     @Cacheable(value = "accounts", key = "#accountNumber")
     public BankAccountResponse getAccountByAccountNumber(String accountNumber) {
         log.debug("Fetching account by account number: {}", accountNumber);
+        accountShards.useShardOf(accountNumber);
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
+                .or(() -> accountArchiveService.findByAccountNumber(accountNumber))
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber));
 
         return BankAccountResponse.fromEntity(account);
@@ -76,8 +202,10 @@ public class BankAccountServiceImpl implements BankAccountService {
     @Cacheable(value = "accounts", key = "#id")
     public BankAccountResponse getAccountById(String id) {
         log.debug("Fetching account by ID: {}", id);
+        useShardOfAccountId(id);
 
         BankAccount account = bankAccountRepository.findById(id)
+                .or(() -> accountArchiveService.findById(id))
                 .orElseThrow(() -> new AccountNotFoundException("ID: " + id));
 
         return BankAccountResponse.fromEntity(account);
@@ -87,8 +215,10 @@ public class BankAccountServiceImpl implements BankAccountService {
     @Cacheable(value = "account-details", key = "#accountNumber")
     public BankAccountDetailedResponse getAccountDetails(String accountNumber) {
         log.debug("Fetching detailed account information for account number: {}", accountNumber);
+        accountShards.useShardOf(accountNumber);
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
+                .or(() -> accountArchiveService.findByAccountNumber(accountNumber))
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber));
 
         return BankAccountDetailedResponse.fromEntity(account);
@@ -99,6 +229,7 @@ public class BankAccountServiceImpl implements BankAccountService {
     @CacheEvict(value = {"accounts", "account-details"}, key = "#accountNumber")
     public BankAccountResponse updateAccountByAccountNumber(String accountNumber, BankAccountUpdateRequest request) {
         log.info("Updating account with account number: {}", accountNumber);
+        accountShards.useShardOf(accountNumber);
 
         BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber));
@@ -114,25 +245,72 @@ public class BankAccountServiceImpl implements BankAccountService {
 
         BankAccount updatedAccount = bankAccountRepository.save(account);
         log.info("Account updated successfully with account number: {}", updatedAccount.getAccountNumber());
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangedEvent.Type.UPDATED, updatedAccount,
+                updatedAccount.getStatus(), updatedAccount.getBalance()));
 
         return BankAccountResponse.fromEntity(updatedAccount);
     }
 
+    @Override
+    @Transactional
+    @CacheEvict(value = {"accounts", "account-details"}, key = "#accountNumber")
+    public BankAccountResponse updateAccountByAccountNumber(String accountNumber, BankAccountUpdateRequest request,
+                                                            Collection<LocalDateTime> expectedVersions) {
+        log.info("Updating account with account number: {} if at one of versions {}", accountNumber, expectedVersions);
+        accountShards.useShardOf(accountNumber);
+
+        BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+
+        if (account.getStatus() != BankAccount.AccountStatus.ACTIVE) {
+            throw new AccountInactiveException(account.getAccountNumber(), account.getStatus());
+        }
+        if (!expectedVersions.contains(account.getUpdatedAt())) {
+            throw new AccountModifiedException(accountNumber);
+        }
+
+        // Matches no row if another writer changed the account after it was read above
+        LocalDateTime updatedAt = BankAccount.now();
+        if (bankAccountRepository.updateDetailsIfUnchanged(account.getId(), request.getAccountHolderName(),
+                request.getEmail(), request.getPhoneNumber(), account.getUpdatedAt(), updatedAt) == 0) {
+            throw new AccountModifiedException(accountNumber);
+        }
+
+        // Detached by the update, so these changes are not written again
+        account.setAccountHolderName(request.getAccountHolderName());
+        account.setEmail(request.getEmail());
+        account.setPhoneNumber(request.getPhoneNumber());
+        account.setUpdatedAt(updatedAt);
+        log.info("Account updated successfully with account number: {}", accountNumber);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangedEvent.Type.UPDATED, account,
+                account.getStatus(), account.getBalance()));
+
+        return BankAccountResponse.fromEntity(account);
+    }
+
     @Override
     @Transactional
     @CacheEvict(value = {"accounts", "account-details"}, allEntries = true)
     public void deleteAccount(String id) {
         log.info("Deleting account with ID: {}", id);
+        useShardOfAccountId(id);
 
         BankAccount account = bankAccountRepository.findById(id)
                 .orElseThrow(() -> new AccountNotFoundException("ID: " + id));
 
+        // No journaled transfer may reach the account from here on, and none may be left to apply to it
+        if (!journaledTransferService.retire(account.getAccountNumber(), account.getBalance())) {
+            throw new AccountModifiedException(account.getAccountNumber());
+        }
+
         // Check if account has balance
         if (account.getBalance().compareTo(BigDecimal.ZERO) > 0) {
-            throw new BankAccountException("Cannot delete account with positive balance. Current balance: " + account.getBalance());
+            throw new BankAccountException("Cannot delete account with positive balance. Current balance: "
+                    + account.getBalance());
         }
 
         bankAccountRepository.delete(account);
+        eventPublisher.publishEvent(AccountChangedEvent.deleted(account));
         log.info("Account deleted successfully with ID: {}", id);
     }
 
@@ -141,12 +319,45 @@ public class BankAccountServiceImpl implements BankAccountService {
     @Override
     @Transactional
     public boolean transferFunds(FundTransferRequest request) {
-        log.info("Processing fund transfer from {} to {} for amount: {}",
-                request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+        // Runs in this method's transaction, which the thrown rejection rolls back
+        tryTransferFunds(request).throwIfRejected();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public TransferResult tryTransferFunds(FundTransferRequest request) {
+        // Completed transfers are audited once committed, from their balance change events
+        TransferResult result = transfer(request);
+        if (!result.isCompleted()) {
+            auditLog.diagnostic("transfer.rejected", request.getFromAccountNumber(), request.getToAccountNumber(),
+                    request.getAmount(), result.getRejection().getMessage());
+        }
+        return result;
+    }
 
+    private TransferResult transfer(FundTransferRequest request) {
         // Prevent self-transfer
         if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
-            throw new BankAccountException("Cannot transfer funds to the same account");
+            return TransferResult.rejected(new BankAccountException("Cannot transfer funds to the same account"));
+        }
+
+        // Neither path joins this transaction, and both reject before changing anything
+        try {
+            // Acknowledged once journaled; the balances reach the database asynchronously
+            if (journaledTransferService.isEnabled()) {
+                journaledTransferService.transfer(request);
+                return TransferResult.completed();
+            }
+
+            int fromShard = accountShards.shardOf(request.getFromAccountNumber());
+            if (fromShard != accountShards.shardOf(request.getToAccountNumber())) {
+                crossShardTransferService.transfer(request);
+                return TransferResult.completed();
+            }
+            accountShards.useShard(fromShard);
+        } catch (BankAccountException e) {
+            return TransferResult.rejected(e);
         }
 
         // Use pessimistic locking to prevent concurrent modification issues
@@ -154,11 +365,17 @@ public class BankAccountServiceImpl implements BankAccountService {
         List<String> accountNumbers = Arrays.asList(request.getFromAccountNumber(), request.getToAccountNumber());
         accountNumbers.sort(Comparator.naturalOrder());
 
-        BankAccount fromAccount = bankAccountRepository.findByAccountNumberWithLock(accountNumbers.get(0))
-                .orElseThrow(() -> new AccountNotFoundException(accountNumbers.get(0)));
+        BankAccount fromAccount = lockMetrics.time(TRANSFER_LOCK,
+                () -> bankAccountRepository.findByAccountNumberWithLock(accountNumbers.get(0))).orElse(null);
+        if (fromAccount == null) {
+            return TransferResult.rejected(new AccountNotFoundException(accountNumbers.get(0)));
+        }
 
-        BankAccount toAccount = bankAccountRepository.findByAccountNumberWithLock(accountNumbers.get(1))
-                .orElseThrow(() -> new AccountNotFoundException(accountNumbers.get(1)));
+        BankAccount toAccount = lockMetrics.time(TRANSFER_LOCK,
+                () -> bankAccountRepository.findByAccountNumberWithLock(accountNumbers.get(1))).orElse(null);
+        if (toAccount == null) {
+            return TransferResult.rejected(new AccountNotFoundException(accountNumbers.get(1)));
+        }
 
         // Verify the accounts are the correct ones (since we sorted)
         if (fromAccount.getAccountNumber().equals(request.getFromAccountNumber())) {
@@ -170,38 +387,65 @@ public class BankAccountServiceImpl implements BankAccountService {
             toAccount = temp;
         }
 
+        TransferResult checked = checkTransfer(fromAccount, toAccount, request.getAmount());
+        if (!checked.isCompleted()) {
+            return checked;
+        }
+
+        // Perform the transfer
+        BigDecimal fromPreviousBalance = fromAccount.getBalance();
+        BigDecimal toPreviousBalance = toAccount.getBalance();
+        fromAccount.setBalance(fromPreviousBalance.subtract(request.getAmount()));
+        toAccount.setBalance(toPreviousBalance.add(request.getAmount()));
+
+        bankAccountRepository.save(fromAccount);
+        bankAccountRepository.save(toAccount);
+
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangedEvent.Type.DEBITED, fromAccount,
+                fromAccount.getStatus(), fromPreviousBalance));
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangedEvent.Type.CREDITED, toAccount,
+                toAccount.getStatus(), toPreviousBalance));
+
+        return TransferResult.completed();
+    }
+
+    /**
+     * Check that funds can move between the two accounts
+     * @throws BankAccountException if they cannot
+     */
+    static void validateTransfer(BankAccount fromAccount, BankAccount toAccount, BigDecimal amount) {
+        checkTransfer(fromAccount, toAccount, amount).throwIfRejected();
+    }
+
+    /**
+     * Check that funds can move between the two accounts
+     * @return completed if they can, otherwise the reason they cannot
+     */
+    static TransferResult checkTransfer(BankAccount fromAccount, BankAccount toAccount, BigDecimal amount) {
         // Validate accounts are active
         if (fromAccount.getStatus() != BankAccount.AccountStatus.ACTIVE) {
-            throw new AccountInactiveException(fromAccount.getAccountNumber(), fromAccount.getStatus());
+            return TransferResult.rejected(
+                    new AccountInactiveException(fromAccount.getAccountNumber(), fromAccount.getStatus()));
         }
 
         if (toAccount.getStatus() != BankAccount.AccountStatus.ACTIVE) {
-            throw new AccountInactiveException(toAccount.getAccountNumber(), toAccount.getStatus());
+            return TransferResult.rejected(
+                    new AccountInactiveException(toAccount.getAccountNumber(), toAccount.getStatus()));
         }
 
         // Validate currencies match
         if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
-            throw new BankAccountException("Currency mismatch: source account is in " +
-                    fromAccount.getCurrency() + ", destination account is in " + toAccount.getCurrency());
+            return TransferResult.rejected(new BankAccountException("Currency mismatch: source account is in " +
+                    fromAccount.getCurrency() + ", destination account is in " + toAccount.getCurrency()));
         }
 
         // Check sufficient funds
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new InsufficientFundsException(fromAccount.getAccountNumber(),
-                    request.getAmount(), fromAccount.getBalance());
+        if (fromAccount.getBalance().compareTo(amount) < 0) {
+            return TransferResult.rejected(new InsufficientFundsException(fromAccount.getAccountNumber(),
+                    amount, fromAccount.getBalance()));
         }
 
-        // Perform the transfer
-        fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-
-        bankAccountRepository.save(fromAccount);
-        bankAccountRepository.save(toAccount);
-
-        log.info("Fund transfer completed successfully from {} to {} for amount: {}",
-                request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
-
-        return true;
+        return TransferResult.completed();
     }
 
     @Override
@@ -209,28 +453,81 @@ public class BankAccountServiceImpl implements BankAccountService {
         log.debug("Searching accounts with complex criteria: {}", searchRequest);
 
         // Create pageable from search request
-        Sort.Direction direction = Sort.Direction.fromString(searchRequest.getSortDir().toUpperCase());
         Pageable pageable = PageRequest.of(
                 searchRequest.getPage(),
                 searchRequest.getSize(),
-                Sort.by(direction, searchRequest.getSortBy())
+                resolveSort(searchRequest)
         );
 
-        Page<BankAccount> accountPage;
-
-        // If no search criteria provided, return all accounts (equivalent to getAllAccounts)
-        if (searchRequest.isPaginationOnly()) {
-            log.debug("No search criteria provided, fetching all accounts");
-            accountPage = bankAccountRepository.findAll(pageable);
-        } else {
-            // Use dynamic specification for complex search
-            log.debug("Applying search criteria: {}", searchRequest);
-            Specification<BankAccount> spec = BankAccountSpecification.createSpecification(searchRequest);
-            accountPage = bankAccountRepository.findAll(spec, pageable);
-        }
+        // Precompiled query per filter shape; with no criteria this is equivalent to getAllAccounts
+        Page<BankAccount> accountPage = bankAccountRepository.search(searchRequest, pageable);
 
         Page<BankAccountResponse> responsePage = accountPage.map(BankAccountResponse::fromEntity);
         return BankAccountPagedResponse.fromPage(responsePage);
     }
 
+    @Override
+    public long exportAccounts(BankAccountSearchRequest searchRequest, AccountFileFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting accounts as {} with criteria: {}", format, searchRequest);
+
+        Sort sort = resolveSort(searchRequest);
+        Specification<BankAccount> spec = searchRequest.isPaginationOnly()
+                ? null
+                : BankAccountSpecification.createSpecification(searchRequest);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        exportWriter.writeHeader(writer, format);
+
+        long exported = 0;
+        try (Stream<BankAccount> accounts = bankAccountRepository.streamAll(spec, sort, exportFetchSize)) {
+            Iterator<BankAccount> iterator = accounts.iterator();
+            while (iterator.hasNext()) {
+                BankAccount account = iterator.next();
+                exportWriter.writeRow(writer, format, BankAccountResponse.fromEntity(account));
+                // Keep the persistence context empty so memory stays flat for large exports
+                bankAccountRepository.detach(account);
+
+                if (++exported % exportFlushInterval == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} accounts as {}", exported, format);
+        return exported;
+    }
+
+    /**
+     * Route the current transaction to the shard holding the account ID, in the account
+     * table or the archive. IDs do not encode their shard, so when sharded every shard is
+     * asked in parallel.
+     */
+    private void useShardOfAccountId(String id) {
+        if (!accountShards.isSharded()) {
+            return;
+        }
+        int shard = accountShards.scatter(candidate -> bankAccountRepository.existsById(id)
+                || accountArchiveService.isArchived(id)).indexOf(Boolean.TRUE);
+        if (shard < 0) {
+            throw new AccountNotFoundException("ID: " + id);
+        }
+        accountShards.useShard(shard);
+    }
+
+    /**
+     * Build the sort for a search, rejecting fields that are not backed by an index
+     * so arbitrary sorts cannot trigger full table scans.
+     */
+    private Sort resolveSort(BankAccountSearchRequest searchRequest) {
+        if (!searchRequest.hasSortableField()) {
+            throw new InvalidSearchCriteriaException("Unsupported sort field: " + searchRequest.getSortBy()
+                    + ". Supported fields: " + BankAccountSearchRequest.SORTABLE_FIELDS);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(searchRequest.getSortDir())
+                .orElseThrow(() -> new InvalidSearchCriteriaException(
+                        "Unsupported sort direction: " + searchRequest.getSortDir() + ". Use ASC or DESC"));
+        return Sort.by(direction, searchRequest.getSortBy());
+    }
+
 }
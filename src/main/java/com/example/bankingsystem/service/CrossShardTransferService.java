@@ -0,0 +1,283 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.entity.AccountEvent;
+import com.example.bankingsystem.entity.BalanceHistoryEntry;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.entity.CrossShardTransfer;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.AccountNotFoundException;
+import com.example.bankingsystem.metrics.LockMetrics;
+import com.example.bankingsystem.repository.CrossShardTransferRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import com.example.bankingsystem.sharding.ShardContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transfers funds between accounts on different shards with two-phase commit. Each shard's
+ * half runs in its own transaction and is prepared; the decision to commit is then logged on
+ * the home shard, and only after that are the prepared transactions committed. Prepared
+ * transactions left behind by a crash are resolved against the log on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CrossShardTransferService {
+
+    // H2 statements for prepared transactions, named by the transfer ID
+    private static final String PREPARE = "PREPARE COMMIT ";
+    private static final String COMMIT_PREPARED = "COMMIT TRANSACTION ";
+    private static final String ROLLBACK_PREPARED = "ROLLBACK TRANSACTION ";
+    private static final String IN_DOUBT = "SELECT TRANSACTION_NAME FROM INFORMATION_SCHEMA.IN_DOUBT";
+
+    private static final String TRANSFER_ID_PREFIX = "XFER_";
+    private static final String LOCK = "cross-shard-transfer";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CrossShardTransferRepository transferRepository;
+    private final AccountShards accountShards;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final LockMetrics lockMetrics;
+
+    private TransactionTemplate homeTransaction;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        homeTransaction = new TransactionTemplate(transactionManager);
+        homeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Move funds between two accounts owned by different shards. The checks are the same as
+     * for a transfer within one shard, and either both balances change or neither does.
+     */
+    public void transfer(FundTransferRequest request) {
+        String id = TRANSFER_ID_PREFIX + UUID.randomUUID().toString().replace("-", "").toUpperCase();
+        int fromShard = accountShards.shardOf(request.getFromAccountNumber());
+        int toShard = accountShards.shardOf(request.getToAccountNumber());
+
+        // Lock in account number order, as transfers within a shard do, to prevent deadlocks
+        boolean fromFirst = request.getFromAccountNumber().compareTo(request.getToAccountNumber()) < 0;
+        ShardTransaction first = new ShardTransaction(fromFirst ? fromShard : toShard);
+        ShardTransaction second = new ShardTransaction(fromFirst ? toShard : fromShard);
+
+        AccountChangedEvent debited;
+        AccountChangedEvent credited;
+        try {
+            BankAccount firstAccount = first.lock(fromFirst ? request.getFromAccountNumber() : request.getToAccountNumber());
+            BankAccount secondAccount = second.lock(fromFirst ? request.getToAccountNumber() : request.getFromAccountNumber());
+            BankAccount fromAccount = fromFirst ? firstAccount : secondAccount;
+            BankAccount toAccount = fromFirst ? secondAccount : firstAccount;
+
+            BankAccountServiceImpl.validateTransfer(fromAccount, toAccount, request.getAmount());
+
+            BigDecimal fromPreviousBalance = fromAccount.getBalance();
+            BigDecimal toPreviousBalance = toAccount.getBalance();
+            fromAccount.setBalance(fromPreviousBalance.subtract(request.getAmount()));
+            toAccount.setBalance(toPreviousBalance.add(request.getAmount()));
+
+            // Each shard appends its account's event and history entry, so they commit or roll back with the balance
+            debited = AccountChangedEvent.of(AccountChangedEvent.Type.DEBITED, fromAccount,
+                    fromAccount.getStatus(), fromPreviousBalance);
+            credited = AccountChangedEvent.of(AccountChangedEvent.Type.CREDITED, toAccount,
+                    toAccount.getStatus(), toPreviousBalance);
+            (fromFirst ? first : second).append(debited);
+            (fromFirst ? second : first).append(credited);
+
+            // Phase one: both shards promise to commit
+            first.prepare(id);
+            second.prepare(id);
+        } catch (RuntimeException e) {
+            first.rollback();
+            second.rollback();
+            throw e;
+        }
+
+        // The logged row is the commit decision
+        try {
+            homeTransaction.executeWithoutResult(status -> transferRepository.save(CrossShardTransfer.builder()
+                    .id(id)
+                    .fromAccountNumber(request.getFromAccountNumber())
+                    .toAccountNumber(request.getToAccountNumber())
+                    .amount(request.getAmount())
+                    .fromShard(fromShard)
+                    .toShard(toShard)
+                    .status(CrossShardTransfer.Status.COMMITTING)
+                    .build()));
+        } catch (RuntimeException e) {
+            // The save can fail after its commit went through, so only a missing row means abort
+            if (!decisionLogged(id, e)) {
+                first.rollback();
+                second.rollback();
+                throw e;
+            }
+            log.warn("Cross-shard transfer {} was logged although saving it failed, committing", id, e);
+        }
+
+        // Phase two: the transfer is decided, a shard that fails to commit now is resolved on restart
+        boolean completed = first.commit(id) & second.commit(id);
+        if (completed) {
+            homeTransaction.executeWithoutResult(status -> transferRepository.updateStatus(
+                    id, CrossShardTransfer.Status.COMPLETED, LocalDateTime.now()));
+        }
+
+        eventPublisher.publishEvent(debited.asStored());
+        eventPublisher.publishEvent(credited.asStored());
+
+        log.debug("Cross-shard transfer {} committed from {} (shard {}) to {} (shard {}) for amount: {}",
+                id, request.getFromAccountNumber(), fromShard, request.getToAccountNumber(), toShard,
+                request.getAmount());
+    }
+
+    /**
+     * Whether the commit decision for a transfer was logged, after saving it failed. If that
+     * cannot be told either, both prepared halves are left in doubt for
+     * {@link #recoverInDoubtTransfers()} to resolve against the log, and the failure is rethrown.
+     */
+    private boolean decisionLogged(String id, RuntimeException saveFailure) {
+        try {
+            return Boolean.TRUE.equals(homeTransaction.execute(status -> transferRepository.existsById(id)));
+        } catch (RuntimeException e) {
+            log.error("Cross-shard transfer {} is in doubt: its commit decision could not be read back", id, e);
+            saveFailure.addSuppressed(e);
+            throw saveFailure;
+        }
+    }
+
+    /**
+     * Resolve transfers that were prepared but not finished when the application stopped:
+     * commit those whose decision was logged and roll back the rest.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInDoubtTransfers() {
+        if (!accountShards.isSharded()) {
+            return;
+        }
+
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            int target = shard;
+            List<String> inDoubt = accountShards.onShard(target, () -> jdbcTemplate.queryForList(IN_DOUBT, String.class));
+            for (String id : inDoubt) {
+                if (!id.startsWith(TRANSFER_ID_PREFIX)) {
+                    continue;
+                }
+                boolean decided = Boolean.TRUE.equals(
+                        homeTransaction.execute(status -> transferRepository.existsById(id)));
+                accountShards.onShard(target, () -> {
+                    jdbcTemplate.execute((decided ? COMMIT_PREPARED : ROLLBACK_PREPARED) + id);
+                    return null;
+                });
+                log.warn("Recovered cross-shard transfer {} on shard {}: {}", id, target,
+                        decided ? "committed" : "rolled back");
+            }
+        }
+
+        Integer finished = homeTransaction.execute(status -> transferRepository.transitionAll(
+                CrossShardTransfer.Status.COMMITTING, CrossShardTransfer.Status.COMPLETED, LocalDateTime.now()));
+        if (finished != null && finished > 0) {
+            log.info("Marked {} recovered cross-shard transfers as completed", finished);
+        }
+    }
+
+    /**
+     * One shard's half of a transfer, in a resource-local transaction of its own
+     */
+    private final class ShardTransaction {
+
+        private final int shard;
+        private final EntityManager entityManager;
+
+        ShardTransaction(int shard) {
+            this.shard = shard;
+            this.entityManager = entityManagerFactory.createEntityManager();
+        }
+
+        BankAccount lock(String accountNumber) {
+            return ShardContext.call(shard, () -> {
+                entityManager.getTransaction().begin();
+                return lockMetrics.time(LOCK, () -> entityManager.createQuery(
+                                "SELECT a FROM BankAccount a WHERE a.accountNumber = :accountNumber", BankAccount.class)
+                        .setParameter("accountNumber", accountNumber)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .getResultStream()
+                        .findFirst())
+                        .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+            });
+        }
+
+        void append(AccountChangedEvent event) {
+            ShardContext.call(shard, () -> {
+                entityManager.persist(AccountEvent.from(event));
+                entityManager.persist(BalanceHistoryEntry.from(event));
+                return null;
+            });
+        }
+
+        void prepare(String id) {
+            ShardContext.call(shard, () -> {
+                entityManager.flush();
+                entityManager.unwrap(Session.class).doWork(connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(PREPARE + id);
+                    }
+                });
+                return null;
+            });
+        }
+
+        /**
+         * @return whether the shard committed; if not, its prepared transaction is left for recovery
+         */
+        boolean commit(String id) {
+            try {
+                ShardContext.call(shard, () -> {
+                    entityManager.getTransaction().commit();
+                    return null;
+                });
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Shard {} failed to commit prepared transfer {}", shard, id, e);
+                return false;
+            } finally {
+                entityManager.close();
+            }
+        }
+
+        void rollback() {
+            try {
+                if (entityManager.getTransaction().isActive()) {
+                    ShardContext.call(shard, () -> {
+                        entityManager.getTransaction().rollback();
+                        return null;
+                    });
+                }
+            } catch (RuntimeException e) {
+                log.warn("Shard {} failed to roll back", shard, e);
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.entity.JournalCheckpoint;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.exception.AccountNotFoundException;
+import com.example.bankingsystem.journal.TransferJournal;
+import com.example.bankingsystem.journal.TransferRecord;
+import com.example.bankingsystem.metrics.LockMetrics;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.repository.JournalCheckpointRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transfers acknowledged once they are in the {@link TransferJournal}, instead of once the
+ * balances are flushed to the database. Balances of accounts that take part in transfers
+ * are kept in memory and include every journaled transfer; a single applier thread writes
+ * the journaled transfers to the database in batches, each with a checkpoint in the same
+ * transaction. On startup the journal records past the checkpoint are applied before
+ * transfers are taken. Assumes one application instance takes transfers at a time.
+ * <p>
+ * Account reads trail acknowledged transfers until they are applied, normally by a few milliseconds.
+ * Accounts are {@linkplain #retire retired} before they are deleted or archived, so no transfer
+ * can be journaled for an account the applier will not find.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournaledTransferService {
+
+    static final String JOURNAL = "transfers";
+    private static final String APPLY_LOCK = "journal-apply";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final AccountShards accountShards;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LockMetrics lockMetrics;
+
+    @Value("${app.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${app.journal.segment-records:262144}")
+    private int segmentRecords;
+
+    @Value("${app.journal.apply-batch-size:1000}")
+    private int applyBatchSize;
+
+    @Value("${app.journal.apply-queue-capacity:100000}")
+    private int applyQueueCapacity;
+
+    @Value("${app.journal.apply-retry-delay:1000}")
+    private long applyRetryDelay;
+
+    // Accounts that took part in journaled transfers, with every journaled transfer in their balance
+    private final ConcurrentMap<String, BankAccount> balances = new ConcurrentHashMap<>();
+
+    // Sequence of the last transfer journaled for each of those accounts
+    private final ConcurrentMap<String, Long> lastJournaled = new ConcurrentHashMap<>();
+
+    // Accounts being deleted or archived, which take no more transfers
+    private final Set<String> retiring = ConcurrentHashMap.newKeySet();
+
+    private TransferJournal journal;
+    private BlockingQueue<TransferRecord> pending;
+    private TransactionTemplate transactionTemplate;
+    private Thread applier;
+    private volatile boolean running;
+    private volatile long appliedSequence;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Apply what the journal holds beyond the database's checkpoints, then open it for transfers.
+     * Runs after the event store bootstrap and before read models are rebuilt from replay.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        pending = new LinkedBlockingQueue<>(applyQueueCapacity);
+
+        long oldest = Long.MAX_VALUE;
+        long newest = 0;
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            long applied = accountShards.onShard(shard, () -> transactionTemplate.execute(status ->
+                    checkpointRepository.findById(JOURNAL).map(JournalCheckpoint::getAppliedSequence).orElse(0L)));
+            oldest = Math.min(oldest, applied);
+            newest = Math.max(newest, applied);
+        }
+
+        long skip = oldest;
+        List<TransferRecord> batch = new ArrayList<>(applyBatchSize);
+        long[] recovered = new long[1];
+        journal = new TransferJournal(Path.of(directory), segmentRecords, this::enqueue);
+        long last = journal.open(newest + 1, record -> {
+            if (record.sequence() <= skip) {
+                return;
+            }
+            batch.add(record);
+            if (batch.size() == applyBatchSize) {
+                apply(batch);
+                recovered[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            apply(batch);
+            recovered[0] += batch.size();
+        }
+
+        appliedSequence = Math.max(last, newest);
+        journal.release(appliedSequence);
+        if (recovered[0] > 0) {
+            log.warn("Applied {} journaled transfers that had not reached the database", recovered[0]);
+        }
+
+        running = true;
+        applier = new Thread(this::applyLoop, "transfer-journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+        log.info("Transfer journal open in {} at sequence {}", directory, appliedSequence);
+    }
+
+    /**
+     * Check and journal a transfer against the in-memory balances, returning once the
+     * journal record is on disk. The checks are the same as for a transfer in the database.
+     */
+    public void transfer(FundTransferRequest request) {
+        if (!running) {
+            throw new IllegalStateException("The transfer journal is not open");
+        }
+
+        // Lock in account number order, as database transfers do, to prevent deadlocks
+        boolean fromFirst = request.getFromAccountNumber().compareTo(request.getToAccountNumber()) < 0;
+        BankAccount first = balanceOf(fromFirst ? request.getFromAccountNumber() : request.getToAccountNumber());
+        BankAccount second = balanceOf(fromFirst ? request.getToAccountNumber() : request.getFromAccountNumber());
+
+        TransferRecord record;
+        synchronized (first) {
+            synchronized (second) {
+                BankAccount fromAccount = fromFirst ? first : second;
+                BankAccount toAccount = fromFirst ? second : first;
+                for (BankAccount account : List.of(fromAccount, toAccount)) {
+                    if (retiring.contains(account.getAccountNumber())) {
+                        throw new AccountNotFoundException(account.getAccountNumber());
+                    }
+                }
+                BankAccountServiceImpl.validateTransfer(fromAccount, toAccount, request.getAmount());
+
+                record = journal.append(fromAccount.getAccountNumber(), toAccount.getAccountNumber(),
+                        request.getAmount());
+                fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
+                toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+                lastJournaled.put(fromAccount.getAccountNumber(), record.sequence());
+                lastJournaled.put(toAccount.getAccountNumber(), record.sequence());
+            }
+        }
+
+        // Later transfers may already see these balances; they are forced after this one, so
+        // none of them can survive a crash that loses this one
+        journal.awaitDurable(record.sequence());
+        log.debug("Journaled transfer {} from {} to {} for amount: {}", record.sequence(),
+                request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+    }
+
+    /**
+     * The balance of an account including journaled transfers not yet applied to the database
+     * @return the balance, or empty if the account has not taken part in a journaled transfer
+     */
+    public Optional<BigDecimal> currentBalance(String accountNumber) {
+        BankAccount account = enabled ? balances.get(accountNumber) : null;
+        if (account == null) {
+            return Optional.empty();
+        }
+        synchronized (account) {
+            return Optional.of(account.getBalance());
+        }
+    }
+
+    /**
+     * Stop journaled transfers to and from an account that the current transaction is about to
+     * delete or archive. They are rejected from now on, for good once the transaction commits
+     * and until it ends otherwise.
+     * @param storedBalance the account's balance as the current transaction read it
+     * @return whether that balance includes every transfer journaled for the account; if not,
+     * some are still to be applied and the account must not be removed yet
+     */
+    public boolean retire(String accountNumber, BigDecimal storedBalance) {
+        if (!enabled) {
+            return true;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Retiring account " + accountNumber + " requires a transaction");
+        }
+
+        // Marked before the copy is looked up, so a transfer that loads it concurrently sees the mark
+        retiring.add(accountNumber);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // After commit, the DELETED or ARCHIVED event has dropped the copy by now
+                retiring.remove(accountNumber);
+            }
+        });
+
+        BankAccount account = balances.get(accountNumber);
+        if (account == null) {
+            return true;
+        }
+        synchronized (account) {
+            return lastJournaled.getOrDefault(accountNumber, 0L) <= appliedSequence
+                    && account.getBalance().compareTo(storedBalance) == 0;
+        }
+    }
+
+    /**
+     * Wait until every transfer journaled so far has been applied to the database
+     * @return whether they were applied within the timeout
+     */
+    public boolean awaitApplied(Duration timeout) throws InterruptedException {
+        long target = journal.getDurableSequence();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (appliedSequence < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Keep the in-memory copies in step with status changes, deletions and archiving done elsewhere.
+     * Balances only change through transfers, so the in-memory ones stay authoritative.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case STATUS_CHANGED -> balances.computeIfPresent(event.getAccountNumber(), (accountNumber, account) -> {
+                synchronized (account) {
+                    account.setStatus(event.getStatus());
+                }
+                return account;
+            });
+            case DELETED, ARCHIVED -> {
+                balances.remove(event.getAccountNumber());
+                lastJournaled.remove(event.getAccountNumber());
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Stop taking transfers and apply everything journaled before shutting down. Transfers
+     * that cannot be applied in time stay in the journal and are applied on the next start.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        journal.close();
+        running = false;
+        applier.join(TimeUnit.SECONDS.toMillis(30));
+        if (applier.isAlive()) {
+            log.warn("Journaled transfers up to {} were applied before shutdown; the rest are applied on restart",
+                    appliedSequence);
+            applier.interrupt();
+        }
+    }
+
+    private BankAccount balanceOf(String accountNumber) {
+        // Loaded in a read-write transaction so it comes from the primary, never a lagging replica
+        return balances.computeIfAbsent(accountNumber, number -> accountShards.onShard(accountShards.shardOf(number),
+                () -> transactionTemplate.execute(status -> {
+                    BankAccount account = bankAccountRepository.findByAccountNumber(number)
+                            .orElseThrow(() -> new AccountNotFoundException(number));
+                    // The caller's transaction must never flush the in-memory balance
+                    bankAccountRepository.detach(account);
+                    return account;
+                })));
+    }
+
+    /**
+     * Hand a durable record to the applier, blocking the journal while the applier is too far behind
+     */
+    private void enqueue(TransferRecord record) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                pending.put(record);
+                break;
+            } catch (InterruptedException e) {
+                // Dropping a record would let the checkpoint move past it
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyLoop() {
+        List<TransferRecord> batch = new ArrayList<>(applyBatchSize);
+        try {
+            while (running || !pending.isEmpty()) {
+                TransferRecord first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, applyBatchSize - 1);
+                while (true) {
+                    try {
+                        apply(batch);
+                        break;
+                    } catch (RuntimeException e) {
+                        log.error("Could not apply {} journaled transfers, retrying in {} ms",
+                                batch.size(), applyRetryDelay, e);
+                        lockMetrics.retried(APPLY_LOCK, e);
+                        Thread.sleep(applyRetryDelay);
+                    }
+                }
+                appliedSequence = batch.get(batch.size() - 1).sequence();
+                journal.release(appliedSequence);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Apply a batch of records in sequence order, one transaction per shard involved.
+     * Records at or below a shard's checkpoint are skipped, so a batch can be applied again.
+     * A record whose account no longer exists fails its shard's transaction, leaving the
+     * record in the journal rather than applying half of the transfer.
+     */
+    private void apply(List<TransferRecord> batch) {
+        for (int shard = 0; shard < accountShards.count(); shard++) {
+            int target = shard;
+            List<TransferRecord> records = batch.stream()
+                    .filter(record -> accountShards.shardOf(record.fromAccountNumber()) == target
+                            || accountShards.shardOf(record.toAccountNumber()) == target)
+                    .toList();
+            if (!records.isEmpty()) {
+                accountShards.onShard(target, () -> transactionTemplate.execute(status -> applyOnShard(target, records)));
+            }
+        }
+    }
+
+    private Void applyOnShard(int shard, List<TransferRecord> records) {
+        JournalCheckpoint checkpoint = checkpointRepository.findById(JOURNAL)
+                .orElseGet(() -> JournalCheckpoint.builder().journal(JOURNAL).build());
+        List<TransferRecord> unapplied = records.stream()
+                .filter(record -> record.sequence() > checkpoint.getAppliedSequence())
+                .toList();
+        if (unapplied.isEmpty()) {
+            return null;
+        }
+
+        Set<String> accountNumbers = new TreeSet<>();
+        for (TransferRecord record : unapplied) {
+            if (accountShards.shardOf(record.fromAccountNumber()) == shard) {
+                accountNumbers.add(record.fromAccountNumber());
+            }
+            if (accountShards.shardOf(record.toAccountNumber()) == shard) {
+                accountNumbers.add(record.toAccountNumber());
+            }
+        }
+        // Each account is loaded and written once per batch, however many transfers it took part in
+        Map<String, BankAccount> accounts = lockMetrics.time(APPLY_LOCK,
+                        () -> bankAccountRepository.findAllByAccountNumberWithLock(accountNumbers))
+                .stream()
+                .collect(Collectors.toMap(BankAccount::getAccountNumber, Function.identity()));
+
+        for (TransferRecord record : unapplied) {
+            if (accountShards.shardOf(record.fromAccountNumber()) == shard) {
+                applyChange(record, accounts.get(record.fromAccountNumber()), record.fromAccountNumber(),
+                        AccountChangedEvent.Type.DEBITED, record.amount().negate());
+            }
+            if (accountShards.shardOf(record.toAccountNumber()) == shard) {
+                applyChange(record, accounts.get(record.toAccountNumber()), record.toAccountNumber(),
+                        AccountChangedEvent.Type.CREDITED, record.amount());
+            }
+        }
+
+        checkpoint.setAppliedSequence(unapplied.get(unapplied.size() - 1).sequence());
+        checkpointRepository.save(checkpoint);
+        return null;
+    }
+
+    private void applyChange(TransferRecord record, BankAccount account, String accountNumber,
+                             AccountChangedEvent.Type type, BigDecimal amount) {
+        if (account == null) {
+            throw new IllegalStateException("Journaled transfer " + record.sequence() + " refers to account "
+                    + accountNumber + ", which no longer exists; its " + type + " of " + amount.abs()
+                    + " cannot be applied");
+        }
+        BigDecimal previousBalance = account.getBalance();
+        account.setBalance(previousBalance.add(amount));
+        eventPublisher.publishEvent(AccountChangedEvent.of(type, account, account.getStatus(), previousBalance)
+                .toBuilder()
+                .occurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.recordedAt()), ZoneId.systemDefault()))
+                .build());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.bankingsystem.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Hash partitioning of accounts by account number over a fixed number of shards.
+ * A transaction works on exactly one shard, chosen before it first touches the database;
+ * work spanning shards runs one transaction per shard. Shard 0 is the home shard, which
+ * also holds the tables that are not partitioned. With a single shard nothing is routed
+ * and every method simply runs the work it is given.
+ */
+public class AccountShards implements AutoCloseable {
+
+    public static final int HOME = 0;
+
+    private final int count;
+    private final TransactionTemplate newTransaction;
+    private final ExecutorService scatterExecutor;
+
+    public AccountShards(int count, PlatformTransactionManager transactionManager, int scatterThreads) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.count = count;
+        if (count > 1) {
+            this.newTransaction = new TransactionTemplate(transactionManager);
+            this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.scatterExecutor = Executors.newFixedThreadPool(scatterThreads, runnable -> {
+                Thread thread = new Thread(runnable, "account-shard-scatter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.newTransaction = null;
+            this.scatterExecutor = null;
+        }
+    }
+
+    public static AccountShards unsharded() {
+        return new AccountShards(1, null, 0);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * The shard owning an account number. Changing this function requires moving data between shards.
+     */
+    public int shardOf(String accountNumber) {
+        if (count == 1) {
+            return HOME;
+        }
+        // Murmur3 finalizer so similar account numbers spread evenly
+        int hash = accountNumber.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, count);
+    }
+
+    /**
+     * Route the current transaction to the shard owning the account number.
+     * Must be called before the transaction first touches the database.
+     */
+    public void useShardOf(String accountNumber) {
+        useShard(shardOf(accountNumber));
+    }
+
+    /**
+     * Route the current transaction to the given shard until it completes.
+     * Must be called before the transaction first touches the database.
+     */
+    public void useShard(int shard) {
+        if (count == 1) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A shard can only be bound to an active transaction");
+        }
+        Integer previous = ShardContext.bind(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                ShardContext.restore(previous);
+            }
+
+            @Override
+            public void resume() {
+                ShardContext.bind(shard);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Run work with the given shard bound to the current thread. Transactions started by
+     * the work use that shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return count == 1 ? work.get() : ShardContext.call(shard, work);
+    }
+
+    /**
+     * Run work in a new transaction on the given shard, independent of the caller's transaction
+     */
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        if (count == 1) {
+            throw new IllegalStateException("Per-shard transactions are only needed when sharded");
+        }
+        return ShardContext.call(shard, () -> newTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Run work once per shard, in parallel when sharded, and return the results in shard order.
+     * When sharded the work runs on other threads, outside the caller's transaction.
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (count == 1) {
+            return List.of(work.apply(HOME));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> ShardContext.call(target, () -> work.apply(target))));
+        }
+
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
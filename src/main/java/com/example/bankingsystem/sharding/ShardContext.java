@@ -0,0 +1,47 @@
+package com.example.bankingsystem.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on. Read by {@link ShardRoutingDataSource} when a
+ * connection is first used; threads that never bind a shard work on the home shard.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : AccountShards.HOME;
+    }
+
+    /**
+     * Run work with the given shard bound to the current thread, restoring the previous binding afterwards
+     */
+    public static <T> T call(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static Integer bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
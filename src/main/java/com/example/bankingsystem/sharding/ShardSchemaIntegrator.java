@@ -0,0 +1,44 @@
+package com.example.bankingsystem.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.Map;
+
+/**
+ * Applies the configured schema management ({@code ddl-auto}) to every shard but the home
+ * shard, which Hibernate handles itself. Drops scheduled for shutdown by {@code create-drop}
+ * only run on the home shard.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        Map<String, Object> settings = bootstrapContext.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings();
+
+        for (int shard = AccountShards.HOME + 1; shard < shardCount; shard++) {
+            ShardContext.call(shard, () -> {
+                SchemaManagementToolCoordinator.process(metadata, bootstrapContext.getServiceRegistry(), settings,
+                        action -> { });
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bankingsystem.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for partitioning accounts over several databases, bound from {@code app.sharding}.
+ * The first shard is the home shard.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Threads running per-shard queries for searches and other scatter-gather reads
+     */
+    private int scatterThreads = 16;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.bankingsystem.stream;
+
+import com.example.bankingsystem.dto.AccountChangeResponse;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Pushes committed account changes to Server-Sent Events subscribers. Publishing never
+ * waits on a subscriber: each change is added to every matching subscriber's bounded
+ * buffer, dropping the oldest change when the buffer is full, and a small pool of sender
+ * threads writes the buffers out. A subscriber that falls behind therefore loses old
+ * changes rather than slowing down transfers or other subscribers. Each subscriber's events
+ * are numbered from 1 in the order they are offered to it, so a gap in the IDs it receives
+ * means changes were dropped and tells it to re-read the account.
+ */
+@Component
+@Slf4j
+public class AccountChangeBroadcaster implements DisposableBean {
+
+    public static final String DROPPED = "banking.stream.dropped";
+
+    private static final String EVENT_NAME = "account-change";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final Counter dropped;
+
+    @Value("${app.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.stream.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Autowired
+    public AccountChangeBroadcaster(MeterRegistry meterRegistry, @Value("${app.stream.send-threads:4}") int sendThreads) {
+        this(meterRegistry, Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "account-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    AccountChangeBroadcaster(MeterRegistry meterRegistry, ExecutorService sender) {
+        this.sender = sender;
+        this.dropped = Counter.builder(DROPPED).register(meterRegistry);
+        Gauge.builder("banking.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the changes matching a filter
+     * @return the stream, or empty when {@code app.stream.max-subscribers} are already subscribed
+     */
+    public Optional<SseEmitter> subscribe(Predicate<AccountChangedEvent> filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        AccountChangeResponse change = AccountChangeResponse.fromEvent(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.test(event)) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    /**
+     * Keep idle streams from being closed by proxies, and find subscribers that went away
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * A change waiting to be sent, or a heartbeat when change is null
+     */
+    private record Pending(long id, AccountChangeResponse change) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Predicate<AccountChangedEvent> filter;
+        private final ArrayDeque<Pending> buffer = new ArrayDeque<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        // ID of the last change offered, guarded by the buffer
+        private long sequence;
+
+        private Subscriber(SseEmitter emitter, Predicate<AccountChangedEvent> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        private void offer(AccountChangeResponse change) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(new Pending(++sequence, change));
+            }
+            scheduleSend();
+        }
+
+        private void heartbeat() {
+            synchronized (buffer) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                buffer.addLast(new Pending(0, null));
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (closed || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+
+        private void send() {
+            try {
+                Pending pending;
+                while (!closed && (pending = next()) != null) {
+                    emitter.send(pending.change() == null
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().id(Long.toString(pending.id())).name(EVENT_NAME).data(pending.change()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing account change stream: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                sending.set(false);
+            }
+            // Offered after the last poll above but before the flag was cleared
+            synchronized (buffer) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+            }
+            scheduleSend();
+        }
+
+        private Pending next() {
+            synchronized (buffer) {
+                return buffer.pollFirst();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
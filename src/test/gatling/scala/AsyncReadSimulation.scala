@@ -0,0 +1,96 @@
+package gatling
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+import scala.concurrent.duration._
+import scala.util.Random
+
+/**
+ * Compares the blocking account reads with their /async variants at high concurrency.
+ * Run once per API against the same server and compare the reports:
+ *
+ *   mvn gatling:test -Dgatling.simulationClass=gatling.AsyncReadSimulation -DreadApi=blocking
+ *   mvn gatling:test -Dgatling.simulationClass=gatling.AsyncReadSimulation -DreadApi=async
+ *
+ * The difference shows once concurrent users exceed the server's request threads, e.g. with
+ * the server started with --server.tomcat.threads.max=50 and users=500.
+ */
+class AsyncReadSimulation extends Simulation {
+
+  // Test parameters
+  val readApi = System.getProperty("readApi", "async")
+  val users = Integer.getInteger("users", 500).intValue
+  val accounts = Integer.getInteger("accounts", 1000).intValue
+  val duration = Integer.getInteger("duration", 120).intValue.seconds
+  val prefix = if (readApi == "async") "/async" else ""
+  val runId = Random.alphanumeric.filter(_.isLetter).take(4).mkString.toUpperCase
+
+  // HTTP Configuration
+  val httpProtocol = http
+    .baseUrl("http://localhost:8080/api/v1")
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+    .userAgentHeader("Gatling Async Read Test")
+
+  def accountNumber(i: Int) = f"RD$runId$i%08d"
+
+  val accountsBody = (0 until accounts).map { i =>
+    s"""{
+      "accountNumber": "${accountNumber(i)}",
+      "accountHolderName": "Read Test User ${i % 1000}",
+      "email": "read$i@test.com",
+      "initialBalance": ${100 + i % 9900},
+      "currency": "${if (i % 4 == 0) "EUR" else "USD"}"
+    }"""
+  }.mkString("""{"accounts": [""", ",", "]}")
+
+  // Scenario: create the accounts read by the load test
+  val setupScenario = scenario("Create Read Test Accounts")
+    .exec(
+      http("Create Accounts")
+        .post("/accounts/bulk")
+        .body(StringBody(accountsBody)).asJson
+        .check(status.is(201))
+    )
+
+  val readFeeder = Iterator.continually(Map(
+    "accountNumber" -> accountNumber(Random.nextInt(accounts)),
+    "currency" -> (if (Random.nextInt(4) == 0) "EUR" else "USD"),
+    "page" -> Random.nextInt(10)
+  ))
+
+  // Scenario: single-account reads, mostly cache hits, and searches, which always query the database
+  val readScenario = scenario(s"Read Accounts ($readApi)")
+    .feed(readFeeder)
+    .randomSwitch(
+      80.0 -> exec(
+        http(s"Get Account ($readApi)")
+          .get(s"$prefix/accounts/number/#{accountNumber}")
+          .check(status.is(200))
+          .check(jsonPath("$.accountNumber").is("#{accountNumber}"))
+      ),
+      20.0 -> exec(
+        http(s"Search Accounts ($readApi)")
+          .get(s"$prefix/accounts/search")
+          .queryParam("currency", "#{currency}")
+          .queryParam("page", "#{page}")
+          .queryParam("size", "20")
+          .check(status.is(200))
+          .check(jsonPath("$.content").exists)
+      )
+    )
+
+  // Load Test Configuration: a closed model, so concurrency rather than arrival rate is fixed
+  setUp(
+    setupScenario.inject(atOnceUsers(1)).protocols(httpProtocol)
+      .andThen(
+        readScenario.inject(
+          rampConcurrentUsers(10).to(users).during(30.seconds),  // Ramp up past the request threads
+          constantConcurrentUsers(users).during(duration)       // Hold the peak
+        ).protocols(httpProtocol)
+      )
+  ).assertions(
+    global.successfulRequests.percent.gt(99),
+    global.responseTime.percentile3.lt(2000)   // 95th percentile < 2 seconds
+  )
+}
@@ -0,0 +1,58 @@
+package com.example.bankingsystem;
+
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.service.BankAccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+/**
+ * Base of the tests that run against the whole application. Tests that add no properties of
+ * their own share one application context and its in-memory database, so each uses account
+ * numbers of its own rather than expecting empty tables. A test that needs other properties
+ * adds them with {@code @TestPropertySource}, together with a database URL of its own, and
+ * gets a context of its own.
+ */
+@SpringBootTest(properties = {
+        // Small enough that a handful of accounts spans several chunks and fetches
+        "app.archive.chunk-size=2",
+        "app.statement.fetch-size=3",
+        "app.lookup.max-keys=5",
+        // Snapshots take every event, rather than leaving out those of the last minutes
+        "app.event-store.commit-horizon=0s"
+})
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected BankAccountService bankAccountService;
+
+    protected BankAccountResponse create(String accountNumber, long balance) {
+        return create(accountNumber, "Integration Test", balance);
+    }
+
+    protected BankAccountResponse create(String accountNumber, String accountHolderName, long balance) {
+        return bankAccountService.createAccount(request(accountNumber, accountHolderName, balance));
+    }
+
+    protected static BankAccountRequest request(String accountNumber, String accountHolderName, long balance) {
+        return BankAccountRequest.builder()
+                .accountNumber(accountNumber)
+                .accountHolderName(accountHolderName)
+                .initialBalance(BigDecimal.valueOf(balance))
+                .currency("USD")
+                .build();
+    }
+
+    protected void transfer(String from, String to, long amount) {
+        bankAccountService.transferFunds(FundTransferRequest.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(BigDecimal.valueOf(amount))
+                .build());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.bankingsystem.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AdmissionControlProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AdmissionControlProperties();
+    }
+
+    @Test
+    void filter_ShouldRejectClientsOverTheirRate_WithoutAffectingOthers() throws Exception {
+        properties.setClientRate(1);
+        properties.setClientBurst(2);
+        properties.setClientHeader("X-Client-Id");
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+
+        assertThat(perform(filter, get("noisy")).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, get("noisy")).getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, get("noisy"));
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("Request rate limit exceeded");
+
+        assertThat(perform(filter, get("quiet")).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.find(AdmissionControlFilter.REJECTED)
+                .tag("class", "read").tag("reason", "client-rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_ShouldKeyClientsOnRemoteAddress_UnlessTheHeaderIsTrusted() throws Exception {
+        properties.setClientRate(1);
+        properties.setClientBurst(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+
+        // Making up a new client name per request does not buy a new bucket
+        assertThat(perform(filter, get("first")).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, get("second")).getStatus()).isEqualTo(429);
+
+        properties.setClientHeader("X-Client-Id");
+        properties.setTrustedProxies(List.of("10.0.0.5"));
+        filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+        MockHttpServletRequest viaProxy = get("first");
+        viaProxy.setRemoteAddr("10.0.0.5");
+        MockHttpServletRequest otherViaProxy = get("second");
+        otherViaProxy.setRemoteAddr("10.0.0.5");
+
+        assertThat(perform(filter, viaProxy).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, otherViaProxy).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, get("third")).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, get("fourth")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void filter_ShouldShedTransfersOverTheLimit_WhileReadsProceed() throws Exception {
+        properties.setClientRate(0);
+        properties.setTransfers(new AdmissionControlProperties.Limit(1, 1, 1));
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+        AtomicReference<MockHttpServletResponse> secondTransfer = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> read = new AtomicReference<>();
+
+        // While one transfer is in flight, a second is shed and a read still gets through
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(transfer(), first, (request, response) -> {
+            secondTransfer.set(perform(filter, transfer()));
+            read.set(perform(filter, get("client")));
+        });
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(secondTransfer.get().getStatus()).isEqualTo(503);
+        assertThat(secondTransfer.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(read.get().getStatus()).isEqualTo(200);
+        assertThat(perform(filter, transfer()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void filter_ShouldHoldAsyncRequestsAgainstTheLimit_UntilTheyComplete() throws Exception {
+        properties.setClientRate(0);
+        properties.setReads(new AdmissionControlProperties.Limit(1, 1, 1));
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+        GradientConcurrencyLimit reads = filter.limitFor(EndpointClass.READ);
+        MockHttpServletRequest asyncRead = get("client");
+        asyncRead.setAsyncSupported(true);
+
+        filter.doFilter(asyncRead, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // The handler has returned, but the response is still being produced
+        assertThat(reads.getInFlight()).isEqualTo(1);
+        assertThat(perform(filter, get("client")).getStatus()).isEqualTo(503);
+
+        asyncRead.getAsyncContext().complete();
+        assertThat(reads.getInFlight()).isZero();
+        assertThat(perform(filter, get("client")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void filter_ShouldReleaseEventStreamsOnce_WhenTheyFailAndComplete() throws Exception {
+        properties.setClientRate(0);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper, meterRegistry);
+        GradientConcurrencyLimit reads = filter.limitFor(EndpointClass.READ);
+        MockHttpServletRequest stream = get("client");
+        stream.setAsyncSupported(true);
+
+        filter.doFilter(stream, new MockHttpServletResponse(), (request, response) -> {
+            request.startAsync();
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        });
+        assertThat(reads.getInFlight()).isEqualTo(1);
+
+        MockAsyncContext context = (MockAsyncContext) stream.getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+        }
+        context.complete();
+        assertThat(reads.getInFlight()).isZero();
+    }
+
+    @Test
+    void endpointClass_ShouldTreatPostedLookupsAsReads() {
+        assertThat(EndpointClass.of(new MockHttpServletRequest("POST", "/accounts/lookup"))).isEqualTo(EndpointClass.READ);
+        assertThat(EndpointClass.of(new MockHttpServletRequest("POST", "/accounts"))).isEqualTo(EndpointClass.WRITE);
+        assertThat(EndpointClass.of(transfer())).isEqualTo(EndpointClass.TRANSFER);
+    }
+
+    @Test
+    void limit_ShouldShrinkWhenLatencyRises_AndGrowWhenItSettles() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 100);
+
+        runAtLimit(limit, 200, TimeUnit.MILLISECONDS.toNanos(5));
+        int settled = limit.getLimit();
+        assertThat(settled).isGreaterThan(20);
+
+        // A lock convoy: the same work now takes ten times as long
+        runAtLimit(limit, 20, TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(limit.getLimit()).isLessThan(settled / 2);
+    }
+
+    @Test
+    void limit_ShouldNotGrowWhileMostlyUnused() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    /**
+     * Fill the limit, then release every request with the given latency, a number of times
+     */
+    private static void runAtLimit(GradientConcurrencyLimit limit, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, (req, res) -> { });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/number/1234567890");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+
+    private static MockHttpServletRequest transfer() {
+        return new MockHttpServletRequest("POST", "/accounts/transfer");
+    }
+}
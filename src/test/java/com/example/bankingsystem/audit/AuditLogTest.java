@@ -0,0 +1,101 @@
+package com.example.bankingsystem.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    private final ListAppender<ILoggingEvent> auditLines = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> diagnosticLines = new ListAppender<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        attach("banking.audit", auditLines);
+        attach("banking.diagnostic", diagnosticLines);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger("banking.audit")).detachAppender(auditLines);
+        ((Logger) LoggerFactory.getLogger("banking.diagnostic")).detachAppender(diagnosticLines);
+    }
+
+    @Test
+    void onAccountChanged_ShouldAuditBalanceChangesAsJson() throws InterruptedException {
+        AuditLog auditLog = new AuditLog(meterRegistry, 16, 1, 10);
+
+        auditLog.onAccountChanged(change(AccountChangedEvent.Type.DEBITED, "AUDIT00001", 100, 75));
+        auditLog.onAccountChanged(change(AccountChangedEvent.Type.STATUS_CHANGED, "AUDIT00001", 75, 75));
+        auditLog.destroy();
+
+        assertThat(messages(auditLines)).containsExactly("{\"time\":\"2024-01-01T10:00\",\"event\":\"DEBITED\","
+                + "\"account\":\"AUDIT00001\",\"currency\":\"USD\",\"amount\":-25,\"balance\":75}");
+    }
+
+    @Test
+    void onAccountChanged_ShouldWriteOnTheCallersThread_WhenQueueIsFull() throws InterruptedException {
+        AuditLog auditLog = new AuditLog(meterRegistry, 1, 1, 10);
+
+        for (int i = 0; i < 50; i++) {
+            auditLog.onAccountChanged(change(AccountChangedEvent.Type.CREDITED, "AUDIT00011", i, i + 1));
+        }
+        auditLog.destroy();
+
+        assertThat(auditLines.list).hasSize(50);
+        assertThat(meterRegistry.find(AuditLog.OVERFLOW).counter().count()).isPositive();
+    }
+
+    @Test
+    void diagnostic_ShouldBeRateLimited() throws InterruptedException {
+        AuditLog auditLog = new AuditLog(meterRegistry, 16, 1, 3);
+
+        for (int i = 0; i < 10; i++) {
+            auditLog.diagnostic("transfer.rejected", "AUDIT00021", "AUDIT00022", BigDecimal.TEN, "Insufficient \"funds\"");
+        }
+        auditLog.destroy();
+
+        // The limit applies per second, so a run crossing a second boundary may log a few more
+        assertThat(diagnosticLines.list).hasSizeBetween(3, 6);
+        assertThat(messages(diagnosticLines).get(0))
+                .contains("\"event\":\"transfer.rejected\"", "\"counterparty\":\"AUDIT00022\"",
+                        "\"amount\":10", "\"detail\":\"Insufficient \\\"funds\\\"\"");
+    }
+
+    private static AccountChangedEvent change(AccountChangedEvent.Type type, String accountNumber,
+                                              long previousBalance, long balance) {
+        return AccountChangedEvent.builder()
+                .type(type)
+                .accountNumber(accountNumber)
+                .currency("USD")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .previousBalance(BigDecimal.valueOf(previousBalance))
+                .balance(BigDecimal.valueOf(balance))
+                .occurredAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+
+    private static void attach(String name, ListAppender<ILoggingEvent> appender) {
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(name)).addAppender(appender);
+    }
+
+    private static List<String> messages(ListAppender<ILoggingEvent> appender) {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
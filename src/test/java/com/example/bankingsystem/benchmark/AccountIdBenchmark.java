@@ -0,0 +1,104 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.entity.AccountIdGenerator;
+import com.example.bankingsystem.entity.RandomAccountIdGenerator;
+import com.example.bankingsystem.entity.TimeOrderedAccountIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares account ID strategies: raw generation throughput, and batched insert
+ * throughput into a file-based H2 table keyed by the generated ID. The table keeps
+ * growing across iterations; its on-disk size is printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountIdBenchmark {
+
+    private static final int ROWS_PER_BATCH = 1000;
+
+    @Param({"random", "time-ordered"})
+    public String strategy;
+
+    private AccountIdGenerator generator;
+    private Path databaseDirectory;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        generator = "random".equals(strategy)
+                ? new RandomAccountIdGenerator()
+                : new TimeOrderedAccountIdGenerator(1);
+
+        databaseDirectory = Files.createTempDirectory("account-id-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + databaseDirectory.resolve("ids"), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bank_accounts (id VARCHAR(32) PRIMARY KEY, "
+                    + "account_number VARCHAR(20) NOT NULL, balance DECIMAL(15, 2) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO bank_accounts (id, account_number, balance) VALUES (?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*), DISK_SPACE_USED('BANK_ACCOUNTS') FROM bank_accounts")) {
+            rows.next();
+            long count = rows.getLong(1);
+            long bytes = rows.getLong(2);
+            System.out.printf("%n[%s] rows: %d, table + primary key size: %d KiB (%d bytes/row)%n",
+                    strategy, count, bytes / 1024, count > 0 ? bytes / count : 0);
+        }
+        connection.close();
+        try (var files = Files.walk(databaseDirectory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String generateId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < ROWS_PER_BATCH; i++) {
+            insert.setString(1, generator.nextId());
+            insert.setString(2, "BENCH" + i);
+            insert.setBigDecimal(3, BigDecimal.TEN);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AccountIdBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
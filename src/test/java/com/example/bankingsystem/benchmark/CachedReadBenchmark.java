@@ -0,0 +1,112 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.service.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Throughput of {@code GET /accounts/number/{accountNumber}} once every account is in the
+ * {@code accounts} cache, with account responses written from cached bytes
+ * ({@code responseCache=true}) or serialized by Jackson on every request ({@code false}).
+ * Run with {@code -prof gc} to see the allocation per read. Reads 100 accounts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachedReadBenchmark {
+
+    private static final int ACCOUNTS = 100;
+
+    @Param({"true", "false"})
+    public boolean responseCache;
+
+    @Param({"application/json", "application/x-jackson-smile"})
+    public String accept;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private MediaType mediaType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Passed as command line arguments so they override the test profile's settings
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.com.example.bankingsystem=WARN",
+                        "--logging.level.org.springframework.test=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--app.admission.enabled=false",
+                        "--app.response-cache.enabled=" + responseCache,
+                        "--spring.datasource.url=jdbc:h2:mem:cached-read;DB_CLOSE_DELAY=-1");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        mediaType = MediaType.parseMediaType(accept);
+
+        List<BankAccountRequest> requests = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests.add(BankAccountRequest.builder()
+                    .accountNumber(accountNumber(i))
+                    .accountHolderName("Cached Read User " + i)
+                    .email("cached.read." + i + "@example.com")
+                    .initialBalance(BigDecimal.valueOf(1_000 + i))
+                    .currency("USD")
+                    .build());
+        }
+        context.getBean(BankAccountService.class).createAccounts(BulkAccountRequest.builder().accounts(requests).build());
+        for (int i = 0; i < ACCOUNTS; i++) {
+            read(accountNumber(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int read() throws Exception {
+        return read(accountNumber(ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+    }
+
+    private int read(String accountNumber) throws Exception {
+        return mockMvc.perform(get("/accounts/number/{accountNumber}", accountNumber).accept(mediaType))
+                .andReturn().getResponse().getContentLength();
+    }
+
+    private static String accountNumber(int i) {
+        return String.format("CACHED%04d", i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CachedReadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
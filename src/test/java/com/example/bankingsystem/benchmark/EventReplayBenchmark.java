@@ -0,0 +1,109 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.eventstore.AccountEventStore;
+import com.example.bankingsystem.eventstore.AccountState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the state of 10,000 accounts from 500,000 events in in-memory H2, either from
+ * the events alone or from a snapshot covering all but the last 5% of them. Scores are in
+ * events per second: the total number of events whose effect is reconstructed, divided by
+ * the time taken.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EventReplayBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final int EVENTS = 500_000;
+    private static final int TAIL_EVENTS = EVENTS / 20;
+
+    @Param({"events-only", "snapshot"})
+    public String source;
+
+    private ConfigurableApplicationContext context;
+    private AccountEventStore eventStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.com.example.bankingsystem=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--app.event-store.commit-horizon=0s");
+        eventStore = context.getBean(AccountEventStore.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<String> ids = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        insertEvents(jdbcTemplate, ids, 0, EVENTS - TAIL_EVENTS);
+        if ("snapshot".equals(source)) {
+            eventStore.takeSnapshot(true);
+        }
+        insertEvents(jdbcTemplate, ids, EVENTS - TAIL_EVENTS, EVENTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public Map<String, AccountState> replay() {
+        return eventStore.replay();
+    }
+
+    /**
+     * Insert events from..to: one creation per account first, then transfers between them
+     */
+    private static void insertEvents(JdbcTemplate jdbcTemplate, List<String> ids, int from, int to) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int account = i % ACCOUNTS;
+            String type = i < ACCOUNTS ? "CREATED" : (i % 2 == 0 ? "DEBITED" : "CREDITED");
+            batch.add(new Object[]{type, ids.get(account), String.format("REPLAY%08d", account),
+                    i < ACCOUNTS ? "Replay User " + account : null, "USD", "ACTIVE",
+                    BigDecimal.valueOf(1_000_000 + i % 1000, 2), now, now});
+            if (batch.size() == 10_000 || i == to - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO account_events (sequence, type, account_id, account_number, "
+                        + "account_holder_name, currency, status, balance, occurred_at, recorded_at) "
+                        + "VALUES (NEXT VALUE FOR account_event_sequence, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EventReplayBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BankAccountDetailedResponse;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.entity.AccountIdGenerator;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.repository.BankAccountSpecification;
+import com.example.bankingsystem.service.BankAccountService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per call of the paths every request goes through: mapping an account to its
+ * responses, writing them as JSON with the application's {@code ObjectMapper}, building the
+ * search {@code Specification} predicates, generating an account ID, and one transfer
+ * between two of 100 accounts in in-memory H2. Run with {@code -prof gc} to also see the
+ * allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotPathBenchmark {
+
+    private static final int ACCOUNTS = 100;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService service;
+    private ObjectMapper objectMapper;
+    private AccountIdGenerator accountIdGenerator;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private BankAccount account;
+    private BankAccountResponse response;
+    private BankAccountDetailedResponse detailedResponse;
+    private BankAccountSearchRequest searchRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as command line arguments so they override the test profile's settings
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.com.example.bankingsystem=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:hot-path;DB_CLOSE_DELAY=-1");
+        service = context.getBean(BankAccountService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        accountIdGenerator = context.getBean(AccountIdGenerator.class);
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        LocalDateTime now = LocalDateTime.now();
+        account = BankAccount.builder()
+                .id(accountIdGenerator.nextId())
+                .accountNumber("HOTPATH00001")
+                .accountHolderName("Hot Path User")
+                .email("hot.path@example.com")
+                .phoneNumber("+15550100")
+                .balance(new BigDecimal("2500.75"))
+                .currency("USD")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .createdAt(now.minusDays(400))
+                .updatedAt(now.minusHours(3))
+                .build();
+        response = BankAccountResponse.fromEntity(account);
+        detailedResponse = BankAccountDetailedResponse.fromEntity(account);
+        searchRequest = BankAccountSearchRequest.builder()
+                .accountHolderName("user 1")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .currency("usd")
+                .minBalance(BigDecimal.valueOf(100))
+                .maxBalance(BigDecimal.valueOf(10_000))
+                .createdFrom(now.minusYears(1))
+                .build();
+
+        List<BankAccountRequest> requests = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests.add(BankAccountRequest.builder()
+                    .accountNumber(accountNumber(i))
+                    .accountHolderName("Hot Path User " + i)
+                    .initialBalance(BigDecimal.valueOf(1_000_000))
+                    .currency("USD")
+                    .build());
+        }
+        service.createAccounts(BulkAccountRequest.builder().accounts(requests).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public BankAccountResponse responseFromEntity() {
+        return BankAccountResponse.fromEntity(account);
+    }
+
+    @Benchmark
+    public BankAccountDetailedResponse detailedResponseFromEntity() {
+        return BankAccountDetailedResponse.fromEntity(account);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeDetailedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detailedResponse);
+    }
+
+    @Benchmark
+    public Predicate searchSpecification() {
+        CriteriaQuery<BankAccount> query = criteriaBuilder.createQuery(BankAccount.class);
+        Root<BankAccount> root = query.from(BankAccount.class);
+        return BankAccountSpecification.createSpecification(searchRequest).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public String accountId() {
+        return accountIdGenerator.nextId();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean transferFunds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return service.transferFunds(FundTransferRequest.builder()
+                .fromAccountNumber(accountNumber(from))
+                .toAccountNumber(accountNumber(to))
+                .amount(BigDecimal.ONE)
+                .build());
+    }
+
+    private static String accountNumber(int i) {
+        return String.format("HOTPATH%06d", i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HotPathBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.repository.BankAccountSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a search through a freshly built Criteria {@code Specification} with the
+ * precompiled query-shape path used by {@code searchAccounts}, against in-memory H2.
+ * Run with {@code -prof gc} to also compare allocation per search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchQueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BankAccountRepository repository;
+    private BankAccountSearchRequest request;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.example.bankingsystem=WARN")
+                .run();
+        repository = context.getBean(BankAccountRepository.class);
+
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            accounts.add(BankAccount.builder()
+                    .accountNumber(String.format("BENCH%08d", i))
+                    .accountHolderName("Benchmark User " + i)
+                    .balance(BigDecimal.valueOf(i * 10L))
+                    .currency(i % 3 == 0 ? "EUR" : "USD")
+                    .status(i % 10 == 0 ? BankAccount.AccountStatus.SUSPENDED : BankAccount.AccountStatus.ACTIVE)
+                    .build());
+        }
+        repository.saveAll(accounts);
+
+        request = BankAccountSearchRequest.builder()
+                .accountHolderName("user 1")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .currency("usd")
+                .minBalance(BigDecimal.valueOf(100))
+                .build();
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<BankAccount> criteriaSpecification() {
+        return repository.findAll(BankAccountSpecification.createSpecification(request), pageable);
+    }
+
+    @Benchmark
+    public Page<BankAccount> compiledQueryShape() {
+        return repository.search(request, pageable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SearchQueryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
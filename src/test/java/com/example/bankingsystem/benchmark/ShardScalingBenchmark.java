@@ -0,0 +1,150 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.service.BankAccountService;
+import com.example.bankingsystem.sharding.AccountShards;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer throughput with accounts partitioned over 1, 2 and 4 file-based H2 shards.
+ * {@code intraShardTransfer} moves funds between two accounts of the same shard, picked
+ * uniformly so load spreads over all shards; {@code crossShardTransfer} always spans two
+ * shards and pays for two-phase commit. Runs with 8 threads so single-shard contention
+ * shows up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardScalingBenchmark {
+
+    private static final int ACCOUNTS_PER_SHARD = 200;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private Path databaseDirectory;
+    private ConfigurableApplicationContext context;
+    private BankAccountService service;
+    private List<List<String>> accountsByShard;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        databaseDirectory = Files.createTempDirectory("shard-scaling-benchmark");
+
+        // Passed as command line arguments so they override the test profile's settings
+        List<String> properties = new ArrayList<>(List.of(
+                "logging.level.com.example.bankingsystem=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve("single"),
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=16"));
+        if (shards > 1) {
+            properties.add("app.sharding.enabled=true");
+            for (int i = 0; i < shards; i++) {
+                properties.add("app.sharding.shards[" + i + "].url=jdbc:h2:file:" + databaseDirectory.resolve("shard-" + i));
+                properties.add("app.sharding.shards[" + i + "].username=sa");
+                properties.add("app.sharding.shards[" + i + "].password=");
+                properties.add("app.sharding.shards[" + i + "].maximum-pool-size=16");
+            }
+        }
+
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+        service = context.getBean(BankAccountService.class);
+        AccountShards accountShards = context.getBean(AccountShards.class);
+
+        // Draw account numbers until every shard owns the same number of accounts
+        Map<Integer, List<String>> byShard = new TreeMap<>();
+        for (int shard = 0; shard < shards; shard++) {
+            byShard.put(shard, new ArrayList<>());
+        }
+        List<BankAccountRequest> requests = new ArrayList<>();
+        for (int i = 0; requests.size() < ACCOUNTS_PER_SHARD * shards; i++) {
+            String accountNumber = String.format("SCALE%08d", i);
+            List<String> owned = byShard.get(accountShards.shardOf(accountNumber));
+            if (owned.size() < ACCOUNTS_PER_SHARD) {
+                owned.add(accountNumber);
+                requests.add(BankAccountRequest.builder()
+                        .accountNumber(accountNumber)
+                        .accountHolderName("Scaling User " + i)
+                        .initialBalance(BigDecimal.valueOf(1_000_000))
+                        .currency("USD")
+                        .build());
+            }
+        }
+        service.createAccounts(BulkAccountRequest.builder().accounts(requests).build());
+        accountsByShard = new ArrayList<>(byShard.values());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(databaseDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean intraShardTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> accounts = accountsByShard.get(random.nextInt(shards));
+        int from = random.nextInt(accounts.size());
+        int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+        return service.transferFunds(transfer(accounts.get(from), accounts.get(to)));
+    }
+
+    @Benchmark
+    public boolean crossShardTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int fromShard = random.nextInt(shards);
+        int toShard = shards == 1 ? fromShard : (fromShard + 1 + random.nextInt(shards - 1)) % shards;
+        List<String> fromAccounts = accountsByShard.get(fromShard);
+        List<String> toAccounts = accountsByShard.get(toShard);
+        String from = fromAccounts.get(random.nextInt(fromAccounts.size()));
+        String to = toAccounts.get(random.nextInt(toAccounts.size()));
+        return from.equals(to) || service.transferFunds(transfer(from, to));
+    }
+
+    private static FundTransferRequest transfer(String from, String to) {
+        return FundTransferRequest.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(BigDecimal.ONE)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ShardScalingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
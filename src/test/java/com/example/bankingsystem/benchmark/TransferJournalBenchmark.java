@@ -0,0 +1,111 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.service.BankAccountService;
+import com.example.bankingsystem.service.JournaledTransferService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer latency and throughput against a file-based H2 database, with transfers either
+ * written to the database before they are acknowledged ({@code database}) or acknowledged
+ * once forced to the memory-mapped journal and applied in batches afterwards
+ * ({@code journal}). Runs with 8 threads over 1,000 accounts.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferJournalBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"database", "journal"})
+    public String mode;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private BankAccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("transfer-journal-benchmark");
+        // Passed as command line arguments so they override the test profile's settings
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.com.example.bankingsystem=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("bank"),
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=16",
+                        "--app.journal.enabled=" + "journal".equals(mode),
+                        "--app.journal.directory=" + directory.resolve("journal"));
+        service = context.getBean(BankAccountService.class);
+
+        List<BankAccountRequest> requests = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests.add(BankAccountRequest.builder()
+                    .accountNumber(String.format("JOURNAL%06d", i))
+                    .accountHolderName("Journal User " + i)
+                    .initialBalance(BigDecimal.valueOf(1_000_000))
+                    .currency("USD")
+                    .build());
+        }
+        service.createAccounts(BulkAccountRequest.builder().accounts(requests).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        JournaledTransferService journal = context.getBean(JournaledTransferService.class);
+        if (journal.isEnabled() && !journal.awaitApplied(Duration.ofMinutes(1))) {
+            throw new IllegalStateException("Journaled transfers were not applied within a minute");
+        }
+        context.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return service.transferFunds(FundTransferRequest.builder()
+                .fromAccountNumber(String.format("JOURNAL%06d", from))
+                .toAccountNumber(String.format("JOURNAL%06d", to))
+                .amount(BigDecimal.ONE)
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransferJournalBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankingsystem.benchmark;
+
+import com.example.bankingsystem.BankingSystemApplication;
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.service.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Throughput of {@code POST /accounts/transfer} when every transfer is rejected, either for
+ * insufficient funds ({@code insufficient}) or because the destination does not exist
+ * ({@code not-found}). Run with {@code -prof gc} to see the allocation per rejection.
+ * Runs with 4 threads over 1,000 empty accounts in an in-memory H2 database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferRejectionBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"insufficient", "not-found"})
+    public String rejection;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as command line arguments so they override the test profile's settings
+        context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.com.example.bankingsystem=WARN",
+                        "--logging.level.org.springframework.test=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--app.admission.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:rejection;DB_CLOSE_DELAY=-1");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        List<BankAccountRequest> requests = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests.add(BankAccountRequest.builder()
+                    .accountNumber(String.format("REJECT%06d", i))
+                    .accountHolderName("Rejection User " + i)
+                    .initialBalance(BigDecimal.ZERO)
+                    .currency("USD")
+                    .build());
+        }
+        context.getBean(BankAccountService.class).createAccounts(BulkAccountRequest.builder().accounts(requests).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int rejectedTransfer() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        String to = "not-found".equals(rejection)
+                ? "MISSING0001"
+                : String.format("REJECT%06d", (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS);
+        String body = String.format("{\"fromAccountNumber\":\"REJECT%06d\",\"toAccountNumber\":\"%s\",\"amount\":10}",
+                from, to);
+        return mockMvc.perform(post("/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransferRejectionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
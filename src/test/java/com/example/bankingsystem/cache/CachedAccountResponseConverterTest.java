@@ -0,0 +1,101 @@
+package com.example.bankingsystem.cache;
+
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.entity.BankAccount;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedAccountResponseConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private SimpleMeterRegistry meterRegistry;
+    private CachedAccountResponseConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMinResponseSize(DataSize.ofBytes(64));
+        LinkedHashMap<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        converter = new CachedAccountResponseConverter(mappers, compression, 100, meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void write_ShouldReuseBytes_WhileTheAccountIsUnchanged() throws IOException {
+        MockHttpOutputMessage first = write(account(100));
+        MockHttpOutputMessage second = write(account(100));
+        MockHttpOutputMessage changed = write(account(75));
+
+        assertThat(first.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(account(100)));
+        assertThat(second.getBodyAsBytes()).isEqualTo(first.getBodyAsBytes());
+        assertThat(changed.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(account(75)));
+        assertThat(first.getHeaders().getContentLength()).isEqualTo(first.getBodyAsBytes().length);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void write_ShouldGzip_WhenTheClientAcceptsIt() throws IOException {
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        MockHttpOutputMessage output = write(account(100));
+
+        assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(output.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(account(100)));
+        }
+    }
+
+    private MockHttpOutputMessage write(BankAccountResponse account) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(account, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.find(EncodedAccountCache.REQUESTS).tag("result", result).counter().count();
+    }
+
+    private static BankAccountResponse account(long balance) {
+        return BankAccountResponse.builder()
+                .id("ACC0000000001")
+                .accountNumber("CACHE00001")
+                .accountHolderName("Cache Test")
+                .balance(BigDecimal.valueOf(balance))
+                .currency("USD")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+}
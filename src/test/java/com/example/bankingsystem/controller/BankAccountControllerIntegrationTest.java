@@ -1,9 +1,14 @@
 package com.example.bankingsystem.controller;
 
+import com.example.bankingsystem.cache.EncodedAccountCache;
 import com.example.bankingsystem.dto.*;
 import com.example.bankingsystem.entity.BankAccount;
 import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.service.AccountAnalyticsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
@@ -11,15 +16,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +49,12 @@ class BankAccountControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AccountAnalyticsService accountAnalyticsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private MockMvc mockMvc;
     private BankAccount testAccount;
     private BankAccountRequest createRequest;
@@ -218,6 +235,317 @@ class BankAccountControllerIntegrationTest {
 
 
 
+    @Test
+    void createAccounts_ShouldCreateBatchAndReportDuplicates() throws Exception {
+        bankAccountRepository.save(testAccount);
+
+        BankAccountRequest newRequest = BankAccountRequest.builder()
+                .accountNumber("0987654321")
+                .accountHolderName("Jane Doe")
+                .initialBalance(BigDecimal.valueOf(500.00))
+                .currency("USD")
+                .build();
+        BulkAccountRequest bulkRequest = BulkAccountRequest.builder()
+                .accounts(List.of(createRequest, newRequest))
+                .build();
+
+        mockMvc.perform(post("/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.duplicateAccountNumbers", contains("1234567890")));
+
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "0987654321"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountHolderName", is("Jane Doe")));
+    }
+
+    @Test
+    void changeStatus_ShouldUpdateMatchingAccountsAndEvictTheirCacheEntries() throws Exception {
+        BankAccount saved = bankAccountRepository.save(testAccount);
+        bankAccountRepository.save(BankAccount.builder()
+                .accountNumber("EUR0000001")
+                .accountHolderName("Euro Holder")
+                .balance(BigDecimal.valueOf(10.00))
+                .currency("EUR")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .build());
+
+        // Populate the caches that the bulk change must evict
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "1234567890"))
+                .andExpect(jsonPath("$.status", is("ACTIVE")));
+        mockMvc.perform(get("/accounts/{id}", saved.getId()))
+                .andExpect(jsonPath("$.status", is("ACTIVE")));
+
+        BulkStatusChangeRequest suspend = BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.SUSPENDED)
+                .criteria(BankAccountSearchRequest.builder().currency("USD").build())
+                .build();
+        mockMvc.perform(post("/accounts/status/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(suspend)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)));
+
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "1234567890"))
+                .andExpect(jsonPath("$.status", is("SUSPENDED")));
+        mockMvc.perform(get("/accounts/{id}", saved.getId()))
+                .andExpect(jsonPath("$.status", is("SUSPENDED")));
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "EUR0000001"))
+                .andExpect(jsonPath("$.status", is("ACTIVE")));
+
+        BulkStatusChangeRequest close = BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.CLOSED)
+                .accountIds(List.of(saved.getId(), "ACCUNKNOWN"))
+                .build();
+        mockMvc.perform(post("/accounts/status/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(close)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)));
+
+        // Closed accounts are not reactivated
+        BulkStatusChangeRequest reactivate = BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .accountIds(List.of(saved.getId()))
+                .build();
+        mockMvc.perform(post("/accounts/status/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reactivate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(0)));
+
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "1234567890"))
+                .andExpect(jsonPath("$.status", is("CLOSED")));
+    }
+
+    @Test
+    void changeStatus_ShouldReturnBadRequest_WhenCriteriaHasNoFilter() throws Exception {
+        BulkStatusChangeRequest request = BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.SUSPENDED)
+                .criteria(new BankAccountSearchRequest())
+                .build();
+
+        mockMvc.perform(post("/accounts/status/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importAccounts_ShouldImportCsvInChunksAndReportErrors() throws Exception {
+        bankAccountRepository.save(testAccount);
+
+        String csv = """
+                accountNumber,accountHolderName,email,phoneNumber,initialBalance,currency
+                IMPORT00001,Import One,one@example.com,1234567890,100.00,USD
+                IMPORT00002,"Two, Import",,,200.00,EUR
+                BAD,Invalid Number,,,10.00,USD
+                1234567890,Already Exists,,,10.00,USD
+                IMPORT00003,"Import\nThree",,,300.00,USD
+                """;
+        MockMultipartFile file = new MockMultipartFile("file", "accounts.csv", "text/csv", csv.getBytes());
+
+        String body = mockMvc.perform(multipart("/accounts/imports").file(file).param("format", "CSV"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("id").asText();
+
+        String status = "PENDING";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED") && !status.equals("FAILED"); attempt++) {
+            Thread.sleep(100);
+            String job = mockMvc.perform(get("/accounts/imports/{jobId}", jobId))
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(job).get("status").asText();
+        }
+
+        mockMvc.perform(get("/accounts/imports/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.committedRecords", is(5)))
+                .andExpect(jsonPath("$.importedRecords", is(3)))
+                .andExpect(jsonPath("$.rejectedRecords", is(1)))
+                .andExpect(jsonPath("$.duplicateRecords", is(1)));
+
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "IMPORT00002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountHolderName", is("Two, Import")));
+        mockMvc.perform(get("/accounts/number/{accountNumber}", "IMPORT00003"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountHolderName", is("Import\nThree")));
+
+        mockMvc.perform(get("/accounts/imports/{jobId}/errors", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"record\":3")))
+                .andExpect(content().string(containsString("Account already exists with account number: 1234567890")));
+    }
+
+    @Test
+    void exportAccounts_ShouldStreamMatchingAccountsAsNdjson() throws Exception {
+        bankAccountRepository.save(testAccount);
+
+        MvcResult result = mockMvc.perform(get("/accounts/export")
+                        .param("currency", "USD"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"accountNumber\":\"1234567890\"")));
+    }
+
+    @Test
+    void exportAccounts_ShouldStreamCsvWithHeader() throws Exception {
+        bankAccountRepository.save(testAccount);
+
+        MvcResult result = mockMvc.perform(get("/accounts/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,accountNumber,accountHolderName")))
+                .andExpect(content().string(containsString(",1234567890,John Doe,john.doe@example.com,")));
+    }
+
+    @Test
+    void streamAccountChanges_ShouldPushCommittedTransfers() throws Exception {
+        bankAccountRepository.save(testAccount);
+        bankAccountRepository.save(BankAccount.builder()
+                .accountNumber("0987654321")
+                .accountHolderName("Jane Doe")
+                .balance(BigDecimal.valueOf(500.00))
+                .currency("USD")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .build());
+
+        MvcResult stream = mockMvc.perform(get("/accounts/number/{accountNumber}/events", "1234567890"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(FundTransferRequest.builder()
+                                .fromAccountNumber("1234567890")
+                                .toAccountNumber("0987654321")
+                                .amount(BigDecimal.valueOf(200.00))
+                                .build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(FundTransferRequest.builder()
+                                .fromAccountNumber("0987654321")
+                                .toAccountNumber("1234567890")
+                                .amount(BigDecimal.valueOf(50.00))
+                                .build())))
+                .andExpect(status().isOk());
+
+        // Changes are written by the sender threads after the transfer commits, an event in several writes
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(stream.getResponse().getContentAsString().contains("\"balance\":850.00")
+                && stream.getResponse().getContentAsString().endsWith("\n\n"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = stream.getResponse().getContentAsString();
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(events).contains("event:account-change", "\"type\":\"DEBITED\"", "\"balance\":800.00");
+        // Numbered per stream, so the other account's changes leave no gap
+        assertThat(events).contains("id:1\nevent:account-change", "id:2\nevent:account-change");
+        assertThat(events).doesNotContain("0987654321", "john.doe@example.com");
+    }
+
+    @Test
+    void streamAccountChanges_ShouldReturnNotFound_WhenAccountDoesNotExist() throws Exception {
+        mockMvc.perform(get("/accounts/number/{accountNumber}/events", "9999999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBalanceAnalytics_ShouldReflectCreatesAndTransfersIncrementally() throws Exception {
+        accountAnalyticsService.rebuild();
+
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated());
+
+        BankAccountRequest secondRequest = BankAccountRequest.builder()
+                .accountNumber("0987654321")
+                .accountHolderName("Jane Doe")
+                .initialBalance(BigDecimal.valueOf(50.00))
+                .currency("USD")
+                .build();
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(secondRequest)))
+                .andExpect(status().isCreated());
+
+        FundTransferRequest transferRequest = FundTransferRequest.builder()
+                .fromAccountNumber("1234567890")
+                .toAccountNumber("0987654321")
+                .amount(BigDecimal.valueOf(100.00))
+                .build();
+        mockMvc.perform(post("/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/accounts/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets", hasSize(1)))
+                .andExpect(jsonPath("$.buckets[0].currency", is("USD")))
+                .andExpect(jsonPath("$.buckets[0].status", is("ACTIVE")))
+                .andExpect(jsonPath("$.buckets[0].accountCount", is(2)))
+                .andExpect(jsonPath("$.buckets[0].totalBalance", is(1050.0)))
+                .andExpect(jsonPath("$.buckets[0].minBalance", is(150.0)))
+                .andExpect(jsonPath("$.buckets[0].maxBalance", is(900.0)))
+                .andExpect(jsonPath("$.buckets[0].tiers.BASIC", is(2)));
+    }
+
+    @Test
+    void asyncReads_ShouldRunMissesOnThePoolAndAnswerCacheHitsDirectly() throws Exception {
+        createRequest.setAccountNumber("ASYNC00001");
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated());
+
+        MvcResult miss = mockMvc.perform(get("/async/accounts/number/{accountNumber}", "ASYNC00001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(miss))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.accountNumber", is("ASYNC00001")));
+
+        mockMvc.perform(get("/async/accounts/number/{accountNumber}", "ASYNC00001"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.accountNumber", is("ASYNC00001")));
+
+        MvcResult search = mockMvc.perform(get("/async/accounts/search").param("accountNumber", "ASYNC00001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(search))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].accountNumber", is("ASYNC00001")));
+
+        MvcResult notFound = mockMvc.perform(get("/async/accounts/number/{accountNumber}", "ASYNC99999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(notFound))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("Account Not Found")));
+    }
+
     @Test
     void createAccount_ShouldReturnBadRequest_WhenValidationFails() throws Exception {
         BankAccountRequest invalidRequest = BankAccountRequest.builder()
@@ -389,6 +717,15 @@ class BankAccountControllerIntegrationTest {
                     .andExpect(jsonPath("$.empty", is(false)));
         }
 
+        @Test
+        void getAllAccounts_ShouldRejectUnindexedSortField() throws Exception {
+            mockMvc.perform(get("/accounts")
+                            .param("sortBy", "email"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", is("Invalid Search Criteria")))
+                    .andExpect(jsonPath("$.message", containsString("Unsupported sort field: email")));
+        }
+
         @Test
         void searchAccountsByName_ShouldReturnMatchingAccounts() throws Exception {
             mockMvc.perform(get("/accounts/search")
@@ -450,4 +787,219 @@ class BankAccountControllerIntegrationTest {
                     .andExpect(jsonPath("$.totalElements", is(25)));
         }
     }
+
+    @Nested
+    @Transactional
+    class BinaryEncodingTests {
+
+        private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+        @BeforeEach
+        void setUp() {
+            bankAccountRepository.deleteAll();
+
+            for (int i = 1; i <= 5; i++) {
+                bankAccountRepository.save(BankAccount.builder()
+                        .accountNumber("BINARY" + String.format("%04d", i))
+                        .accountHolderName("Binary User " + i)
+                        .email("binary" + i + "@example.com")
+                        .balance(BigDecimal.valueOf(100 * i))
+                        .currency("USD")
+                        .status(BankAccount.AccountStatus.ACTIVE)
+                        .build());
+            }
+        }
+
+        @Test
+        void getAccountByAccountNumber_ShouldReturnCbor_WhenAccepted() throws Exception {
+            MvcResult result = mockMvc.perform(get("/accounts/number/{accountNumber}", "BINARY0003")
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            BankAccountResponse account = cborMapper.readValue(
+                    result.getResponse().getContentAsByteArray(), BankAccountResponse.class);
+            assertThat(account.getAccountNumber()).isEqualTo("BINARY0003");
+            assertThat(account.getBalance()).isEqualByComparingTo("300");
+            assertThat(account.getStatus()).isEqualTo(BankAccount.AccountStatus.ACTIVE);
+        }
+
+        @Test
+        void getAccountByAccountNumber_ShouldWriteCachedBytes_UntilTheAccountChanges() throws Exception {
+            double hitsBefore = encodedResponseHits();
+            String first = mockMvc.perform(get("/accounts/number/{accountNumber}", "BINARY0002"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            mockMvc.perform(get("/accounts/number/{accountNumber}", "BINARY0002"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().string(first));
+            assertThat(encodedResponseHits() - hitsBefore).isEqualTo(1);
+
+            mockMvc.perform(put("/accounts/number/{accountNumber}", "BINARY0002")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(BankAccountUpdateRequest.builder()
+                                    .accountHolderName("Renamed User")
+                                    .build())))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/accounts/number/{accountNumber}", "BINARY0002"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accountHolderName", is("Renamed User")));
+        }
+
+        private double encodedResponseHits() {
+            return meterRegistry.find(EncodedAccountCache.REQUESTS).tag("result", "hit").counter().count();
+        }
+
+        @Test
+        void getAllAccounts_ShouldReturnSmallerSmileThanJson() throws Exception {
+            byte[] json = mockMvc.perform(get("/accounts").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            byte[] smile = mockMvc.perform(get("/accounts").accept(new MediaType("application", "x-jackson-smile")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            BankAccountPagedResponse page = smileMapper.readValue(smile, BankAccountPagedResponse.class);
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            assertThat(page.getContent()).hasSize(5);
+            assertThat(smile.length).isLessThan(json.length);
+        }
+
+        @Test
+        void transferFunds_ShouldAcceptAndReturnSmile() throws Exception {
+            MediaType smile = new MediaType("application", "x-jackson-smile");
+            FundTransferRequest request = FundTransferRequest.builder()
+                    .fromAccountNumber("BINARY0005")
+                    .toAccountNumber("BINARY0001")
+                    .amount(new BigDecimal("125.50"))
+                    .build();
+
+            MvcResult result = mockMvc.perform(post("/accounts/transfer")
+                            .contentType(smile)
+                            .accept(smile)
+                            .content(smileMapper.writeValueAsBytes(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(smile))
+                    .andReturn();
+
+            Map<?, ?> response = smileMapper.readValue(result.getResponse().getContentAsByteArray(), Map.class);
+            assertThat(response.get("success")).isEqualTo("true");
+            assertThat(bankAccountRepository.findByAccountNumber("BINARY0001").orElseThrow().getBalance())
+                    .isEqualByComparingTo("225.50");
+        }
+    }
+
+    @Nested
+    @Transactional
+    class ConditionalRequestTests {
+
+        @BeforeEach
+        void setUp() {
+            bankAccountRepository.deleteAll();
+
+            bankAccountRepository.save(BankAccount.builder()
+                    .accountNumber("ETAG000001")
+                    .accountHolderName("ETag User")
+                    .email("etag@example.com")
+                    .balance(BigDecimal.valueOf(100))
+                    .currency("USD")
+                    .status(BankAccount.AccountStatus.ACTIVE)
+                    .build());
+        }
+
+        @Test
+        void getAccount_ShouldAnswerNotModified_WhenETagMatches() throws Exception {
+            String eTag = mockMvc.perform(get("/accounts/number/{accountNumber}", "ETAG000001"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/accounts/number/{accountNumber}", "ETAG000001")
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(content().string(""));
+
+            String detailsETag = mockMvc.perform(get("/accounts/number/{accountNumber}/details", "ETAG000001"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            mockMvc.perform(get("/accounts/number/{accountNumber}/details", "ETAG000001")
+                            .header("If-None-Match", detailsETag))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        void updateAccount_ShouldRequireCurrentETag_WhenIfMatchGiven() throws Exception {
+            String eTag = mockMvc.perform(get("/accounts/number/{accountNumber}", "ETAG000001"))
+                    .andReturn().getResponse().getHeader("ETag");
+            BankAccountUpdateRequest update = BankAccountUpdateRequest.builder()
+                    .accountHolderName("ETag User Renamed")
+                    .email("etag@example.com")
+                    .build();
+
+            String newETag = mockMvc.perform(put("/accounts/number/{accountNumber}", "ETAG000001")
+                            .header("If-Match", eTag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accountHolderName", is("ETag User Renamed")))
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(newETag).isNotEqualTo(eTag);
+
+            // A second writer still holding the old ETag loses instead of overwriting
+            mockMvc.perform(put("/accounts/number/{accountNumber}", "ETAG000001")
+                            .header("If-Match", eTag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(BankAccountUpdateRequest.builder()
+                                    .accountHolderName("Lost Update")
+                                    .build())))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.error", is("Precondition Failed")));
+
+            assertThat(bankAccountRepository.findByAccountNumber("ETAG000001").orElseThrow().getAccountHolderName())
+                    .isEqualTo("ETag User Renamed");
+        }
+
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED) // Caches are evicted once the transfer commits
+        void updateAccount_ShouldAcceptETagReadAfterTransfer() throws Exception {
+            bankAccountRepository.save(BankAccount.builder()
+                    .accountNumber("ETAG000002")
+                    .accountHolderName("ETag Payee")
+                    .balance(BigDecimal.ZERO)
+                    .currency("USD")
+                    .status(BankAccount.AccountStatus.ACTIVE)
+                    .build());
+            String eTag = mockMvc.perform(get("/accounts/number/{accountNumber}", "ETAG000001"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(post("/accounts/transfer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(FundTransferRequest.builder()
+                                    .fromAccountNumber("ETAG000001")
+                                    .toAccountNumber("ETAG000002")
+                                    .amount(BigDecimal.valueOf(40))
+                                    .build())))
+                    .andExpect(status().isOk());
+
+            String afterTransfer = mockMvc.perform(get("/accounts/number/{accountNumber}", "ETAG000001")
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.balance", is(60.0)))
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(afterTransfer).isNotEqualTo(eTag);
+
+            mockMvc.perform(put("/accounts/number/{accountNumber}", "ETAG000001")
+                            .header("If-Match", afterTransfer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(BankAccountUpdateRequest.builder()
+                                    .accountHolderName("ETag User Renamed")
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accountHolderName", is("ETag User Renamed")));
+        }
+    }
 }
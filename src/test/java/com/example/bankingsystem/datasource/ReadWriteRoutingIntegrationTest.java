@@ -0,0 +1,174 @@
+package com.example.bankingsystem.datasource;
+
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes between two in-memory H2 databases. The replica is "replicated" by copying the
+ * primary's script into it, so anything written since the last copy is only visible on
+ * the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[0].password=",
+        "app.datasource.routing.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.datasource.routing.max-lag=5s",
+        "app.datasource.routing.lag-check-interval=3600000",
+        "app.datasource.routing.stickiness=1h"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(readYourWritesFilter)
+                .build();
+        bankAccountRepository.deleteAll();
+        replicate(0);
+    }
+
+    @Test
+    void readOnlyRequests_ShouldReadFromReplicaExceptRightAfterTheClientWrote() throws Exception {
+        createAccount("writer", "ROUTE00001");
+
+        search("reader", "ROUTE00001").andExpect(jsonPath("$.totalElements", is(0)));
+        search("writer", "ROUTE00001").andExpect(jsonPath("$.totalElements", is(1)));
+
+        replicate(0);
+
+        search("reader", "ROUTE00001").andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void readOnlyRequests_ShouldFallBackToPrimary_WhenReplicaLagsTooMuch() throws Exception {
+        createAccount("writer", "ROUTE00002");
+        setReplicaLag(60);
+
+        search("reader", "ROUTE00002").andExpect(jsonPath("$.totalElements", is(1)));
+
+        setReplicaLag(1);
+
+        search("reader", "ROUTE00002").andExpect(jsonPath("$.totalElements", is(0)));
+    }
+
+    @Test
+    void primaryPool_ShouldUseTheSpringDatasourceHikariSettings() {
+        HikariDataSource primary = (HikariDataSource) routingDataSource.getResolvedDataSources()
+                .get(ReadWriteRoutingDataSource.PRIMARY);
+
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getPoolName()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    private void createAccount(String client, String accountNumber) throws Exception {
+        BankAccountRequest request = BankAccountRequest.builder()
+                .accountNumber(accountNumber)
+                .accountHolderName("Routing Test")
+                .initialBalance(BigDecimal.valueOf(100.00))
+                .currency("USD")
+                .build();
+        mockMvc.perform(post("/accounts")
+                        .header("X-Client-Id", client)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions search(String client, String accountNumber) throws Exception {
+        return mockMvc.perform(get("/accounts/search")
+                        .header("X-Client-Id", client)
+                        .param("accountNumber", accountNumber))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Replace the replica's contents with a copy of the primary
+     */
+    private void replicate(double lagSeconds) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "test");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                if (!sql.startsWith("CREATE USER")) {
+                    statement.execute(sql);
+                }
+            }
+            statement.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE)");
+            statement.execute("INSERT INTO replica_lag VALUES (0)");
+        }
+        setReplicaLag(lagSeconds);
+    }
+
+    private void setReplicaLag(double lagSeconds) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("UPDATE replica_lag SET lag_seconds = " + lagSeconds);
+        }
+        replicaLagMonitor.checkReplicas();
+    }
+}
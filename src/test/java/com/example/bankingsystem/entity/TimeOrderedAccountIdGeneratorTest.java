@@ -0,0 +1,114 @@
+package com.example.bankingsystem.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedAccountIdGeneratorTest {
+
+    @Test
+    void nextId_ShouldNeverCollideAcrossThreads() {
+        TimeOrderedAccountIdGenerator generator = new TimeOrderedAccountIdGenerator(7);
+        int numberOfThreads = 8;
+        int idsPerThread = 50_000;
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+        CompletableFuture<?>[] futures = IntStream.range(0, numberOfThreads)
+                .mapToObj(threadId -> CompletableFuture.runAsync(() -> {
+                    String previous = null;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        String id = generator.nextId();
+                        ids.add(id);
+                        if (previous != null && id.compareTo(previous) <= 0) {
+                            outOfOrder.incrementAndGet();
+                        }
+                        previous = id;
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(futures).join();
+        executor.shutdown();
+
+        assertThat(ids).hasSize(numberOfThreads * idsPerThread);
+        assertThat(outOfOrder.get()).isZero();
+    }
+
+    @Test
+    void nextId_ShouldStayUniqueAndOrderedWhenClockStallsOrMovesBack() {
+        MutableClock clock = new MutableClock(1_700_000_000_000L);
+        TimeOrderedAccountIdGenerator generator = new TimeOrderedAccountIdGenerator(1, clock);
+
+        List<String> ids = new ArrayList<>();
+        // More IDs than the per-millisecond sequence can hold while time stands still
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+        clock.millis -= 60_000;
+        for (int i = 0; i < 100; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void nextId_ShouldUsePrefixAndFixedLength() {
+        String id = new TimeOrderedAccountIdGenerator(0).nextId();
+
+        assertThat(id).startsWith(AccountIdGenerator.PREFIX).hasSize(26).matches("^ACC[0-9A-HJKMNP-TV-Z]+$");
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangeNodeId() {
+        assertThatThrownBy(() -> new TimeOrderedAccountIdGenerator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
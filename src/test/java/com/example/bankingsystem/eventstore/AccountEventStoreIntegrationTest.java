@@ -0,0 +1,113 @@
+package com.example.bankingsystem.eventstore;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BankAccountUpdateRequest;
+import com.example.bankingsystem.dto.BulkStatusChangeRequest;
+import com.example.bankingsystem.entity.AccountSnapshot;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.repository.AccountEventRepository;
+import com.example.bankingsystem.repository.AccountSnapshotRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.service.AccountStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountEventStoreIntegrationTest extends IntegrationTest {
+
+    @Autowired
+    private AccountEventStore accountEventStore;
+
+    @Autowired
+    private AccountStatusService accountStatusService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private AccountEventRepository accountEventRepository;
+
+    @Autowired
+    private AccountSnapshotRepository accountSnapshotRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountSnapshotRepository.deleteAll();
+        accountEventRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void replay_ShouldMatchTheAccountTable_FromSnapshotPlusTail() {
+        BankAccountResponse alice = create("EVENTS0001", 500);
+        BankAccountResponse bob = create("EVENTS0002", 100);
+        BankAccountResponse carol = create("EVENTS0003", 50);
+        BankAccountResponse dave = create("EVENTS0009", 0);
+        transfer("EVENTS0001", "EVENTS0002", 120);
+
+        AccountSnapshot snapshot = accountEventStore.takeSnapshot(true);
+        assertThat(snapshot.getAccountCount()).isEqualTo(4);
+
+        transfer("EVENTS0002", "EVENTS0003", 20);
+        bankAccountService.updateAccountByAccountNumber("EVENTS0001", BankAccountUpdateRequest.builder()
+                .accountHolderName("Alice Renamed")
+                .email("alice@example.com")
+                .build());
+        accountStatusService.changeStatus(BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.SUSPENDED)
+                .accountIds(List.of(carol.getId()))
+                .build());
+        bankAccountService.deleteAccount(dave.getId());
+        create("EVENTS0004", 75);
+
+        assertThat(accountEventRepository.countBySequenceGreaterThan(snapshot.getLastSequence())).isEqualTo(6);
+
+        Map<String, AccountState> replayed = accountEventStore.replay();
+
+        List<BankAccount> accounts = bankAccountRepository.findAll();
+        assertThat(replayed).hasSize(accounts.size());
+        for (BankAccount account : accounts) {
+            AccountState state = replayed.get(account.getId());
+            assertThat(state.getAccountNumber()).isEqualTo(account.getAccountNumber());
+            assertThat(state.getAccountHolderName()).isEqualTo(account.getAccountHolderName());
+            assertThat(state.getEmail()).isEqualTo(account.getEmail());
+            assertThat(state.getStatus()).isEqualTo(account.getStatus());
+            assertThat(state.getBalance()).isEqualByComparingTo(account.getBalance());
+        }
+        assertThat(replayed.get(alice.getId()).getAccountHolderName()).isEqualTo("Alice Renamed");
+        assertThat(replayed.get(carol.getId()).getStatus()).isEqualTo(BankAccount.AccountStatus.SUSPENDED);
+        assertThat(replayed.get(bob.getId()).getBalance()).isEqualByComparingTo("200.00");
+        assertThat(replayed).doesNotContainKey(dave.getId());
+    }
+
+    @Test
+    void failedTransfer_ShouldNotAppendEvents() {
+        create("EVENTS0005", 10);
+        create("EVENTS0006", 10);
+        long before = accountEventRepository.count();
+
+        assertThatThrownBy(() -> transfer("EVENTS0005", "EVENTS0006", 50));
+
+        assertThat(accountEventRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void takeSnapshot_ShouldKeepOnlyTheRetainedSnapshots() {
+        create("EVENTS0007", 10);
+        accountEventStore.takeSnapshot(true);
+        create("EVENTS0008", 10);
+        accountEventStore.takeSnapshot(true);
+        AccountSnapshot latest = accountEventStore.takeSnapshot(true);
+
+        assertThat(accountSnapshotRepository.count()).isEqualTo(2);
+        assertThat(accountSnapshotRepository.findFirstByOrderByIdDesc()).get()
+                .extracting(AccountSnapshot::getId).isEqualTo(latest.getId());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.bankingsystem.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldRollOverSegments_AndRecoverEveryRecordInOrder() throws IOException {
+        List<TransferRecord> durable = new CopyOnWriteArrayList<>();
+        try (TransferJournal journal = new TransferJournal(directory, 4, durable::add)) {
+            journal.open(1, record -> {
+            });
+            for (int i = 0; i < 10; i++) {
+                journal.awaitDurable(append(journal, i).sequence());
+            }
+        }
+
+        assertThat(durable).extracting(TransferRecord::sequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(segments()).hasSize(3);
+
+        List<TransferRecord> recovered = new ArrayList<>();
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            assertThat(journal.open(1, recovered::add)).isEqualTo(10);
+            assertThat(append(journal, 10).sequence()).isEqualTo(11);
+        }
+        assertThat(recovered).isEqualTo(durable);
+        assertThat(recovered.get(3).fromAccountNumber()).isEqualTo("JOURNAL0003");
+        assertThat(recovered.get(3).amount()).isEqualByComparingTo("3.25");
+    }
+
+    @Test
+    void open_ShouldStopAtATornRecord_AndDropEverythingAfterIt() throws IOException {
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            journal.open(1, record -> {
+            });
+            for (int i = 0; i < 7; i++) {
+                journal.awaitDurable(append(journal, i).sequence());
+            }
+        }
+
+        // Corrupt record 3, the third slot of the first segment
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(2L * TransferRecord.SIZE + 20);
+            file.write(0x7f);
+        }
+
+        List<TransferRecord> recovered = new ArrayList<>();
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            assertThat(journal.open(1, recovered::add)).isEqualTo(2);
+            assertThat(segments()).hasSize(1);
+            journal.awaitDurable(append(journal, 0).sequence());
+        }
+        assertThat(recovered).extracting(TransferRecord::sequence).containsExactly(1L, 2L);
+
+        // The slots after the torn record were cleared, so nothing stale reappears
+        recovered.clear();
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            assertThat(journal.open(1, recovered::add)).isEqualTo(3);
+        }
+        assertThat(recovered).extracting(TransferRecord::sequence).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void release_ShouldDeleteAppliedSegments_AndOpenShouldNotReuseAppliedSequences() throws IOException {
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            journal.open(1, record -> {
+            });
+            for (int i = 0; i < 9; i++) {
+                journal.awaitDurable(append(journal, i).sequence());
+            }
+            journal.release(8);
+            assertThat(segments()).hasSize(1);
+            // The newest segment is kept even when fully applied
+            journal.release(9);
+            assertThat(segments()).hasSize(1);
+        }
+
+        for (Path segment : segments()) {
+            Files.delete(segment);
+        }
+        try (TransferJournal journal = new TransferJournal(directory, 4, record -> {
+        })) {
+            assertThat(journal.open(10, record -> {
+            })).isZero();
+            assertThat(append(journal, 0).sequence()).isEqualTo(10);
+        }
+    }
+
+    private static TransferRecord append(TransferJournal journal, int i) {
+        return journal.append(String.format("JOURNAL%04d", i), String.format("JOURNAL%04d", i + 1),
+                new BigDecimal(i + ".25"));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
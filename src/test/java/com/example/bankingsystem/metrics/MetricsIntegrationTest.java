@@ -0,0 +1,106 @@
+package com.example.bankingsystem.metrics;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Lock waits time out quickly enough to be tested
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=200")
+class MetricsIntegrationTest extends IntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void transfer_ShouldRecordPoolTransactionAndLockMetrics() {
+        create("METRICS001", 100);
+        create("METRICS002", 0);
+        long locksBefore = lockWaits();
+
+        transfer("METRICS001", "METRICS002", 10);
+
+        Timer transaction = meterRegistry.find(TransactionMetrics.DURATION)
+                .tag("name", "BankAccountServiceImpl.transferFunds")
+                .tag("outcome", "committed")
+                .timer();
+        assertThat(transaction).isNotNull();
+        assertThat(transaction.count()).isPositive();
+        assertThat(meterRegistry.find(TransactionMetrics.COMMIT)
+                .tag("name", "BankAccountServiceImpl.transferFunds").timer()).isNotNull();
+        assertThat(lockWaits() - locksBefore).isEqualTo(2);
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "primary").timer()).isNotNull();
+    }
+
+    @Test
+    void transfer_ShouldCountLockTimeouts() throws Exception {
+        create("METRICS011", 100);
+        create("METRICS012", 0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bankAccountRepository.findByAccountNumberWithLock("METRICS011");
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // H2 may also fail the rollback that follows, so only the failure itself is checked
+            assertThatThrownBy(() -> transfer("METRICS011", "METRICS012", 10));
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(meterRegistry.find(LockMetrics.FAILURES)
+                .tag("lock", "transfer")
+                .tag("cause", LockMetrics.TIMEOUT)
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void causeOf_ShouldTellDeadlocksFromTimeouts() {
+        assertThat(LockMetrics.causeOf(new CannotAcquireLockException("deadlock",
+                new SQLException("Deadlock detected", "40001")))).isEqualTo(LockMetrics.DEADLOCK);
+        assertThat(LockMetrics.causeOf(new CannotAcquireLockException("timeout",
+                new SQLException("Timeout trying to lock table", "HYT00")))).isEqualTo(LockMetrics.TIMEOUT);
+        assertThat(LockMetrics.causeOf(new IllegalStateException("unrelated"))).isEqualTo(LockMetrics.OTHER);
+    }
+
+    private long lockWaits() {
+        Timer timer = meterRegistry.find(LockMetrics.WAIT).tag("lock", "transfer").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankingsystem.metrics;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when the number of statements behind the hot paths changes. Adding a query to a
+ * lookup or transfer should be a deliberate decision that also updates these budgets.
+ */
+class SqlStatementBudgetTest extends IntegrationTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getAccountByAccountNumber_ShouldRunOneStatementOnACacheMiss_AndNoneOnAHit() {
+        create("SQLBUDGET01", 100);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        assertThat(count(() -> bankAccountService.getAccountByAccountNumber("SQLBUDGET01")).getStatements())
+                .isEqualTo(1);
+        assertThat(count(() -> bankAccountService.getAccountByAccountNumber("SQLBUDGET01")).getStatements())
+                .isZero();
+    }
+
+    @Test
+    void transferFunds_ShouldStayWithinItsStatementBudget() {
+        create("SQLBUDGET11", 100);
+        create("SQLBUDGET12", 0);
+        double recordedBefore = statementsRecorded();
+
+        SqlStatementCollector.Scope scope = count(() -> bankAccountService.transferFunds(FundTransferRequest.builder()
+                .fromAccountNumber("SQLBUDGET11")
+                .toAccountNumber("SQLBUDGET12")
+                .amount(BigDecimal.TEN)
+                .build()));
+
+        // Two locking reads, one batch of balance updates, two event sequence values,
+        // one event insert and one balance history insert, both batched per table
+        assertThat(scope.getStatements()).isEqualTo(7);
+        assertThat(scope.mostRepeated()).hasValueSatisfying(repeated -> assertThat(repeated.getValue()).isEqualTo(2));
+        // Other tests in the shared context record transfers too
+        assertThat(statementsRecorded() - recordedBefore).isEqualTo(scope.getStatements());
+    }
+
+    @Test
+    void scope_ShouldCountStatementsAndRowsOfNestedWork() {
+        try (SqlStatementCollector.Scope outer = SqlStatementCollector.open()) {
+            jdbcTemplate.queryForList("SELECT 1 UNION ALL SELECT 2");
+            try (SqlStatementCollector.Scope inner = SqlStatementCollector.open()) {
+                for (int i = 0; i < 3; i++) {
+                    jdbcTemplate.queryForObject("SELECT ?", Integer.class, i);
+                }
+                assertThat(inner.getStatements()).isEqualTo(3);
+                assertThat(inner.getRows()).isEqualTo(3);
+                assertThat(inner.mostRepeated()).hasValueSatisfying(repeated -> {
+                    assertThat(repeated.getKey()).isEqualTo("SELECT ?");
+                    assertThat(repeated.getValue()).isEqualTo(3);
+                });
+            }
+            assertThat(outer.getStatements()).isEqualTo(4);
+            assertThat(outer.getRows()).isEqualTo(5);
+        }
+    }
+
+    private double statementsRecorded() {
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetrics.SERVICE + ".statements")
+                .tag("operation", "BankAccountService.transferFunds")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private SqlStatementCollector.Scope count(Runnable work) {
+        try (SqlStatementCollector.Scope scope = SqlStatementCollector.open()) {
+            work.run();
+            return scope;
+        }
+    }
+}
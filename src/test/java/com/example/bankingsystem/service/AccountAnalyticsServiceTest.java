@@ -0,0 +1,123 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.dto.BalanceAnalyticsResponse;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.event.AccountChangedEvent;
+import com.example.bankingsystem.eventstore.AccountEventStore;
+import com.example.bankingsystem.repository.BalanceSummaryView;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountAnalyticsServiceTest {
+
+    private static final BankAccount.AccountStatus ACTIVE = BankAccount.AccountStatus.ACTIVE;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AccountEventStore accountEventStore;
+
+    private AccountAnalyticsService accountAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        accountAnalyticsService = new AccountAnalyticsService(bankAccountRepository, transactionManager,
+                AccountShards.unsharded(), accountEventStore);
+        for (long balance : new long[]{1000, 500, 200, 100}) {
+            accountAnalyticsService.onAccountChanged(AccountChangedEvent.builder()
+                    .type(AccountChangedEvent.Type.CREATED)
+                    .currency("USD")
+                    .status(ACTIVE)
+                    .balance(BigDecimal.valueOf(balance))
+                    .build());
+        }
+    }
+
+    @Test
+    void getBalanceAnalytics_ShouldKeepRefreshedExtremes_WhenTransfersCommitDuringTheRefresh() {
+        // Takes the maximum, 1000, away
+        transfer(1000, 500, 100);
+
+        // Another transfer commits while the extremes are queried, which saw the balances before it
+        BalanceSummaryView queried = mock(BalanceSummaryView.class);
+        given(queried.getMinBalance()).willReturn(BigDecimal.valueOf(100));
+        given(queried.getMaxBalance()).willReturn(BigDecimal.valueOf(900));
+        given(bankAccountRepository.summarizeBalances("USD", ACTIVE)).willAnswer(invocation -> {
+            transfer(200, 900, 50);
+            return Optional.of(queried);
+        });
+
+        BalanceAnalyticsResponse.BucketSummary summary = accountAnalyticsService.getBalanceAnalytics().getBuckets().get(0);
+        assertThat(summary.getMinBalance()).isEqualByComparingTo("100");
+        assertThat(summary.getMaxBalance()).isEqualByComparingTo("950");
+        assertThat(summary.getTotalBalance()).isEqualByComparingTo("1800");
+
+        // The refresh stuck, so later reads are served without querying
+        accountAnalyticsService.getBalanceAnalytics();
+        verify(bankAccountRepository, times(1)).summarizeBalances("USD", ACTIVE);
+    }
+
+    @Test
+    void getBalanceAnalytics_ShouldQueryAgain_WhenTheQueriedExtremeIsRemovedDuringTheRefresh() {
+        transfer(1000, 500, 100);
+
+        BalanceSummaryView queried = mock(BalanceSummaryView.class);
+        given(queried.getMinBalance()).willReturn(BigDecimal.valueOf(100));
+        given(queried.getMaxBalance()).willReturn(BigDecimal.valueOf(900));
+        BalanceSummaryView requeried = mock(BalanceSummaryView.class);
+        given(requeried.getMinBalance()).willReturn(BigDecimal.valueOf(100));
+        given(requeried.getMaxBalance()).willReturn(BigDecimal.valueOf(800));
+        given(bankAccountRepository.summarizeBalances("USD", ACTIVE))
+                .willAnswer(invocation -> {
+                    // The 900 the query found is taken down to 800
+                    transfer(900, 200, 100);
+                    return Optional.of(queried);
+                })
+                .willReturn(Optional.of(requeried));
+
+        accountAnalyticsService.getBalanceAnalytics();
+        BalanceAnalyticsResponse.BucketSummary summary = accountAnalyticsService.getBalanceAnalytics().getBuckets().get(0);
+
+        assertThat(summary.getMaxBalance()).isEqualByComparingTo("800");
+        verify(bankAccountRepository, times(2)).summarizeBalances("USD", ACTIVE);
+    }
+
+    /**
+     * The debit and credit of a committed transfer between accounts holding the given balances
+     */
+    private void transfer(long fromBalance, long toBalance, long amount) {
+        change(AccountChangedEvent.Type.DEBITED, fromBalance, fromBalance - amount);
+        change(AccountChangedEvent.Type.CREDITED, toBalance, toBalance + amount);
+    }
+
+    private void change(AccountChangedEvent.Type type, long previousBalance, long balance) {
+        accountAnalyticsService.onAccountChanged(AccountChangedEvent.builder()
+                .type(type)
+                .currency("USD")
+                .previousStatus(ACTIVE)
+                .status(ACTIVE)
+                .previousBalance(BigDecimal.valueOf(previousBalance))
+                .balance(BigDecimal.valueOf(balance))
+                .build());
+    }
+}
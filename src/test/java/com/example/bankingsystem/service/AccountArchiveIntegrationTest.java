@@ -0,0 +1,127 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.dto.BankAccountPagedResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BankAccountSearchRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.dto.BulkAccountResponse;
+import com.example.bankingsystem.dto.BulkStatusChangeRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.exception.DuplicateAccountException;
+import com.example.bankingsystem.repository.ArchivedAccountRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountArchiveIntegrationTest extends IntegrationTest {
+
+    @Autowired
+    private AccountArchiveService accountArchiveService;
+
+    @Autowired
+    private AccountStatusService accountStatusService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private ArchivedAccountRepository archivedAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archive_ShouldMoveOldClosedAccounts_AndLookupsShouldFallBackToTheArchive() {
+        List<BankAccountResponse> closed = List.of(
+                create("ARCHIVE001", "Archive Test", 0),
+                create("ARCHIVE002", "Archive Test", 15),
+                create("ARCHIVE003", "Archive Test", 0),
+                create("ARCHIVE004", "Archive Test", 0));
+        create("ARCHIVE005", "Archive Test", 10);
+        changeStatus(BankAccount.AccountStatus.CLOSED, closed.stream().map(BankAccountResponse::getId).toList());
+        age(40, "ARCHIVE001", "ARCHIVE002", "ARCHIVE003", "ARCHIVE005");
+
+        assertThat(accountArchiveService.archive()).isEqualTo(3);
+
+        assertThat(bankAccountRepository.findByAccountNumberIn(
+                List.of("ARCHIVE001", "ARCHIVE002", "ARCHIVE003", "ARCHIVE004", "ARCHIVE005")))
+                .extracting(BankAccount::getAccountNumber)
+                .containsExactlyInAnyOrder("ARCHIVE004", "ARCHIVE005");
+        assertThat(archivedAccountRepository.findByAccountNumber("ARCHIVE002")).isPresent();
+
+        BankAccountResponse byNumber = bankAccountService.getAccountByAccountNumber("ARCHIVE002");
+        assertThat(byNumber.getStatus()).isEqualTo(BankAccount.AccountStatus.CLOSED);
+        assertThat(byNumber.getBalance()).isEqualByComparingTo("15.00");
+        assertThat(bankAccountService.getAccountById(closed.get(0).getId()).getAccountNumber()).isEqualTo("ARCHIVE001");
+        assertThat(bankAccountService.getAccountDetails("ARCHIVE003").getAccountHolderName()).isEqualTo("Archive Test");
+
+        BankAccountSearchRequest search = new BankAccountSearchRequest();
+        search.setAccountHolderName("Archive Test");
+        search.setSize(20);
+        BankAccountPagedResponse hot = bankAccountService.searchAccounts(search);
+        assertThat(hot.getContent()).extracting(BankAccountResponse::getAccountNumber)
+                .containsExactlyInAnyOrder("ARCHIVE004", "ARCHIVE005");
+    }
+
+    @Test
+    void changeStatus_ShouldRestoreArchivedAccountsNamedById() {
+        BankAccountResponse dormant = create("ARCHIVE101", "Restore Test", 25);
+        jdbcTemplate.update("UPDATE bank_accounts SET status = 'INACTIVE' WHERE account_number = ?", "ARCHIVE101");
+        age(400, "ARCHIVE101");
+        LocalDateTime createdAt = bankAccountRepository.findById(dormant.getId()).orElseThrow().getCreatedAt();
+
+        assertThat(accountArchiveService.archive()).isEqualTo(1);
+        assertThat(bankAccountRepository.findById(dormant.getId())).isEmpty();
+
+        changeStatus(BankAccount.AccountStatus.ACTIVE, List.of(dormant.getId()));
+
+        BankAccount restored = bankAccountRepository.findById(dormant.getId()).orElseThrow();
+        assertThat(restored.getStatus()).isEqualTo(BankAccount.AccountStatus.ACTIVE);
+        assertThat(restored.getBalance()).isEqualByComparingTo("25.00");
+        assertThat(restored.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(archivedAccountRepository.findById(dormant.getId())).isEmpty();
+    }
+
+    @Test
+    void createAccount_ShouldNotReissueArchivedAccountNumbers() {
+        BankAccountResponse dormant = create("ARCHIVE201", "Reuse Test", 0);
+        jdbcTemplate.update("UPDATE bank_accounts SET status = 'INACTIVE' WHERE account_number = ?", "ARCHIVE201");
+        age(400, "ARCHIVE201");
+        assertThat(accountArchiveService.archive()).isEqualTo(1);
+
+        assertThatThrownBy(() -> create("ARCHIVE201", "Reuse Test", 0))
+                .isInstanceOf(DuplicateAccountException.class);
+        BulkAccountResponse bulk = bankAccountService.createAccounts(BulkAccountRequest.builder()
+                .accounts(List.of(request("ARCHIVE201", "Reuse Test", 0), request("ARCHIVE202", "Reuse Test", 0)))
+                .build());
+        assertThat(bulk.getDuplicateAccountNumbers()).containsExactly("ARCHIVE201");
+
+        // Restoring the archived account finds its number still free
+        changeStatus(BankAccount.AccountStatus.ACTIVE, List.of(dormant.getId()));
+        assertThat(bankAccountRepository.findById(dormant.getId())).isPresent();
+    }
+
+    private void changeStatus(BankAccount.AccountStatus status, List<String> ids) {
+        accountStatusService.changeStatus(BulkStatusChangeRequest.builder()
+                .status(status)
+                .accountIds(ids)
+                .build());
+    }
+
+    private void age(int days, String... accountNumbers) {
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+        for (String accountNumber : accountNumbers) {
+            jdbcTemplate.update("UPDATE bank_accounts SET updated_at = ? WHERE account_number = ?",
+                    updatedAt, accountNumber);
+        }
+    }
+}
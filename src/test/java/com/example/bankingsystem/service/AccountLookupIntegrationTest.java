@@ -0,0 +1,84 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.dto.AccountLookupRequest;
+import com.example.bankingsystem.dto.AccountLookupResponse;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.exception.InvalidSearchCriteriaException;
+import com.example.bankingsystem.metrics.SqlStatementCollector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountLookupIntegrationTest extends IntegrationTest {
+
+    @Autowired
+    private AccountLookupService accountLookupService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void lookup_ShouldReadCachedAccounts_AndLoadTheRestInOneQuery() {
+        create("LOOKUP0001", 10);
+        create("LOOKUP0002", 10);
+        BankAccountResponse byId = create("LOOKUP0003", 10);
+        // Account creation clears the cache, so only this account is cached
+        bankAccountService.getAccountByAccountNumber("LOOKUP0001");
+
+        AccountLookupRequest request = AccountLookupRequest.builder()
+                .accountNumbers(List.of("LOOKUP0002", "LOOKUP0001", "LOOKUP9999"))
+                .ids(List.of(byId.getId()))
+                .build();
+        AccountLookupResponse response;
+        try (SqlStatementCollector.Scope scope = SqlStatementCollector.open()) {
+            response = accountLookupService.lookup(request);
+            // The uncached account number and ID, then the archive for the missing number
+            assertThat(scope.getStatements()).isEqualTo(3);
+        }
+
+        assertThat(response.getAccounts()).extracting(BankAccountResponse::getAccountNumber)
+                .containsExactly("LOOKUP0002", "LOOKUP0001", "LOOKUP0003");
+        assertThat(response.getNotFound()).containsExactly("LOOKUP9999");
+        assertThat(cacheManager.getCache("accounts").get("LOOKUP0002")).isNotNull();
+        assertThat(cacheManager.getCache("accounts").get(byId.getId())).isNotNull();
+
+        try (SqlStatementCollector.Scope scope = SqlStatementCollector.open()) {
+            accountLookupService.lookup(AccountLookupRequest.builder()
+                    .accountNumbers(List.of("LOOKUP0001", "LOOKUP0002"))
+                    .ids(List.of(byId.getId()))
+                    .build());
+            assertThat(scope.getStatements()).isZero();
+        }
+    }
+
+    @Test
+    void lookup_ShouldTreatNullListsAsEmpty() {
+        create("LOOKUP0201", 10);
+
+        AccountLookupResponse response = accountLookupService.lookup(new AccountLookupRequest(List.of("LOOKUP0201"), null));
+
+        assertThat(response.getAccounts()).extracting(BankAccountResponse::getAccountNumber)
+                .containsExactly("LOOKUP0201");
+        assertThatThrownBy(() -> accountLookupService.lookup(new AccountLookupRequest(null, null)))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+
+    @Test
+    void lookup_ShouldRejectEmptyAndOversizedLookups() {
+        assertThatThrownBy(() -> accountLookupService.lookup(new AccountLookupRequest()))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+
+        List<String> tooMany = IntStream.range(0, 6).mapToObj(i -> "LOOKUP01" + i).toList();
+        assertThatThrownBy(() -> accountLookupService.lookup(AccountLookupRequest.builder()
+                .accountNumbers(tooMany)
+                .build()))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+}
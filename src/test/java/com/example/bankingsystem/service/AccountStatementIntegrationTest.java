@@ -0,0 +1,93 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.exception.AccountNotFoundException;
+import com.example.bankingsystem.exception.InvalidSearchCriteriaException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountStatementIntegrationTest extends IntegrationTest {
+
+    @Autowired
+    private AccountStatementService accountStatementService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getStatement_ShouldPageThroughEntriesByCursor() throws IOException {
+        create("STMT000001", 1000);
+        create("STMT000002", 0);
+        for (int i = 0; i < 5; i++) {
+            transfer("STMT000001", "STMT000002", 10);
+        }
+
+        JsonNode first = statement("STMT000001", null, 4);
+        assertThat(first.get("openingBalance").decimalValue()).isEqualByComparingTo("0");
+        assertThat(first.get("entries")).hasSize(4);
+        assertThat(first.get("entries").get(0).get("type").asText()).isEqualTo("CREATED");
+        assertThat(first.get("entries").get(0).get("amount").decimalValue()).isEqualByComparingTo("1000");
+        assertThat(first.get("entries").get(1).get("type").asText()).isEqualTo("DEBITED");
+        assertThat(first.get("entries").get(1).get("amount").decimalValue()).isEqualByComparingTo("-10");
+        assertThat(first.get("closingBalance").decimalValue()).isEqualByComparingTo("970");
+        assertThat(first.get("nextCursor").isTextual()).isTrue();
+
+        JsonNode second = statement("STMT000001", first.get("nextCursor").asText(), 4);
+        assertThat(second.get("openingBalance").decimalValue()).isEqualByComparingTo("970");
+        assertThat(second.get("entries")).hasSize(2);
+        assertThat(second.get("entries").get(1).get("balance").decimalValue()).isEqualByComparingTo("950");
+        assertThat(second.get("closingBalance").decimalValue()).isEqualByComparingTo("950");
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void getBalanceAsOf_ShouldReturnBalanceBeforeTheGivenTime() throws InterruptedException {
+        LocalDateTime beforeCreation = LocalDateTime.now().minusSeconds(1);
+        create("STMT000011", 500);
+        create("STMT000012", 0);
+        transfer("STMT000011", "STMT000012", 100);
+        Thread.sleep(5);
+        LocalDateTime between = LocalDateTime.now();
+        Thread.sleep(5);
+        transfer("STMT000011", "STMT000012", 50);
+
+        assertThat(accountStatementService.getBalanceAsOf("STMT000011", beforeCreation).getBalance())
+                .isEqualByComparingTo("0");
+        assertThat(accountStatementService.getBalanceAsOf("STMT000011", between).getBalance())
+                .isEqualByComparingTo("400");
+        assertThat(accountStatementService.getBalanceAsOf("STMT000012", between).getBalance())
+                .isEqualByComparingTo("100");
+        assertThat(accountStatementService.getBalanceAsOf("STMT000011", LocalDateTime.now().plusDays(1)).getBalance())
+                .isEqualByComparingTo("350");
+    }
+
+    @Test
+    void getStatement_ShouldRejectInvalidRequests() {
+        create("STMT000021", 0);
+
+        assertThatThrownBy(() -> accountStatementService.getStatement("STMT999999", null, null, null, 10))
+                .isInstanceOf(AccountNotFoundException.class);
+        assertThatThrownBy(() -> accountStatementService.getStatement("STMT000021", null, null, null, 0))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+        assertThatThrownBy(() -> accountStatementService.getStatement("STMT000021", null, null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> accountStatementService.getStatement("STMT000021", now, now.minusDays(1), null, 10))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+
+    private JsonNode statement(String accountNumber, String cursor, int limit) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        accountStatementService.getStatement(accountNumber, null, null, cursor, limit).writeTo(output);
+        return objectMapper.readTree(output.toByteArray());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.datasource.ReadYourWritesTracker;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.exception.ReadCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AsyncAccountReadServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BankAccountService bankAccountService;
+    private ConcurrentMapCacheManager cacheManager;
+    private AsyncAccountReadService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bankAccountService = mock(BankAccountService.class);
+        cacheManager = new ConcurrentMapCacheManager("accounts");
+        service = new AsyncAccountReadService(bankAccountService, cacheManager,
+                new StaticListableBeanFactory().getBeanProvider(ReadYourWritesTracker.class),
+                meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void getAccountByAccountNumber_ShouldCompleteCacheHitsWithoutTheService() {
+        BankAccountResponse account = BankAccountResponse.builder().accountNumber("ASYNC00011").build();
+        cacheManager.getCache("accounts").put("ASYNC00011", account);
+
+        CompletableFuture<BankAccountResponse> result = service.getAccountByAccountNumber("ASYNC00011");
+
+        assertThat(result).isCompletedWithValue(account);
+        verifyNoInteractions(bankAccountService);
+        assertThat(meterRegistry.find(AsyncAccountReadService.REQUESTS).tag("source", "cache").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void getAccountByAccountNumber_ShouldRejectMisses_WhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bankAccountService.getAccountByAccountNumber("ASYNC00021")).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return BankAccountResponse.builder().accountNumber("ASYNC00021").build();
+        });
+
+        // One read running and one queued fill a pool of one thread with a queue of one
+        CompletableFuture<BankAccountResponse> running = service.getAccountByAccountNumber("ASYNC00021");
+        CompletableFuture<BankAccountResponse> queued = service.getAccountByAccountNumber("ASYNC00021");
+        CompletableFuture<BankAccountResponse> rejected = service.getAccountByAccountNumber("ASYNC00021");
+
+        assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ReadCapacityExceededException.class);
+        assertThat(meterRegistry.find(AsyncAccountReadService.REJECTED).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS).getAccountNumber()).isEqualTo("ASYNC00021");
+        assertThat(queued.get(10, TimeUnit.SECONDS).getAccountNumber()).isEqualTo("ASYNC00021");
+        assertThat(meterRegistry.find(AsyncAccountReadService.REQUESTS).tag("source", "pool").counter().count())
+                .isEqualTo(2);
+    }
+}
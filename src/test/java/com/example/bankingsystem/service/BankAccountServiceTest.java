@@ -1,32 +1,46 @@
 package com.example.bankingsystem.service;
 
+import com.example.bankingsystem.audit.AuditLog;
 import com.example.bankingsystem.dto.BankAccountRequest;
 import com.example.bankingsystem.dto.BankAccountResponse;
 import com.example.bankingsystem.dto.BankAccountUpdateRequest;
+import com.example.bankingsystem.dto.BulkAccountRequest;
+import com.example.bankingsystem.dto.BulkAccountResponse;
 import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.dto.TransferResult;
 import com.example.bankingsystem.entity.BankAccount;
 import com.example.bankingsystem.exception.*;
+import com.example.bankingsystem.metrics.LockMetrics;
 import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.sharding.AccountShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +50,27 @@ class BankAccountServiceTest {
     @Mock
     private BankAccountRepository bankAccountRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CrossShardTransferService crossShardTransferService;
+
+    @Mock
+    private JournaledTransferService journaledTransferService;
+
+    @Mock
+    private AccountArchiveService accountArchiveService;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Spy
+    private AccountShards accountShards = AccountShards.unsharded();
+
+    @Spy
+    private LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private BankAccountServiceImpl bankAccountService;
 
@@ -104,6 +139,33 @@ class BankAccountServiceTest {
 
 
 
+    @Test
+    void createAccounts_ShouldSkipDuplicatesWithSingleLookupPerChunk() {
+        // Given
+        ReflectionTestUtils.setField(bankAccountService, "bulkChunkSize", 500);
+        BankAccountRequest secondRequest = BankAccountRequest.builder()
+                .accountNumber("0987654321")
+                .accountHolderName("Jane Doe")
+                .initialBalance(BigDecimal.valueOf(500.00))
+                .currency("USD")
+                .build();
+        BulkAccountRequest bulkRequest = BulkAccountRequest.builder()
+                .accounts(List.of(createRequest, secondRequest, createRequest))
+                .build();
+        given(bankAccountRepository.findExistingAccountNumbers(anyCollection())).willReturn(Set.of("0987654321"));
+
+        // When
+        BulkAccountResponse response = bankAccountService.createAccounts(bulkRequest);
+
+        // Then
+        assertThat(response.getRequested()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getDuplicateAccountNumbers()).containsExactlyInAnyOrder("1234567890", "0987654321");
+        verify(bankAccountRepository, times(1)).findExistingAccountNumbers(anyCollection());
+        verify(bankAccountRepository).saveAll(anyList());
+        verify(bankAccountRepository, never()).findByAccountNumber(anyString());
+    }
+
     @Test
     void updateAccountByAccountNumber_ShouldUpdateAccountSuccessfully() {
         // Given
@@ -129,11 +191,55 @@ class BankAccountServiceTest {
                 .isInstanceOf(AccountInactiveException.class);
     }
 
+    @Test
+    void updateAccountByAccountNumber_ShouldUpdateConditionally_WhenVersionMatches() {
+        // Given
+        LocalDateTime version = testAccount.getUpdatedAt();
+        given(bankAccountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+        given(bankAccountRepository.updateDetailsIfUnchanged(eq(testAccount.getId()), eq(updateRequest.getAccountHolderName()),
+                eq(updateRequest.getEmail()), eq(updateRequest.getPhoneNumber()), eq(version), any(LocalDateTime.class)))
+                .willReturn(1);
+
+        // When
+        BankAccountResponse response = bankAccountService.updateAccountByAccountNumber("1234567890", updateRequest,
+                List.of(version));
+
+        // Then
+        assertThat(response.getAccountHolderName()).isEqualTo(updateRequest.getAccountHolderName());
+        assertThat(response.getUpdatedAt()).isNotEqualTo(version);
+        verify(bankAccountRepository, never()).save(any(BankAccount.class));
+    }
+
+    @Test
+    void updateAccountByAccountNumber_ShouldThrowAccountModifiedException_WhenVersionDiffers() {
+        // Given
+        given(bankAccountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> bankAccountService.updateAccountByAccountNumber("1234567890", updateRequest,
+                List.of(testAccount.getUpdatedAt().minusSeconds(1))))
+                .isInstanceOf(AccountModifiedException.class);
+        verify(bankAccountRepository, never()).updateDetailsIfUnchanged(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateAccountByAccountNumber_ShouldThrowAccountModifiedException_WhenChangedConcurrently() {
+        // Given
+        given(bankAccountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+        given(bankAccountRepository.updateDetailsIfUnchanged(any(), any(), any(), any(), any(), any())).willReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> bankAccountService.updateAccountByAccountNumber("1234567890", updateRequest,
+                List.of(testAccount.getUpdatedAt())))
+                .isInstanceOf(AccountModifiedException.class);
+    }
+
     @Test
     void deleteAccount_ShouldDeleteAccountSuccessfully() {
         // Given
         testAccount.setBalance(BigDecimal.ZERO);
         given(bankAccountRepository.findById("ACC1234567890")).willReturn(Optional.of(testAccount));
+        given(journaledTransferService.retire("1234567890", BigDecimal.ZERO)).willReturn(true);
 
         // When
         bankAccountService.deleteAccount("ACC1234567890");
@@ -146,6 +252,7 @@ class BankAccountServiceTest {
     void deleteAccount_ShouldThrowException_WhenAccountHasBalance() {
         // Given
         given(bankAccountRepository.findById("ACC1234567890")).willReturn(Optional.of(testAccount));
+        given(journaledTransferService.retire("1234567890", testAccount.getBalance())).willReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> bankAccountService.deleteAccount("ACC1234567890"))
@@ -155,6 +262,19 @@ class BankAccountServiceTest {
 
 
 
+    @Test
+    void deleteAccount_ShouldThrowAccountModifiedException_WhenJournaledTransfersArePending() {
+        // Given
+        testAccount.setBalance(BigDecimal.ZERO);
+        given(bankAccountRepository.findById("ACC1234567890")).willReturn(Optional.of(testAccount));
+        given(journaledTransferService.retire("1234567890", BigDecimal.ZERO)).willReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> bankAccountService.deleteAccount("ACC1234567890"))
+                .isInstanceOf(AccountModifiedException.class);
+        verify(bankAccountRepository, never()).delete(any(BankAccount.class));
+    }
+
     @Test
     void transferFunds_ShouldTransferSuccessfully() {
         // Given
@@ -212,6 +332,63 @@ class BankAccountServiceTest {
                 .isInstanceOf(InsufficientFundsException.class);
     }
 
+    @Test
+    void tryTransferFunds_ShouldReturnRejection_WithoutChangingAnything() {
+        // Given
+        testAccount.setBalance(BigDecimal.valueOf(100.00));
+        FundTransferRequest transferRequest = FundTransferRequest.builder()
+                .fromAccountNumber("1234567890")
+                .toAccountNumber("0987654321")
+                .amount(BigDecimal.valueOf(200.00))
+                .build();
+
+        BankAccount toAccount = BankAccount.builder()
+                .id("ACC0987654321")
+                .accountNumber("0987654321")
+                .accountHolderName("Jane Doe")
+                .balance(BigDecimal.valueOf(500.00))
+                .currency("USD")
+                .status(BankAccount.AccountStatus.ACTIVE)
+                .build();
+
+        given(bankAccountRepository.findByAccountNumberWithLock("0987654321")).willReturn(Optional.of(toAccount));
+        given(bankAccountRepository.findByAccountNumberWithLock("1234567890")).willReturn(Optional.of(testAccount));
+
+        // When
+        TransferResult result = bankAccountService.tryTransferFunds(transferRequest);
+
+        // Then
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getRejection()).isInstanceOf(InsufficientFundsException.class);
+        assertThat(result.getRejection().getStackTrace()).isEmpty();
+        assertThat(result.getRejection().getErrorTemplate()).isEqualTo(ErrorTemplate.INSUFFICIENT_FUNDS);
+        assertThat(testAccount.getBalance()).isEqualByComparingTo("100.00");
+        verify(bankAccountRepository, never()).save(any(BankAccount.class));
+        verify(auditLog).diagnostic(eq("transfer.rejected"), eq("1234567890"), eq("0987654321"),
+                eq(BigDecimal.valueOf(200.00)), anyString());
+    }
+
+    @Test
+    void tryTransferFunds_ShouldReportUnknownAccount() {
+        // Given
+        FundTransferRequest transferRequest = FundTransferRequest.builder()
+                .fromAccountNumber("1234567890")
+                .toAccountNumber("0987654321")
+                .amount(BigDecimal.valueOf(200.00))
+                .build();
+
+        given(bankAccountRepository.findByAccountNumberWithLock("0987654321")).willReturn(Optional.empty());
+
+        // When
+        TransferResult result = bankAccountService.tryTransferFunds(transferRequest);
+
+        // Then
+        assertThat(result.getRejection())
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("0987654321");
+        assertThatThrownBy(result::throwIfRejected).isSameAs(result.getRejection());
+    }
+
     @Test
     void transferFunds_ShouldThrowException_WhenSelfTransfer() {
         // Given
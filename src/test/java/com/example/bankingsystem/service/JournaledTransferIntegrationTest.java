@@ -0,0 +1,173 @@
+package com.example.bankingsystem.service;
+
+import com.example.bankingsystem.IntegrationTest;
+import com.example.bankingsystem.dto.BankAccountResponse;
+import com.example.bankingsystem.dto.BulkStatusChangeRequest;
+import com.example.bankingsystem.entity.BankAccount;
+import com.example.bankingsystem.entity.JournalCheckpoint;
+import com.example.bankingsystem.exception.AccountInactiveException;
+import com.example.bankingsystem.exception.AccountNotFoundException;
+import com.example.bankingsystem.exception.InsufficientFundsException;
+import com.example.bankingsystem.repository.AccountEventRepository;
+import com.example.bankingsystem.repository.BankAccountRepository;
+import com.example.bankingsystem.repository.JournalCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal;DB_CLOSE_DELAY=-1",
+        "app.journal.enabled=true",
+        "app.journal.apply-batch-size=16"
+})
+class JournaledTransferIntegrationTest extends IntegrationTest {
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("transfer-journal").toString();
+        registry.add("app.journal.directory", () -> directory);
+    }
+
+    @Autowired
+    private JournaledTransferService journaledTransferService;
+
+    @Autowired
+    private AccountStatusService accountStatusService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private AccountEventRepository accountEventRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentTransfers_ShouldBeAppliedToTheDatabase() throws Exception {
+        create("JOURNALA01", 1000);
+        create("JOURNALA02", 1000);
+        long events = accountEventRepository.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 200)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> transfer(
+                            i % 2 == 0 ? "JOURNALA01" : "JOURNALA02",
+                            i % 2 == 0 ? "JOURNALA02" : "JOURNALA01", i % 4 == 0 ? 3 : 1), executor))
+                    .toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(journaledTransferService.awaitApplied(Duration.ofSeconds(10))).isTrue();
+        assertThat(balance("JOURNALA01")).isEqualByComparingTo("900.00");
+        assertThat(balance("JOURNALA02")).isEqualByComparingTo("1100.00");
+        assertThat(journaledTransferService.currentBalance("JOURNALA01")).get()
+                .satisfies(current -> assertThat(current).isEqualByComparingTo("900.00"));
+        assertThat(accountEventRepository.count() - events).isEqualTo(400);
+    }
+
+    @Test
+    void transfer_ShouldCheckFundsAgainstJournaledBalances() {
+        create("JOURNALB01", 100);
+        create("JOURNALB02", 0);
+
+        transfer("JOURNALB01", "JOURNALB02", 80);
+
+        assertThatThrownBy(() -> transfer("JOURNALB01", "JOURNALB02", 30))
+                .isInstanceOf(InsufficientFundsException.class);
+    }
+
+    @Test
+    void transfer_ShouldSeeStatusChangesMadeAfterTheAccountWasLoaded() {
+        create("JOURNALC01", 100);
+        BankAccountResponse suspended = create("JOURNALC02", 100);
+        transfer("JOURNALC01", "JOURNALC02", 10);
+
+        accountStatusService.changeStatus(BulkStatusChangeRequest.builder()
+                .status(BankAccount.AccountStatus.SUSPENDED)
+                .accountIds(List.of(suspended.getId()))
+                .build());
+
+        assertThatThrownBy(() -> transfer("JOURNALC01", "JOURNALC02", 10))
+                .isInstanceOf(AccountInactiveException.class);
+    }
+
+    @Test
+    void retire_ShouldRejectTransfersUntilTheRemovingTransactionEnds() throws Exception {
+        create("JOURNALE01", 100);
+        create("JOURNALE02", 0);
+        transfer("JOURNALE01", "JOURNALE02", 10);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            // The credit may not have reached the database yet, and must be applied first
+            assertThat(journaledTransferService.retire("JOURNALE02", BigDecimal.ZERO)).isFalse();
+            status.setRollbackOnly();
+        });
+        assertThat(journaledTransferService.awaitApplied(Duration.ofSeconds(10))).isTrue();
+
+        transaction.executeWithoutResult(status -> {
+            assertThat(journaledTransferService.retire("JOURNALE02", balance("JOURNALE02"))).isTrue();
+            assertThatThrownBy(() -> transfer("JOURNALE01", "JOURNALE02", 10))
+                    .isInstanceOf(AccountNotFoundException.class);
+            status.setRollbackOnly();
+        });
+
+        transfer("JOURNALE01", "JOURNALE02", 10);
+        assertThat(journaledTransferService.currentBalance("JOURNALE02")).get()
+                .satisfies(current -> assertThat(current).isEqualByComparingTo("20.00"));
+    }
+
+    @Test
+    void start_ShouldApplyJournaledTransfersMissingFromTheDatabase() throws Exception {
+        create("JOURNALD01", 500);
+        create("JOURNALD02", 500);
+        transfer("JOURNALD01", "JOURNALD02", 120);
+        transfer("JOURNALD02", "JOURNALD01", 20);
+        journaledTransferService.stop();
+
+        // Roll the database back as if it had crashed before the transfers were applied
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String accountNumber : List.of("JOURNALD01", "JOURNALD02")) {
+                bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow()
+                        .setBalance(new BigDecimal("500.00"));
+            }
+            JournalCheckpoint checkpoint = checkpointRepository.findById(JournaledTransferService.JOURNAL).orElseThrow();
+            checkpoint.setAppliedSequence(checkpoint.getAppliedSequence() - 2);
+        });
+
+        journaledTransferService.start();
+
+        assertThat(balance("JOURNALD01")).isEqualByComparingTo("400.00");
+        assertThat(balance("JOURNALD02")).isEqualByComparingTo("600.00");
+        transfer("JOURNALD01", "JOURNALD02", 400);
+        assertThat(journaledTransferService.awaitApplied(Duration.ofSeconds(10))).isTrue();
+        assertThat(balance("JOURNALD01")).isEqualByComparingTo("0.00");
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        return bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.bankingsystem.sharding;
+
+import com.example.bankingsystem.dto.BankAccountRequest;
+import com.example.bankingsystem.dto.FundTransferRequest;
+import com.example.bankingsystem.entity.CrossShardTransfer;
+import com.example.bankingsystem.repository.CrossShardTransferRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Partitions accounts over two in-memory H2 databases and checks each shard's contents
+ * directly over JDBC.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=" + ShardingIntegrationTest.SHARD_0_URL,
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].password=",
+        "app.sharding.shards[1].url=" + ShardingIntegrationTest.SHARD_1_URL,
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].password=",
+        "app.sharding.scatter-threads=2",
+        "spring.datasource.hikari.connection-timeout=4000"
+})
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    static final String SHARD_0_URL = "jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1_URL = "jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1";
+    private static final String[] SHARD_URLS = {SHARD_0_URL, SHARD_1_URL};
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private AccountShards accountShards;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SpyBean
+    private CrossShardTransferRepository transferRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        for (String url : SHARD_URLS) {
+            execute(url, "DELETE FROM bank_accounts");
+            execute(url, "DELETE FROM cross_shard_transfers");
+        }
+    }
+
+    @Test
+    void singleAccountOperations_ShouldUseTheOwningShard() throws Exception {
+        String onShard0 = accountNumberOnShard("ROUTE", 0, 0);
+        String onShard1 = accountNumberOnShard("ROUTE", 1, 0);
+        createAccount(onShard0, "Routing Test", 100);
+        String id = createAccount(onShard1, "Routing Test", 200);
+
+        assertThat(queryLong(SHARD_0_URL, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = '" + onShard0 + "'")).isEqualTo(1);
+        assertThat(queryLong(SHARD_1_URL, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = '" + onShard0 + "'")).isZero();
+        assertThat(queryLong(SHARD_1_URL, "SELECT COUNT(*) FROM bank_accounts WHERE account_number = '" + onShard1 + "'")).isEqualTo(1);
+
+        mockMvc.perform(get("/accounts/number/" + onShard1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(200.0)));
+        mockMvc.perform(get("/accounts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber", is(onShard1)));
+    }
+
+    @Test
+    void shardPools_ShouldUseTheSpringDatasourceHikariSettings() {
+        for (int shard = 0; shard < SHARD_URLS.length; shard++) {
+            HikariDataSource pool = (HikariDataSource) shardRoutingDataSource.getResolvedDataSources().get(shard);
+
+            assertThat(pool.getConnectionTimeout()).isEqualTo(4000);
+            assertThat(pool.getPoolName()).isEqualTo("shard-" + shard);
+        }
+    }
+
+    @Test
+    void searchAccounts_ShouldMergeShardsInSortOrderBeforePaging() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createAccount(accountNumberOnShard("MERGE", 0, i), "Merge Test", 10 + i * 20);
+            createAccount(accountNumberOnShard("MERGE", 1, i), "Merge Test", 20 + i * 20);
+        }
+
+        mockMvc.perform(get("/accounts/search")
+                        .param("accountHolderName", "merge test")
+                        .param("sortBy", "balance")
+                        .param("sortDir", "DESC")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(6)))
+                .andExpect(jsonPath("$.totalPages", is(3)))
+                .andExpect(jsonPath("$.content[0].balance", is(40.0)))
+                .andExpect(jsonPath("$.content[1].balance", is(30.0)));
+    }
+
+    @Test
+    void transferFunds_ShouldCommitOnBothShards_WhenAccountsAreOnDifferentShards() throws Exception {
+        String from = accountNumberOnShard("XFER", 0, 0);
+        String to = accountNumberOnShard("XFER", 1, 0);
+        createAccount(from, "Transfer Test", 500);
+        createAccount(to, "Transfer Test", 100);
+
+        transfer(from, to, 150).andExpect(status().isOk());
+
+        mockMvc.perform(get("/accounts/number/" + from + "/details"))
+                .andExpect(jsonPath("$.balance", is(350.0)));
+        mockMvc.perform(get("/accounts/number/" + to + "/details"))
+                .andExpect(jsonPath("$.balance", is(250.0)));
+        assertThat(queryLong(SHARD_0_URL, "SELECT COUNT(*) FROM cross_shard_transfers WHERE status = 'COMPLETED'")).isEqualTo(1);
+        assertThat(queryLong(SHARD_1_URL, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.IN_DOUBT")).isZero();
+    }
+
+    @Test
+    void transferFunds_ShouldChangeNeitherShard_WhenFundsAreInsufficient() throws Exception {
+        String from = accountNumberOnShard("FAIL", 1, 0);
+        String to = accountNumberOnShard("FAIL", 0, 0);
+        createAccount(from, "Transfer Test", 50);
+        createAccount(to, "Transfer Test", 100);
+
+        transfer(from, to, 80).andExpect(status().isBadRequest());
+
+        assertThat(queryLong(SHARD_1_URL, "SELECT balance FROM bank_accounts WHERE account_number = '" + from + "'")).isEqualTo(50);
+        assertThat(queryLong(SHARD_0_URL, "SELECT balance FROM bank_accounts WHERE account_number = '" + to + "'")).isEqualTo(100);
+        assertThat(queryLong(SHARD_0_URL, "SELECT COUNT(*) FROM cross_shard_transfers")).isZero();
+    }
+
+    @Test
+    void transferFunds_ShouldCommitOnBothShards_WhenTheDecisionFailsAfterItCommitted() throws Exception {
+        String from = accountNumberOnShard("LOST", 0, 0);
+        String to = accountNumberOnShard("LOST", 1, 0);
+        createAccount(from, "Transfer Test", 500);
+        createAccount(to, "Transfer Test", 100);
+        doAnswer(invocation -> {
+            CrossShardTransfer saved = invocation.getArgument(0);
+            entityManager.persist(saved);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    throw new IllegalStateException("Acknowledgement lost");
+                }
+            });
+            return saved;
+        }).when(transferRepository).save(any(CrossShardTransfer.class));
+
+        transfer(from, to, 150).andExpect(status().isOk());
+
+        assertThat(queryLong(SHARD_0_URL, "SELECT balance FROM bank_accounts WHERE account_number = '" + from + "'")).isEqualTo(350);
+        assertThat(queryLong(SHARD_1_URL, "SELECT balance FROM bank_accounts WHERE account_number = '" + to + "'")).isEqualTo(250);
+        assertThat(queryLong(SHARD_0_URL, "SELECT COUNT(*) FROM cross_shard_transfers WHERE status = 'COMPLETED'")).isEqualTo(1);
+    }
+
+    /**
+     * The n-th account number with the given prefix owned by the given shard
+     */
+    private String accountNumberOnShard(String prefix, int shard, int n) {
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; matches.size() <= n; i++) {
+            String accountNumber = String.format("%s%05d", prefix, i);
+            if (accountShards.shardOf(accountNumber) == shard) {
+                matches.add(accountNumber);
+            }
+        }
+        return matches.get(n);
+    }
+
+    private String createAccount(String accountNumber, String holder, long balance) throws Exception {
+        BankAccountRequest request = BankAccountRequest.builder()
+                .accountNumber(accountNumber)
+                .accountHolderName(holder)
+                .initialBalance(BigDecimal.valueOf(balance))
+                .currency("USD")
+                .build();
+        String body = mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = objectMapper.readTree(body);
+        return created.get("id").asText();
+    }
+
+    private ResultActions transfer(String from, String to, long amount) throws Exception {
+        FundTransferRequest request = FundTransferRequest.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(BigDecimal.valueOf(amount))
+                .build();
+        return mockMvc.perform(post("/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static long queryLong(String url, String query) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(query)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bankingsystem.stream;
+
+import com.example.bankingsystem.event.AccountChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountChangeBroadcasterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueueingExecutor sender;
+    private AccountChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sender = new QueueingExecutor();
+        broadcaster = new AccountChangeBroadcaster(meterRegistry, sender);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 2);
+        ReflectionTestUtils.setField(broadcaster, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+    }
+
+    @Test
+    void onAccountChanged_ShouldDropOldestChanges_WhenSubscriberFallsBehind() {
+        broadcaster.subscribe(event -> true);
+
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.onAccountChanged(debited("STREAM0001", i));
+        }
+
+        // One send is scheduled however many changes queue up behind it
+        assertThat(sender.tasks).hasSize(1);
+        assertThat(meterRegistry.find(AccountChangeBroadcaster.DROPPED).counter().count()).isEqualTo(3);
+
+        sender.runAll();
+        broadcaster.onAccountChanged(debited("STREAM0001", 6));
+        assertThat(sender.tasks).hasSize(1);
+        assertThat(meterRegistry.find(AccountChangeBroadcaster.DROPPED).counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void onAccountChanged_ShouldOnlyQueueChangesMatchingTheFilter() {
+        broadcaster.subscribe(event -> "STREAM0011".equals(event.getAccountNumber()));
+
+        broadcaster.onAccountChanged(debited("STREAM0012", 1));
+        assertThat(sender.tasks).isEmpty();
+
+        broadcaster.onAccountChanged(debited("STREAM0011", 1));
+        assertThat(sender.tasks).hasSize(1);
+    }
+
+    @Test
+    void subscribe_ShouldRefuse_WhenMaxSubscribersReached() {
+        assertThat(broadcaster.subscribe(event -> true)).isPresent();
+        assertThat(broadcaster.subscribe(event -> true)).isPresent();
+        assertThat(broadcaster.subscribe(event -> true)).isEmpty();
+        assertThat(meterRegistry.find("banking.stream.subscribers").gauge().value()).isEqualTo(2);
+    }
+
+    private static AccountChangedEvent debited(String accountNumber, long balance) {
+        return AccountChangedEvent.builder()
+                .type(AccountChangedEvent.Type.DEBITED)
+                .accountNumber(accountNumber)
+                .currency("USD")
+                .previousBalance(BigDecimal.valueOf(balance + 1))
+                .balance(BigDecimal.valueOf(balance))
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Holds sends until the test runs them, standing in for a subscriber that falls behind
+     */
+    private static class QueueingExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            List<Runnable> queued = new ArrayList<>(tasks);
+            tasks.clear();
+            queued.forEach(Runnable::run);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}